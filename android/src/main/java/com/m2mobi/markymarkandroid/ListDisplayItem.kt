@@ -43,6 +43,7 @@ import androidx.annotation.DimenRes
 import androidx.annotation.DrawableRes
 import com.m2mobi.markymark.DisplayItem
 import com.m2mobi.markymark.InlineConverter
+import com.m2mobi.markymarkcommon.markdownitems.ListItem
 import com.m2mobi.markymarkcommon.markdownitems.MarkdownList
 
 /**
@@ -64,23 +65,22 @@ class ListDisplayItem(private val mContext: Context,
         return createLayout(pMarkDownItem, pInlineConverter)
     }
 
+    /**
+     * Creates a single layout with the items of the list and its nested lists, nested items are indented by their
+     * depth instead of being put in a nested layout, so the view tree is as deep for any nesting
+     */
     private fun createLayout(pMarkDownItem: MarkdownList, pInlineConverter: InlineConverter<Spanned>): LinearLayout {
         val layout = LinearLayout(mContext)
         layout.layoutParams = LayoutParams(MATCH_PARENT, WRAP_CONTENT)
         layout.orientation = LinearLayout.VERTICAL
 
-        pMarkDownItem.listItems.forEachIndexed { index, item ->
-            val view = getTextView(pMarkDownItem, pInlineConverter.convert(item.text), index)
-            layout.addView(view)
-
-            if (item.hasChild()) {
-                for (list in item.child) {
-                    val nestedLayout = createLayout(list, pInlineConverter)
-                    nestedLayout.setPadding(mListMargin, 0, 0, 0)
-                    layout.addView(nestedLayout)
-                }
+        pMarkDownItem.accept(object : MarkdownList.Visitor {
+            override fun onListItem(pList: MarkdownList, pItem: ListItem, pIndex: Int, pDepth: Int) {
+                val view = getTextView(pList, pInlineConverter.convert(pItem.text), pIndex)
+                view.setPadding(view.paddingLeft + pDepth * mListMargin, view.paddingTop, view.paddingRight, view.paddingBottom)
+                layout.addView(view)
             }
-        }
+        })
 
         return layout
     }
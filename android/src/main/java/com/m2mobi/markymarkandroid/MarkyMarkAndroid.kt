@@ -15,6 +15,7 @@ import com.m2mobi.markymark.Flavor
 import com.m2mobi.markymark.InlineConverter
 import com.m2mobi.markymark.InlineDisplayItem
 import com.m2mobi.markymark.MarkyMark
+import com.m2mobi.markymark.item.inline.TextString
 import com.m2mobi.markymarkandroid.inline.BoldInlineDisplayItem
 import com.m2mobi.markymarkandroid.inline.CodeInlineDisplayItem
 import com.m2mobi.markymarkandroid.inline.ItalicInlineDisplayItem
@@ -22,6 +23,19 @@ import com.m2mobi.markymarkandroid.inline.LinkInlineDisplayItem
 import com.m2mobi.markymarkandroid.inline.StrikeInlineDisplayItem
 import com.m2mobi.markymarkandroid.inline.StringInlineDisplayItem
 import com.m2mobi.markymarkandroid.inline.TextDisplayItem
+import com.m2mobi.markymarkcommon.markdownitems.CodeBlock
+import com.m2mobi.markymarkcommon.markdownitems.Header
+import com.m2mobi.markymarkcommon.markdownitems.HorizontalLine
+import com.m2mobi.markymarkcommon.markdownitems.Image
+import com.m2mobi.markymarkcommon.markdownitems.MarkdownList
+import com.m2mobi.markymarkcommon.markdownitems.Paragraph
+import com.m2mobi.markymarkcommon.markdownitems.QuoteBlock
+import com.m2mobi.markymarkcommon.markdownitems.inline.BoldString
+import com.m2mobi.markymarkcommon.markdownitems.inline.CodeString
+import com.m2mobi.markymarkcommon.markdownitems.inline.InlineString
+import com.m2mobi.markymarkcommon.markdownitems.inline.ItalicString
+import com.m2mobi.markymarkcommon.markdownitems.inline.LinkString
+import com.m2mobi.markymarkcommon.markdownitems.inline.StrikeString
 
 /**
  * Utility class used to get a [MarkyMark] instance
@@ -57,27 +71,27 @@ object MarkyMarkAndroid {
 
         val viewConverter = Converter<View>()
         val inlineConverter = InlineConverter<Spanned>()
-        inlineConverter.addMapping(BoldInlineDisplayItem())
-        inlineConverter.addMapping(StringInlineDisplayItem())
-        inlineConverter.addMapping(TextDisplayItem())
-        inlineConverter.addMapping(StrikeInlineDisplayItem())
-        inlineConverter.addMapping(ItalicInlineDisplayItem())
-        inlineConverter.addMapping(LinkInlineDisplayItem())
-        inlineConverter.addMapping(CodeInlineDisplayItem())
+        inlineConverter.addMapping(BoldString::class.java, BoldInlineDisplayItem())
+        inlineConverter.addMapping(InlineString::class.java, StringInlineDisplayItem())
+        inlineConverter.addMapping(TextString::class.java, TextDisplayItem())
+        inlineConverter.addMapping(StrikeString::class.java, StrikeInlineDisplayItem())
+        inlineConverter.addMapping(ItalicString::class.java, ItalicInlineDisplayItem())
+        inlineConverter.addMapping(LinkString::class.java, LinkInlineDisplayItem())
+        inlineConverter.addMapping(CodeString::class.java, CodeInlineDisplayItem())
 
         val context = ThemedContext(activity)
 
-        viewConverter.addMapping(HeaderDisplayItem(context))
-        viewConverter.addMapping(ParagraphDisplayItem(context))
-        viewConverter.addMapping(HorizontalRuleDisplayItem(context))
-        viewConverter.addMapping(ListDisplayItem(
+        viewConverter.addMapping(Header::class.java, HeaderDisplayItem(context))
+        viewConverter.addMapping(Paragraph::class.java, ParagraphDisplayItem(context))
+        viewConverter.addMapping(HorizontalLine::class.java, HorizontalRuleDisplayItem(context))
+        viewConverter.addMapping(MarkdownList::class.java, ListDisplayItem(
                 context,
                 R.dimen.list_margin,
                 intArrayOf(R.drawable.bullet_filled, R.drawable.bullet, R.drawable.dash, R.drawable.square))
         )
-        viewConverter.addMapping(QuoteDisplayItem(context))
-        viewConverter.addMapping(CodeBlockDisplayItem(context))
-        viewConverter.addMapping(ImageDisplayItem(context, imageLoader))
+        viewConverter.addMapping(QuoteBlock::class.java, QuoteDisplayItem(context))
+        viewConverter.addMapping(CodeBlock::class.java, CodeBlockDisplayItem(context))
+        viewConverter.addMapping(Image::class.java, ImageDisplayItem(context, imageLoader))
 
         // Add or replace extra inline display items
         if (pInlineDisplayItems != null) {
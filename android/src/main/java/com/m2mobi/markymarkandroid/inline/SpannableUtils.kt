@@ -48,7 +48,7 @@ internal object SpannableUtils {
     fun createSpannable(pInlineConverter: InlineConverter<Spanned>, pMarkdownString: MarkdownString): Spannable {
         val stringBuilder = SpannableStringBuilder()
         if (pMarkdownString.isChildrenEnabled) {
-            for (markdownString in pInlineConverter.parseContent(pMarkdownString.content)) {
+            for (markdownString in pInlineConverter.getChildren(pMarkdownString)) {
                 stringBuilder.append(pInlineConverter.convert(markdownString))
             }
         } else {
@@ -0,0 +1,123 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.benchmarks;
+
+import com.m2mobi.basemarkdown.rule.CodeBlockRule;
+import com.m2mobi.basemarkdown.rule.HeaderRule;
+import com.m2mobi.basemarkdown.rule.HorizontalLineRule;
+import com.m2mobi.basemarkdown.rule.ImageRule;
+import com.m2mobi.basemarkdown.rule.ListRule;
+import com.m2mobi.basemarkdown.rule.ParagraphRule;
+import com.m2mobi.basemarkdown.rule.QuoteRule;
+import com.m2mobi.markymark.rules.Rule;
+import com.m2mobi.markymark.rules.RuleMatch;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a single block rule against every line of the corpus, as if the line was the first line of a block
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlockRuleBenchmark {
+
+	/** The rule that is measured */
+	@Param({ "header", "horizontalLine", "quote", "list", "codeBlock", "image", "paragraph" })
+	public String mRule;
+
+	private Rule mBlockRule;
+
+	private List<String> mLines;
+
+	@Setup
+	public void setup() {
+		mBlockRule = createRule(mRule);
+		mLines = Corpus.lines();
+	}
+
+	/**
+	 * Checks if the remaining lines conform to the rule, starting at every line of the corpus
+	 */
+	@Benchmark
+	public void conforms(final Blackhole pBlackhole) {
+		for (int i = 0; i < mLines.size(); i++) {
+			pBlackhole.consume(mBlockRule.conforms(mLines.subList(i, mLines.size())));
+		}
+	}
+
+	/**
+	 * Checks if the remaining lines conform to the rule and creates the item of every match, starting at every line
+	 * of the corpus
+	 */
+	@Benchmark
+	public void conformsAndCreate(final Blackhole pBlackhole) {
+		for (int i = 0; i < mLines.size(); i++) {
+			final List<String> lines = mLines.subList(i, mLines.size());
+			final RuleMatch match = mBlockRule.conforms(lines);
+			if (match != null) {
+				pBlackhole.consume(mBlockRule.toMarkdownItem(lines.subList(0, match.getLinesConsumed()), match));
+			}
+		}
+	}
+
+	private static Rule createRule(final String pName) {
+		switch (pName) {
+			case "header":
+				return new HeaderRule();
+			case "horizontalLine":
+				return new HorizontalLineRule();
+			case "quote":
+				return new QuoteRule();
+			case "list":
+				return new ListRule();
+			case "codeBlock":
+				return new CodeBlockRule();
+			case "image":
+				return new ImageRule();
+			case "paragraph":
+				return new ParagraphRule();
+			default:
+				throw new IllegalArgumentException("Unknown rule: " + pName);
+		}
+	}
+}
@@ -0,0 +1,84 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The Markdown the benchmarks parse, a copy of the Contentful document shown by the sample app
+ */
+final class Corpus {
+
+	private static final String RESOURCE = "/corpus/contentful.md";
+
+	private Corpus() {
+	}
+
+	/**
+	 * @param pCopies
+	 * 		The number of times the document should be repeated
+	 * @return The corpus repeated {@code pCopies} times, separated by an empty line
+	 */
+	static String load(final int pCopies) {
+		final String document = read();
+		final StringBuilder sb = new StringBuilder(pCopies * (document.length() + 2));
+		for (int i = 0; i < pCopies; i++) {
+			sb.append(document).append("\n\n");
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * @return The lines of a single copy of the corpus
+	 */
+	static List<String> lines() {
+		return new ArrayList<>(Arrays.asList(read().split("\n", -1)));
+	}
+
+	private static String read() {
+		try (InputStream inputStream = Corpus.class.getResourceAsStream(RESOURCE)) {
+			if (inputStream == null) {
+				throw new IllegalStateException("Corpus not found: " + RESOURCE);
+			}
+			final Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+			final StringBuilder sb = new StringBuilder();
+			final char[] buffer = new char[4096];
+			int read;
+			while ((read = reader.read(buffer)) != -1) {
+				sb.append(buffer, 0, read);
+			}
+			return sb.toString();
+		} catch (IOException e) {
+			throw new IllegalStateException("Could not read corpus: " + RESOURCE, e);
+		}
+	}
+}
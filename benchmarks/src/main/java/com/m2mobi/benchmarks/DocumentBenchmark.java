@@ -0,0 +1,107 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.benchmarks;
+
+import com.m2mobi.basemarkdown.ItemConverter;
+import com.m2mobi.basemarkdown.MarkdownFlavor;
+import com.m2mobi.markymark.Flavor;
+import com.m2mobi.markymark.InlineConverter;
+import com.m2mobi.markymark.MarkyMark;
+import com.m2mobi.markymark.item.MarkdownItem;
+import com.m2mobi.markymarkcontentful.ContentfulFlavor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing the corpus into MarkdownItems, and parsing it and converting the items to plain text with a
+ * trivial {@link com.m2mobi.markymark.Converter}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DocumentBenchmark {
+
+	/** The flavor used to parse the corpus */
+	@Param({ "markdown", "contentful" })
+	public String mFlavor;
+
+	/** Number of copies of the corpus in the document */
+	@Param({ "1", "32" })
+	public int mCopies;
+
+	private MarkyMark<MarkdownItem> mItemMarkyMark;
+
+	private MarkyMark<String> mTextMarkyMark;
+
+	private String mMarkdown;
+
+	@Setup
+	public void setup() {
+		final Flavor flavor = "contentful".equals(mFlavor) ? new ContentfulFlavor() : MarkdownFlavor.INSTANCE;
+		mItemMarkyMark = new MarkyMark.Builder<MarkdownItem>()
+				.addFlavor(flavor)
+				.setConverter(new ItemConverter())
+				.setInlineConverter(new InlineConverter<>())
+				.build();
+		mTextMarkyMark = new MarkyMark.Builder<String>()
+				.addFlavor(flavor)
+				.setConverter(TextConverters.createConverter())
+				.setInlineConverter(TextConverters.createInlineConverter())
+				.build();
+		mMarkdown = Corpus.load(mCopies);
+	}
+
+	/**
+	 * Parses the document into MarkdownItems, the inline content of the items is not parsed
+	 */
+	@Benchmark
+	public List<MarkdownItem> parse() {
+		return mItemMarkyMark.parseMarkdown(mMarkdown);
+	}
+
+	/**
+	 * Parses the document and converts every item, including its inline content, to plain text
+	 */
+	@Benchmark
+	public List<String> parseAndConvert() {
+		return mTextMarkyMark.parseMarkdown(mMarkdown);
+	}
+}
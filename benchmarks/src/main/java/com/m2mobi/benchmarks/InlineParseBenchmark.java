@@ -0,0 +1,105 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.benchmarks;
+
+import com.m2mobi.basemarkdown.MarkdownFlavor;
+import com.m2mobi.basemarkdown.rule.inline.DelimiterInlineParser;
+import com.m2mobi.markymark.InlineConverter;
+import com.m2mobi.markymark.item.inline.MarkdownString;
+import com.m2mobi.markymark.rules.InlineRule;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares parsing a long paragraph with {@link InlineConverter#parseContent(String)} against searching every rule
+ * again after every match and against the {@link DelimiterInlineParser}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InlineParseBenchmark {
+
+	/** Number of sentences in the paragraph */
+	@Param({ "10", "100", "1000" })
+	public int mSentences;
+
+	private List<InlineRule> mInlineRules;
+
+	private InlineConverter<Object> mInlineConverter;
+
+	private DelimiterInlineParser mDelimiterInlineParser;
+
+	private String mParagraph;
+
+	@Setup
+	public void setup() {
+		mInlineRules = MarkdownFlavor.INSTANCE.getInlineRules();
+		mInlineConverter = new InlineConverter<>();
+		mInlineConverter.setInlineRules(mInlineRules);
+		mDelimiterInlineParser = new DelimiterInlineParser();
+
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < mSentences; i++) {
+			sb.append("Sentence ").append(i).append(" has **bold text**, a [link](https://m2mobi.com/").append(i)
+					.append(") and some `code`");
+			if (i % 10 == 0) {
+				sb.append(", now and then ~~struck~~ or *italic* text");
+			}
+			sb.append(". ");
+		}
+		mParagraph = sb.toString();
+	}
+
+	@Benchmark
+	public List<MarkdownString> cachedMatches() {
+		return mInlineConverter.parseContent(mParagraph);
+	}
+
+	@Benchmark
+	public List<MarkdownString> searchEveryRule() {
+		return RegionInlineParser.parseContent(mInlineRules, mParagraph);
+	}
+
+	@Benchmark
+	public List<MarkdownString> delimiterParser() {
+		return mDelimiterInlineParser.parseContent(mParagraph);
+	}
+}
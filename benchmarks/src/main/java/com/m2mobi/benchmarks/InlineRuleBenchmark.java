@@ -0,0 +1,132 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.benchmarks;
+
+import com.m2mobi.basemarkdown.ItemConverter;
+import com.m2mobi.basemarkdown.MarkdownFlavor;
+import com.m2mobi.basemarkdown.rule.inline.BoldRule;
+import com.m2mobi.basemarkdown.rule.inline.InlineCodeRule;
+import com.m2mobi.basemarkdown.rule.inline.ItalicRule;
+import com.m2mobi.basemarkdown.rule.inline.LinkRule;
+import com.m2mobi.basemarkdown.rule.inline.ShortLinkRule;
+import com.m2mobi.basemarkdown.rule.inline.StrikeRule;
+import com.m2mobi.markymark.InlineConverter;
+import com.m2mobi.markymark.MarkyMark;
+import com.m2mobi.markymark.RegexInlineParser;
+import com.m2mobi.markymark.item.InlineContainer;
+import com.m2mobi.markymark.item.MarkdownItem;
+import com.m2mobi.markymark.item.inline.MarkdownString;
+import com.m2mobi.markymark.rules.InlineRule;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a single inline rule, or all inline rules of the Markdown flavor, against the inline content of every
+ * block in the corpus
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InlineRuleBenchmark {
+
+	/** The rule that is measured, {@code all} uses every inline rule of the Markdown flavor */
+	@Param({ "strike", "italic", "boldAsterisk", "boldUnderscore", "link", "shortLink", "inlineCode", "all" })
+	public String mRule;
+
+	private RegexInlineParser mInlineParser;
+
+	private List<String> mContents;
+
+	@Setup
+	public void setup() {
+		mInlineParser = new RegexInlineParser(createRules(mRule));
+		mContents = new ArrayList<>();
+
+		final MarkyMark<MarkdownItem> markyMark = new MarkyMark.Builder<MarkdownItem>()
+				.addFlavor(MarkdownFlavor.INSTANCE)
+				.setConverter(new ItemConverter())
+				.setInlineConverter(new InlineConverter<>())
+				.build();
+		for (MarkdownItem markdownItem : markyMark.parseMarkdown(Corpus.load(1))) {
+			if (markdownItem instanceof InlineContainer) {
+				for (MarkdownString markdownString : ((InlineContainer) markdownItem).getInlineContent()) {
+					mContents.add(markdownString.getContent());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Parses the inline content of every block in the corpus
+	 */
+	@Benchmark
+	public void parseContent(final Blackhole pBlackhole) {
+		for (String content : mContents) {
+			pBlackhole.consume(mInlineParser.parseContent(content));
+		}
+	}
+
+	private static List<InlineRule> createRules(final String pName) {
+		switch (pName) {
+			case "strike":
+				return Collections.<InlineRule>singletonList(new StrikeRule());
+			case "italic":
+				return Collections.<InlineRule>singletonList(new ItalicRule());
+			case "boldAsterisk":
+				return Collections.<InlineRule>singletonList(new BoldRule(BoldRule.PATTERN_ASTERISK));
+			case "boldUnderscore":
+				return Collections.<InlineRule>singletonList(new BoldRule(BoldRule.PATTERN_UNDERSCORE));
+			case "link":
+				return Collections.<InlineRule>singletonList(LinkRule.INSTANCE);
+			case "shortLink":
+				return Collections.<InlineRule>singletonList(new ShortLinkRule());
+			case "inlineCode":
+				return Collections.<InlineRule>singletonList(new InlineCodeRule());
+			case "all":
+				return MarkdownFlavor.INSTANCE.getInlineRules();
+			default:
+				throw new IllegalArgumentException("Unknown rule: " + pName);
+		}
+	}
+}
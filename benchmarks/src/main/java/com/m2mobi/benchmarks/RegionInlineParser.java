@@ -0,0 +1,84 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.benchmarks;
+
+import com.m2mobi.markymark.item.inline.MarkdownString;
+import com.m2mobi.markymark.item.inline.TextString;
+import com.m2mobi.markymark.rules.InlineRule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+
+/**
+ * The inline parsing of {@link com.m2mobi.markymark.InlineConverter} before matches were cached, every rule is
+ * searched again from the end of every match. Kept as the baseline of {@link InlineParseBenchmark}.
+ */
+final class RegionInlineParser {
+
+	private RegionInlineParser() {
+	}
+
+	static List<MarkdownString> parseContent(final List<InlineRule> pInlineRules, final String pContent) {
+		final List<MarkdownString> markdownStrings = new ArrayList<>();
+		final int length = pContent.length();
+		if (length == 0) {
+			return markdownStrings;
+		}
+
+		final Matcher[] matchers = new Matcher[pInlineRules.size()];
+		for (int i = 0; i < matchers.length; i++) {
+			matchers[i] = pInlineRules.get(i).getRegex().matcher(pContent);
+		}
+
+		int position = 0;
+		while (position < length) {
+			final int first = findFirstMatch(matchers, position);
+			if (first < 0) {
+				markdownStrings.add(new TextString(pContent.substring(position), false));
+				break;
+			}
+			final Matcher matcher = matchers[first];
+			if (matcher.start() > position) {
+				markdownStrings.add(new TextString(pContent.substring(position, matcher.start()), false));
+			}
+			markdownStrings.add(pInlineRules.get(first).toMarkdownString(matcher));
+			position = matcher.end();
+		}
+		return markdownStrings;
+	}
+
+	private static int findFirstMatch(final Matcher[] pMatchers, final int pPosition) {
+		int first = -1;
+		for (int i = 0; i < pMatchers.length; i++) {
+			final Matcher matcher = pMatchers[i];
+			matcher.region(pPosition, matcher.regionEnd());
+			if (matcher.find() && (first < 0 || matcher.start() < pMatchers[first].start())) {
+				first = i;
+			}
+		}
+		return first;
+	}
+}
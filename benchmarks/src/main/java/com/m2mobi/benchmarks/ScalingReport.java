@@ -0,0 +1,170 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.benchmarks;
+
+import com.m2mobi.basemarkdown.MarkdownFlavor;
+import com.m2mobi.basemarkdown.MarkdownGenerator;
+import com.m2mobi.basemarkdown.MarkdownGenerator.Dimension;
+import com.m2mobi.markymark.MarkyMark;
+
+import java.util.Locale;
+
+/**
+ * Measures how the parse and convert time of {@link MarkyMark} grows in every {@link Dimension} of the
+ * {@link MarkdownGenerator}, and fits the exponent {@code k} of {@code time = c * size^k} to the measurements. Run it
+ * with {@code ./gradlew :benchmarks:scalingReport}, optionally passing {@code -Pseed=<seed>}.
+ */
+public final class ScalingReport {
+
+	/** Number of sizes measured per dimension, every size is double the previous one */
+	private static final int STEPS = 5;
+
+	/** Minimum number of times every input is parsed, the fastest time is used */
+	private static final int MIN_RUNS = 5;
+
+	/** Minimum time spent parsing every input in nanoseconds */
+	private static final long MIN_TIME = 200_000_000L;
+
+	/** Time after which no more runs are started for an input in nanoseconds, even if not all runs were done */
+	private static final long MAX_TIME = 2_000_000_000L;
+
+	/** Time spent parsing every dimension before measuring in nanoseconds */
+	private static final long WARM_UP_TIME = 1_000_000_000L;
+
+	private ScalingReport() {
+	}
+
+	public static void main(final String[] pArgs) {
+		final long seed = pArgs.length > 0 ? Long.parseLong(pArgs[0]) : 0;
+		final MarkyMark<String> markyMark = new MarkyMark.Builder<String>()
+				.addFlavor(MarkdownFlavor.INSTANCE)
+				.setConverter(TextConverters.createConverter())
+				.setInlineConverter(TextConverters.createInlineConverter())
+				.build();
+
+		// Parse every dimension at its smallest size first so the measurements do not include compilation
+		for (Dimension dimension : Dimension.values()) {
+			final String markdown = dimension.create(new MarkdownGenerator(seed), getBaseSize(dimension));
+			final long start = System.nanoTime();
+			while (System.nanoTime() - start < WARM_UP_TIME) {
+				markyMark.parseMarkdown(markdown);
+			}
+		}
+
+		System.out.println("Scaling of MarkyMark.parseMarkdown with the Markdown flavor, seed " + seed);
+		System.out.println();
+		System.out.println(String.format(Locale.US, "%-24s %8s %10s %12s", "Dimension", "Size", "Bytes", "Time (us)"));
+		for (Dimension dimension : Dimension.values()) {
+			final double[] sizes = new double[STEPS];
+			final double[] times = new double[STEPS];
+			for (int step = 0; step < STEPS; step++) {
+				final int size = getBaseSize(dimension) << step;
+				final String markdown = dimension.create(new MarkdownGenerator(seed), size);
+				sizes[step] = size;
+				times[step] = measure(markyMark, markdown);
+				System.out.println(String.format(Locale.US, "%-24s %8d %10d %12.1f", dimension, size, markdown.length(),
+						times[step] / 1000));
+			}
+			final double exponent = fitExponent(sizes, times);
+			System.out.println(String.format(Locale.US, "%-24s k = %.2f, %s", dimension, exponent, describe(exponent)));
+			System.out.println();
+		}
+	}
+
+	/**
+	 * @param pDimension
+	 * 		The dimension that is measured
+	 * @return The smallest size measured in the dimension, large enough for the parse time to be measurable
+	 */
+	private static int getBaseSize(final Dimension pDimension) {
+		switch (pDimension) {
+			case DOCUMENT_LENGTH:
+				return 500;
+			case PARAGRAPH_LENGTH:
+				return 2_000;
+			case LIST_DEPTH:
+				return 25;
+			case CODE_FENCE_SIZE:
+				return 1_000;
+			case UNTERMINATED_DELIMITERS:
+				return 25;
+			default:
+				return 250;
+		}
+	}
+
+	/**
+	 * Parses the markdown at least {@link #MIN_RUNS} times and for at least {@link #MIN_TIME}, but never starts a run
+	 * after {@link #MAX_TIME}
+	 *
+	 * @return The fastest parse time in nanoseconds
+	 */
+	private static long measure(final MarkyMark<String> pMarkyMark, final String pMarkdown) {
+		long best = Long.MAX_VALUE;
+		final long start = System.nanoTime();
+		for (int runs = 0; runs < MIN_RUNS || System.nanoTime() - start < MIN_TIME; runs++) {
+			final long runStart = System.nanoTime();
+			pMarkyMark.parseMarkdown(pMarkdown);
+			best = Math.min(best, System.nanoTime() - runStart);
+			if (System.nanoTime() - start > MAX_TIME) {
+				break;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Fits a line through the logarithms of the sizes and times using least squares
+	 *
+	 * @return The slope of the line, which is the exponent of the size in the parse time
+	 */
+	private static double fitExponent(final double[] pSizes, final double[] pTimes) {
+		double sumX = 0;
+		double sumY = 0;
+		double sumXY = 0;
+		double sumXX = 0;
+		for (int i = 0; i < pSizes.length; i++) {
+			final double x = Math.log(pSizes[i]);
+			final double y = Math.log(pTimes[i]);
+			sumX += x;
+			sumY += y;
+			sumXY += x * y;
+			sumXX += x * x;
+		}
+		final int n = pSizes.length;
+		return (n * sumXY - sumX * sumY) / (n * sumXX - sumX * sumX);
+	}
+
+	private static String describe(final double pExponent) {
+		if (pExponent < 1.25) {
+			return "linear";
+		} else if (pExponent < 1.75) {
+			return "superlinear";
+		} else if (pExponent < 2.5) {
+			return "quadratic";
+		}
+		return "cubic or worse";
+	}
+}
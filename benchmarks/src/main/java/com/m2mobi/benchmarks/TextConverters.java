@@ -0,0 +1,141 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.benchmarks;
+
+import com.m2mobi.markymark.Converter;
+import com.m2mobi.markymark.DisplayItem;
+import com.m2mobi.markymark.InlineConverter;
+import com.m2mobi.markymark.InlineDisplayItem;
+import com.m2mobi.markymark.item.InlineContainer;
+import com.m2mobi.markymark.item.MarkdownItem;
+import com.m2mobi.markymark.item.inline.MarkdownString;
+import com.m2mobi.markymark.item.inline.TextString;
+import com.m2mobi.markymarkcommon.markdownitems.CodeBlock;
+import com.m2mobi.markymarkcommon.markdownitems.Header;
+import com.m2mobi.markymarkcommon.markdownitems.HorizontalLine;
+import com.m2mobi.markymarkcommon.markdownitems.Image;
+import com.m2mobi.markymarkcommon.markdownitems.MarkdownList;
+import com.m2mobi.markymarkcommon.markdownitems.Paragraph;
+import com.m2mobi.markymarkcommon.markdownitems.QuoteBlock;
+import com.m2mobi.markymarkcommon.markdownitems.inline.BoldString;
+import com.m2mobi.markymarkcommon.markdownitems.inline.CodeString;
+import com.m2mobi.markymarkcommon.markdownitems.inline.InlineString;
+import com.m2mobi.markymarkcommon.markdownitems.inline.ItalicString;
+import com.m2mobi.markymarkcommon.markdownitems.inline.LinkString;
+import com.m2mobi.markymarkcommon.markdownitems.inline.StrikeString;
+
+/**
+ * Creates converters that turn Markdown into its plain text, so that benchmarks measure the conversion done by
+ * MarkyMark rather than the creation of views or spans
+ */
+final class TextConverters {
+
+	private TextConverters() {
+	}
+
+	/**
+	 * @return A {@link Converter} mapping every {@link MarkdownItem} of the Markdown flavor to its plain text
+	 */
+	static Converter<String> createConverter() {
+		final Converter<String> converter = new Converter<>();
+		final InlineContainerText inlineContainerText = new InlineContainerText();
+		converter.addMapping(Header.class, inlineContainerText);
+		converter.addMapping(Paragraph.class, inlineContainerText);
+		converter.addMapping(QuoteBlock.class, inlineContainerText);
+		converter.addMapping(MarkdownList.class, inlineContainerText);
+		converter.addMapping(CodeBlock.class, new CodeBlockText());
+		converter.addMapping(Image.class, new ImageText());
+		converter.addMapping(HorizontalLine.class, new HorizontalLineText());
+		return converter;
+	}
+
+	/**
+	 * @return An {@link InlineConverter} mapping every {@link MarkdownString} of the Markdown flavor to its plain
+	 * text, including the text of its children
+	 */
+	static InlineConverter<String> createInlineConverter() {
+		final InlineConverter<String> inlineConverter = new InlineConverter<>();
+		final StringText stringText = new StringText();
+		inlineConverter.addMapping(TextString.class, stringText);
+		inlineConverter.addMapping(InlineString.class, stringText);
+		inlineConverter.addMapping(BoldString.class, stringText);
+		inlineConverter.addMapping(ItalicString.class, stringText);
+		inlineConverter.addMapping(StrikeString.class, stringText);
+		inlineConverter.addMapping(CodeString.class, stringText);
+		inlineConverter.addMapping(LinkString.class, stringText);
+		return inlineConverter;
+	}
+
+	private static class InlineContainerText implements DisplayItem<String, InlineContainer, String> {
+
+		@Override
+		public String create(final InlineContainer pMarkdownItem, final InlineConverter<String> pInlineConverter) {
+			final StringBuilder sb = new StringBuilder();
+			for (MarkdownString markdownString : pMarkdownItem.getInlineContent()) {
+				sb.append(pInlineConverter.convert(markdownString));
+			}
+			return sb.toString();
+		}
+	}
+
+	private static class CodeBlockText implements DisplayItem<String, CodeBlock, String> {
+
+		@Override
+		public String create(final CodeBlock pMarkdownItem, final InlineConverter<String> pInlineConverter) {
+			return pMarkdownItem.getContent();
+		}
+	}
+
+	private static class ImageText implements DisplayItem<String, Image, String> {
+
+		@Override
+		public String create(final Image pMarkdownItem, final InlineConverter<String> pInlineConverter) {
+			return pMarkdownItem.getAltText();
+		}
+	}
+
+	private static class HorizontalLineText implements DisplayItem<String, HorizontalLine, String> {
+
+		@Override
+		public String create(final HorizontalLine pMarkdownItem, final InlineConverter<String> pInlineConverter) {
+			return "";
+		}
+	}
+
+	private static class StringText implements InlineDisplayItem<String, MarkdownString> {
+
+		@Override
+		public String create(final InlineConverter<String> pInlineConverter, final MarkdownString pMarkdownString) {
+			if (!pMarkdownString.isChildrenEnabled()) {
+				return pMarkdownString.getContent();
+			}
+			final StringBuilder sb = new StringBuilder();
+			for (MarkdownString child : pInlineConverter.getChildren(pMarkdownString)) {
+				sb.append(pInlineConverter.convert(child));
+			}
+			return sb.toString();
+		}
+	}
+}
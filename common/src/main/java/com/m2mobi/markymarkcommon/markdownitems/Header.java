@@ -4,14 +4,18 @@
 
 package com.m2mobi.markymarkcommon.markdownitems;
 
+import com.m2mobi.markymark.item.InlineContainer;
 import com.m2mobi.markymark.item.MarkdownItem;
 import com.m2mobi.markymark.item.inline.MarkdownString;
 import com.m2mobi.markymarkcommon.markdownitems.inline.InlineString;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * {@link MarkdownItem} used for storing text inside a header
  */
-public class Header implements MarkdownItem {
+public class Header implements InlineContainer {
 
 	private final MarkdownString mContent;
 
@@ -29,4 +33,9 @@ public class Header implements MarkdownItem {
 	public int getHeader() {
 		return mHeader;
 	}
+
+	@Override
+	public List<MarkdownString> getInlineContent() {
+		return Collections.singletonList(getContent());
+	}
 }
\ No newline at end of file
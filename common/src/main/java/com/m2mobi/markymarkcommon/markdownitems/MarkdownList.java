@@ -4,7 +4,10 @@
 
 package com.m2mobi.markymarkcommon.markdownitems;
 
+import com.m2mobi.markymark.item.InlineContainer;
+import com.m2mobi.markymark.item.ListContainer;
 import com.m2mobi.markymark.item.MarkdownItem;
+import com.m2mobi.markymark.item.inline.MarkdownString;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -12,7 +15,7 @@ import java.util.List;
 /**
  * {@link MarkdownItem} used for storing {@link ListItem} for a list
  */
-public class MarkdownList implements MarkdownItem {
+public class MarkdownList implements InlineContainer, ListContainer {
 
 	private final boolean mIsOrdered;
 
@@ -44,4 +47,158 @@ public class MarkdownList implements MarkdownItem {
 	public ListItem getLastListItem() {
 		return mListItems.get(mListItems.size() - 1);
 	}
-}
\ No newline at end of file
+
+	/**
+	 * @return Returns the text of all list items, including the items of nested lists, in the order they appear
+	 */
+	@Override
+	public List<MarkdownString> getInlineContent() {
+		final List<MarkdownString> content = new ArrayList<>();
+		accept(new Visitor() {
+
+			@Override
+			public void onListItem(final MarkdownList pList, final ListItem pItem, final int pIndex, final int pDepth) {
+				content.add(pItem.getText());
+			}
+		});
+		return content;
+	}
+
+	/**
+	 * Walks this list and its nested lists in the order in which their items appear, every item is visited before the
+	 * lists nested in it. The walk keeps its own stack instead of recursing, so lists of any depth can be visited.
+	 *
+	 * @param pVisitor
+	 * 		The visitor that is called for every list and item
+	 */
+	public void accept(final Visitor pVisitor) {
+		final List<Position> stack = new ArrayList<>();
+		stack.add(new Position(this));
+		pVisitor.onListStart(this, 0);
+		while (!stack.isEmpty()) {
+			final int depth = stack.size() - 1;
+			final Position position = stack.get(depth);
+			final List<ListItem> items = position.mList.mListItems;
+			if (position.mItem >= 0) {
+				final List<MarkdownList> children = items.get(position.mItem).getChild();
+				if (position.mChild < children.size()) {
+					final MarkdownList child = children.get(position.mChild++);
+					stack.add(new Position(child));
+					pVisitor.onListStart(child, depth + 1);
+					continue;
+				}
+				pVisitor.onListItemEnd(position.mList, items.get(position.mItem), position.mItem, depth);
+			}
+			position.mItem++;
+			position.mChild = 0;
+			if (position.mItem < items.size()) {
+				pVisitor.onListItem(position.mList, items.get(position.mItem), position.mItem, depth);
+			} else {
+				stack.remove(depth);
+				pVisitor.onListEnd(position.mList, depth);
+			}
+		}
+	}
+
+	@Override
+	public void accept(final ListVisitor pVisitor) {
+		accept(new Visitor() {
+
+			@Override
+			public void onListStart(final MarkdownList pList, final int pDepth) {
+				pVisitor.onListStart(pList, pDepth);
+			}
+
+			@Override
+			public void onListItem(final MarkdownList pList, final ListItem pItem, final int pIndex, final int pDepth) {
+				pVisitor.onListItemStart(pItem.getText(), pIndex, pDepth);
+			}
+
+			@Override
+			public void onListItemEnd(final MarkdownList pList, final ListItem pItem, final int pIndex,
+					final int pDepth) {
+				pVisitor.onListItemEnd(pIndex, pDepth);
+			}
+
+			@Override
+			public void onListEnd(final MarkdownList pList, final int pDepth) {
+				pVisitor.onListEnd(pList, pDepth);
+			}
+		});
+	}
+
+	/**
+	 * Visitor for the lists and items of a {@link MarkdownList}, see {@link #accept(Visitor)}
+	 */
+	public interface Visitor {
+
+		/**
+		 * Called before the items of a list are visited
+		 *
+		 * @param pList
+		 * 		The list
+		 * @param pDepth
+		 * 		Amount of lists the list is nested in, 0 for the list that is walked
+		 */
+		default void onListStart(final MarkdownList pList, final int pDepth) {
+		}
+
+		/**
+		 * Called for every item of a list, before the lists nested in the item
+		 *
+		 * @param pList
+		 * 		The list containing the item
+		 * @param pItem
+		 * 		The item
+		 * @param pIndex
+		 * 		Index of the item in the list
+		 * @param pDepth
+		 * 		Amount of lists the list containing the item is nested in
+		 */
+		void onListItem(MarkdownList pList, ListItem pItem, int pIndex, int pDepth);
+
+		/**
+		 * Called after an item and the lists nested in it have been visited
+		 *
+		 * @param pList
+		 * 		The list containing the item
+		 * @param pItem
+		 * 		The item
+		 * @param pIndex
+		 * 		Index of the item in the list
+		 * @param pDepth
+		 * 		Amount of lists the list containing the item is nested in
+		 */
+		default void onListItemEnd(final MarkdownList pList, final ListItem pItem, final int pIndex, final int pDepth) {
+		}
+
+		/**
+		 * Called after the items of a list and their nested lists have been visited
+		 *
+		 * @param pList
+		 * 		The list
+		 * @param pDepth
+		 * 		Amount of lists the list is nested in
+		 */
+		default void onListEnd(final MarkdownList pList, final int pDepth) {
+		}
+	}
+
+	/**
+	 * Position of the walk in a list, the item being visited and the next list nested in that item
+	 */
+	private static final class Position {
+
+		private final MarkdownList mList;
+
+		/** Index of the item being visited, -1 before the first item */
+		private int mItem = -1;
+
+		/** Index of the next list nested in the item */
+		private int mChild;
+
+		private Position(final MarkdownList pList) {
+			mList = pList;
+		}
+	}
+}
@@ -24,14 +24,18 @@
 
 package com.m2mobi.markymarkcommon.markdownitems;
 
+import com.m2mobi.markymark.item.InlineContainer;
 import com.m2mobi.markymark.item.MarkdownItem;
 import com.m2mobi.markymark.item.inline.MarkdownString;
 import com.m2mobi.markymarkcommon.markdownitems.inline.InlineString;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * {@link MarkdownItem} used for storing text inside a paragraph
  */
-public class Paragraph implements MarkdownItem {
+public class Paragraph implements InlineContainer {
 
 	private InlineString mContent;
 
@@ -42,4 +46,9 @@ public class Paragraph implements MarkdownItem {
 	public MarkdownString getContent() {
 		return mContent;
 	}
+
+	@Override
+	public List<MarkdownString> getInlineContent() {
+		return Collections.singletonList(getContent());
+	}
 }
\ No newline at end of file
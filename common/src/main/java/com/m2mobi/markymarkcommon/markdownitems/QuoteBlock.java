@@ -4,22 +4,31 @@
 
 package com.m2mobi.markymarkcommon.markdownitems;
 
+import com.m2mobi.markymark.item.InlineContainer;
 import com.m2mobi.markymark.item.MarkdownItem;
 import com.m2mobi.markymark.item.inline.MarkdownString;
 import com.m2mobi.markymarkcommon.markdownitems.inline.InlineString;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * {@link MarkdownItem} used for storing text inside a quote block
  */
-public class QuoteBlock implements MarkdownItem {
+public class QuoteBlock implements InlineContainer {
 
-	private final String mContent;
+	private final InlineString mContent;
 
 	public QuoteBlock(final String pContent) {
-		mContent = pContent;
+		mContent = new InlineString(pContent, true);
 	}
 
 	public MarkdownString getContent() {
-		return new InlineString(mContent, true);
+		return mContent;
+	}
+
+	@Override
+	public List<MarkdownString> getInlineContent() {
+		return Collections.singletonList(getContent());
 	}
 }
\ No newline at end of file
@@ -0,0 +1,113 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.markymark;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Future;
+
+/**
+ * Token with which a parse that is running can be stopped, pass it to
+ * {@link MarkyMark#parseMarkdownCancellable(String, CancellationToken)} and call {@link #cancel()} from any thread. The parse
+ * checks the token between blocks, while rules read the lines of a block, between inline matches and between converted
+ * items, and throws a {@link ParseCancelledException} once it has been cancelled.
+ */
+public final class CancellationToken {
+
+	/** Future whose cancellation cancels this token, may be {@code null} */
+	private final Future<?> mFuture;
+
+	/** Whether {@link #cancel()} has been called */
+	private volatile boolean mCancelled;
+
+	public CancellationToken() {
+		this(null);
+	}
+
+	/**
+	 * @param pFuture
+	 * 		Future whose cancellation also cancels this token, like the Future of the task running the parse
+	 */
+	public CancellationToken(final Future<?> pFuture) {
+		mFuture = pFuture;
+	}
+
+	/**
+	 * @return the token of the parse running on the calling thread, or {@code null} when it can't be cancelled
+	 */
+	public static CancellationToken current() {
+		final ParseBudget budget = ParseBudget.current();
+		return budget != null ? budget.getCancellationToken() : null;
+	}
+
+	/**
+	 * Checks the token of the parse running on the calling thread, rules and inline parsers that loop over a lot of
+	 * Markdown can call this to stop early
+	 *
+	 * @throws ParseCancelledException
+	 * 		When the current parse has been cancelled
+	 */
+	public static void checkCurrent() {
+		final ParseBudget budget = ParseBudget.current();
+		if (budget != null) {
+			budget.checkCancelled();
+		}
+	}
+
+	/**
+	 * Cancels the parses using this token, they stop at their next check
+	 */
+	public void cancel() {
+		mCancelled = true;
+	}
+
+	/**
+	 * @return whether the token, or the Future it was created with, has been cancelled
+	 */
+	public boolean isCancelled() {
+		return mCancelled || mFuture != null && mFuture.isCancelled();
+	}
+
+	/**
+	 * @throws ParseCancelledException
+	 * 		When the token has been cancelled
+	 */
+	public void throwIfCancelled() {
+		if (isCancelled()) {
+			throw new ParseCancelledException();
+		}
+	}
+
+	/**
+	 * Thrown by a parse whose {@link CancellationToken} has been cancelled, no items are returned for it
+	 */
+	public static final class ParseCancelledException extends CancellationException {
+
+		private static final long serialVersionUID = 1L;
+
+		public ParseCancelledException() {
+			super("The parse has been cancelled");
+		}
+	}
+}
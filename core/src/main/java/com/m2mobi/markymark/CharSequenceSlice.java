@@ -0,0 +1,72 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.markymark;
+
+/**
+ * {@link CharSequence} view on a part of another CharSequence, used to pass lines to rules without copying them
+ */
+final class CharSequenceSlice implements CharSequence {
+
+	/** The CharSequence this slice is a part of */
+	private final CharSequence mSource;
+
+	/** Start index of this slice in the source, inclusive */
+	private final int mStart;
+
+	/** End index of this slice in the source, exclusive */
+	private final int mEnd;
+
+	CharSequenceSlice(final CharSequence pSource, final int pStart, final int pEnd) {
+		mSource = pSource;
+		mStart = pStart;
+		mEnd = pEnd;
+	}
+
+	@Override
+	public int length() {
+		return mEnd - mStart;
+	}
+
+	@Override
+	public char charAt(final int pIndex) {
+		if (pIndex < 0 || pIndex >= length()) {
+			throw new IndexOutOfBoundsException("index: " + pIndex + ", length: " + length());
+		}
+		return mSource.charAt(mStart + pIndex);
+	}
+
+	@Override
+	public CharSequence subSequence(final int pStart, final int pEnd) {
+		if (pStart < 0 || pEnd > length() || pStart > pEnd) {
+			throw new IndexOutOfBoundsException("start: " + pStart + ", end: " + pEnd + ", length: " + length());
+		}
+		return new CharSequenceSlice(mSource, mStart + pStart, mStart + pEnd);
+	}
+
+	@Override
+	public String toString() {
+		return mSource.subSequence(mStart, mEnd).toString();
+	}
+}
@@ -9,30 +9,41 @@ import com.m2mobi.markymark.item.MarkdownItem;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Converter for markdown items to {@link T}
  */
 public class Converter<T> {
 
-	/** HashMap that maps MarkdownItem items to display items */
-	private final Map<Class<? extends MarkdownItem>, DisplayItem<T, MarkdownItem, ?>> mMapping = new HashMap<>();
+	/** Maps MarkdownItem classes to display items */
+	private final TypeDispatcher<DisplayItem<T, MarkdownItem, ?>> mMapping = new TypeDispatcher<>();
 
 	/**
-	 * Adds an {@link DisplayItem}
+	 * Adds an {@link DisplayItem}, the MarkdownItem class is read from the generic type of the DisplayItem. This
+	 * doesn't work when the generic signature has been removed, like by R8 or ProGuard, use
+	 * {@link #addMapping(Class, DisplayItem)} in that case.
 	 *
 	 * @param pDisplayItem
 	 * 		the item to add.
 	 */
 	@SuppressWarnings("unchecked")
 	public final void addMapping(final DisplayItem pDisplayItem) {
-		// amazing
-		final Type type = pDisplayItem.getClass().getGenericInterfaces()[0];
-		final Class<T> tClass = (Class<T>) ((ParameterizedType) type).getActualTypeArguments()[1];
-		mMapping.put((Class<? extends MarkdownItem>) tClass, pDisplayItem);
+		addMapping(getMappedClass(pDisplayItem.getClass(), DisplayItem.class, 1), pDisplayItem);
+	}
+
+	/**
+	 * Adds an {@link DisplayItem} for a MarkdownItem class, the DisplayItem is also used for subclasses of the class
+	 * that have no mapping of their own
+	 *
+	 * @param pClass
+	 * 		The MarkdownItem class that should be converted by the DisplayItem
+	 * @param pDisplayItem
+	 * 		the item to add.
+	 */
+	@SuppressWarnings("unchecked")
+	public final <O extends MarkdownItem> void addMapping(final Class<O> pClass, final DisplayItem<T, ? super O, ?> pDisplayItem) {
+		mMapping.put(pClass, (DisplayItem<T, MarkdownItem, ?>) pDisplayItem);
 	}
 
 	/**
@@ -41,16 +52,33 @@ public class Converter<T> {
 	 * @param pMarkdownItems
 	 * 		The list of markdown items that will be converted to {@link T}
 	 * @return Returns a List of {@link T} using the mapped {@link DisplayItem}
+	 * @throws CancellationToken.ParseCancelledException
+	 * 		When the items are converted by a parse that has been cancelled
 	 */
-	@SuppressWarnings("unchecked")
 	public List<T> convert(final List<MarkdownItem> pMarkdownItems, InlineConverter pInlineConverter) {
+		final ParseBudget budget = ParseBudget.current();
 		final List<T> convertedItems = new ArrayList<>(pMarkdownItems.size());
 		for (MarkdownItem markdownItem : pMarkdownItems) {
-			convertedItems.add((T) getDisplayItemForClass(markdownItem.getClass()).create(markdownItem, pInlineConverter));
+			if (budget != null) {
+				budget.checkCancelled();
+			}
+			convertedItems.add(convert(markdownItem, pInlineConverter));
 		}
 		return convertedItems;
 	}
 
+	/**
+	 * Creates a {@link T} from the given {@link MarkdownItem} using the mapped DisplayItem
+	 *
+	 * @param pMarkdownItem
+	 * 		The markdown item that will be converted to {@link T}
+	 * @return Returns a {@link T} using the mapped {@link DisplayItem}
+	 */
+	@SuppressWarnings("unchecked")
+	public T convert(final MarkdownItem pMarkdownItem, InlineConverter pInlineConverter) {
+		return (T) getDisplayItemForClass(pMarkdownItem.getClass()).create(pMarkdownItem, pInlineConverter);
+	}
+
 	/**
 	 * Get a mapped item.
 	 *
@@ -62,6 +90,33 @@ public class Converter<T> {
 		return mMapping.get(tClass);
 	}
 
+	/**
+	 * Reads the class that a display item converts from the type arguments of the interface it implements
+	 *
+	 * @param pClass
+	 * 		Class of the display item
+	 * @param pInterface
+	 * 		The display item interface
+	 * @param pIndex
+	 * 		Index of the type argument that holds the converted class
+	 * @return The converted class
+	 */
+	static Class getMappedClass(final Class<?> pClass, final Class<?> pInterface, final int pIndex) {
+		for (Class<?> type = pClass; type != null; type = type.getSuperclass()) {
+			for (Type genericInterface : type.getGenericInterfaces()) {
+				if (genericInterface instanceof ParameterizedType
+						&& ((ParameterizedType) genericInterface).getRawType() == pInterface) {
+					final Type argument = ((ParameterizedType) genericInterface).getActualTypeArguments()[pIndex];
+					if (argument instanceof Class) {
+						return (Class) argument;
+					}
+				}
+			}
+		}
+		throw new IllegalArgumentException("Can't read the mapped class of " + pClass
+				+ ", use addMapping(Class, " + pInterface.getSimpleName() + ") instead.");
+	}
+
 	/**
 	 * Gets the DisplayItem that is mapped to a MarkdownItem
 	 *
@@ -71,7 +126,7 @@ public class Converter<T> {
 	 */
 	@SuppressWarnings("unchecked")
 	private DisplayItem<T, MarkdownItem, ?> getDisplayItemForClass(final Class pClass) {
-		DisplayItem displayItem = mMapping.get(pClass);
+		DisplayItem<T, MarkdownItem, ?> displayItem = mMapping.get(pClass);
 		if (displayItem == null) {
 			throw new IllegalStateException("MarkdownItem not mapped to DisplayItem, use Converter.addMapping to add a map for: " +
 					pClass.toString());
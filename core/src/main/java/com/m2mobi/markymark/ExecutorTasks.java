@@ -0,0 +1,96 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.markymark;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Helpers for running parse work on an {@link Executor} while the calling thread helps out
+ */
+final class ExecutorTasks {
+
+	private ExecutorTasks() {
+		// no instances
+	}
+
+	/**
+	 * Creates a task for the callable and hands it to the executor
+	 *
+	 * @param pExecutor
+	 * 		Executor that should run the task
+	 * @param pCallable
+	 * 		The work that should be done
+	 * @return The submitted task
+	 */
+	static <V> FutureTask<V> submit(final Executor pExecutor, final Callable<V> pCallable) {
+		final FutureTask<V> task = new FutureTask<>(pCallable);
+		pExecutor.execute(task);
+		return task;
+	}
+
+	/**
+	 * Returns the result of a task, the task is run on the calling thread when the executor hasn't started it yet so a
+	 * busy or single threaded executor can't block the caller
+	 *
+	 * @param pTask
+	 * 		Task that has been submitted with {@link #submit}
+	 * @return The result of the task
+	 */
+	static <V> V join(final FutureTask<V> pTask) {
+		// Does nothing when the task is already running or done
+		pTask.run();
+		try {
+			return pTask.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while parsing Markdown", e);
+		} catch (ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	/**
+	 * Cancels tasks whose results are no longer needed, tasks that are done are not affected
+	 *
+	 * @param pTasks
+	 * 		The tasks that should be cancelled
+	 */
+	static void cancel(final List<? extends FutureTask<?>> pTasks) {
+		for (FutureTask<?> task : pTasks) {
+			task.cancel(false);
+		}
+	}
+}
@@ -25,6 +25,14 @@ public interface Flavor {
 	 */
 	List<InlineRule> getInlineRules();
 
+	/**
+	 * @return Returns the parser that splits inline Markdown into MarkdownStrings, by default a
+	 * {@link RegexInlineParser} for the rules of {@link #getInlineRules()}
+	 */
+	default InlineParser getInlineParser() {
+		return new RegexInlineParser(getInlineRules());
+	}
+
 	/**
 	 * @return Returns the default Rule that should be used if no matching rule can be found for a piece of markdown
 	 */
@@ -28,48 +28,65 @@ import com.m2mobi.markymark.item.inline.MarkdownString;
 import com.m2mobi.markymark.item.inline.TextString;
 import com.m2mobi.markymark.rules.InlineRule;
 
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.regex.Matcher;
 
 /**
  * Converter for inline markdown items to {@link T}
  */
 public class InlineConverter<T> {
 
-	/** HashMap that maps MarkdownString items to display items */
-	private final Map<Class<? extends MarkdownString>, InlineDisplayItem<T, MarkdownString>> mMapping = new HashMap<>();
+	/** Maps MarkdownString classes to display items */
+	private final TypeDispatcher<InlineDisplayItem<T, MarkdownString>> mMapping = new TypeDispatcher<>();
 
-	/** List of InlineRules used to parse MarkdownStrings */
-	private List<InlineRule> mInlineRules;
+	/** Parser used to split content into MarkdownStrings */
+	private InlineParser mInlineParser;
 
 	/**
-	 * Sets the inline rules used to parse MarkdownStrings
+	 * Sets the inline rules used to parse MarkdownStrings, they are matched by a {@link RegexInlineParser}
 	 *
 	 * @param pInlineRules
 	 * 		List of inline rules
 	 */
 	public void setInlineRules(final List<InlineRule> pInlineRules) {
-		mInlineRules = pInlineRules;
+		mInlineParser = new RegexInlineParser(pInlineRules);
 	}
 
 	/**
-	 * Adds an {@link InlineDisplayItem}
+	 * Sets the parser used to split content into MarkdownStrings
+	 *
+	 * @param pInlineParser
+	 * 		The inline parser
+	 */
+	public void setInlineParser(final InlineParser pInlineParser) {
+		mInlineParser = pInlineParser;
+	}
+
+	/**
+	 * Adds an {@link InlineDisplayItem}, the MarkdownString class is read from the generic type of the
+	 * InlineDisplayItem. This doesn't work when the generic signature has been removed, like by R8 or ProGuard, use
+	 * {@link #addMapping(Class, InlineDisplayItem)} in that case.
 	 *
 	 * @param pInlineDisplayItem
 	 * 		the item to add.
 	 */
 	@SuppressWarnings("unchecked")
 	public final void addMapping(final InlineDisplayItem pInlineDisplayItem) {
-		final Type type = pInlineDisplayItem.getClass().getGenericInterfaces()[0];
+		addMapping(Converter.getMappedClass(pInlineDisplayItem.getClass(), InlineDisplayItem.class, 1), pInlineDisplayItem);
+	}
 
-		// Get the generic type from the interface
-		final Class<T> tClass = (Class<T>) ((ParameterizedType) type).getActualTypeArguments()[1];
-		mMapping.put((Class<? extends MarkdownString>) tClass, pInlineDisplayItem);
+	/**
+	 * Adds an {@link InlineDisplayItem} for a MarkdownString class, the InlineDisplayItem is also used for subclasses
+	 * of the class that have no mapping of their own
+	 *
+	 * @param pClass
+	 * 		The MarkdownString class that should be converted by the InlineDisplayItem
+	 * @param pInlineDisplayItem
+	 * 		the item to add.
+	 */
+	@SuppressWarnings("unchecked")
+	public final <O extends MarkdownString> void addMapping(final Class<O> pClass,
+			final InlineDisplayItem<T, ? super O> pInlineDisplayItem) {
+		mMapping.put(pClass, (InlineDisplayItem<T, MarkdownString>) pInlineDisplayItem);
 	}
 
 	/**
@@ -92,7 +109,7 @@ public class InlineConverter<T> {
 	 */
 	@SuppressWarnings("unchecked")
 	private InlineDisplayItem<T, MarkdownString> getDisplayItemForClass(final Class pClass) {
-		InlineDisplayItem displayItem = mMapping.get(pClass);
+		InlineDisplayItem<T, MarkdownString> displayItem = mMapping.get(pClass);
 		if (displayItem == null) {
 			throw new IllegalStateException("MarkdownItem not mapped to DisplayItem, use Converter.addMapping to add a map for: " +
 					pClass.toString());
@@ -101,77 +118,26 @@ public class InlineConverter<T> {
 	}
 
 	/**
-	 * TODO: Documentation
-	 * TODO: consider moving this to a more suitable class?
+	 * Splits the content into MarkdownStrings using the inline parser, text without inline Markdown becomes a
+	 * {@link TextString}
+	 *
+	 * @param pContent
+	 * 		The inline Markdown that should be parsed
+	 * @return The MarkdownStrings in the order in which they appear in the content
 	 */
 	public List<MarkdownString> parseContent(final String pContent) {
-		final List<MarkdownString> markdownStrings = new ArrayList<>();
-
-		String toCheck = pContent;
-		while (!toCheck.isEmpty()) {
-			MatchedRule matchedRule = findFirstMatch(toCheck);
-			if (matchedRule != null) {
-				if (matchedRule.mStart > 0) {
-					markdownStrings.add(new TextString(toCheck.substring(0, matchedRule.mStart), false));
-				}
-
-				String content = toCheck.substring(matchedRule.mStart, matchedRule.mEnd);
-				markdownStrings.add(matchedRule.mInlineRule.toMarkdownString(content));
-				toCheck = toCheck.substring(matchedRule.mEnd, toCheck.length());
-			} else if (!toCheck.isEmpty()) {
-				markdownStrings.add(new TextString(toCheck, false));
-				break;
-			}
-		}
-		return markdownStrings;
+		return mInlineParser.parseContent(pContent);
 	}
 
 	/**
-	 * Finds the first InlineRule that matches
+	 * Gets the children of a MarkdownString, they are parsed with the inline parser on the first call and kept by the
+	 * MarkdownString for later calls, see {@link InlineParser#getChildren(MarkdownString)}
 	 *
-	 * @param pMarkdown
-	 * 		String containing markdown
-	 * @return Returns a MatchedRule
-	 */
-	private MatchedRule findFirstMatch(String pMarkdown) {
-		MatchedRule currentMatch = null;
-		for (InlineRule inlineRule : mInlineRules) {
-			final Matcher matcher = inlineRule.getRegex().matcher(pMarkdown);
-			if (matcher.find()) {
-				MatchedRule matchedRule = new MatchedRule(inlineRule, matcher.start(), matcher.end());
-				if (currentMatch == null || currentMatch.isStartLower(matchedRule)) {
-					currentMatch = matchedRule;
-				}
-			}
-		}
-		return currentMatch;
-	}
-
-	/**
-	 * Class containing data about a matched rule
+	 * @param pMarkdownString
+	 * 		The MarkdownString whose content should be parsed
+	 * @return The MarkdownStrings in the content, an empty list if the MarkdownString has no children enabled
 	 */
-	private static class MatchedRule {
-
-		/** start position of the rule */
-		private int mStart;
-
-		/** end position of the rule */
-		private int mEnd;
-
-		/** The matching rule */
-		private InlineRule mInlineRule;
-
-		private MatchedRule(final InlineRule pInlineRule, final int pStart, final int pEnd) {
-			mInlineRule = pInlineRule;
-			mStart = pStart;
-			mEnd = pEnd;
-		}
-
-		/**
-		 * TODO: Documentation
-		 */
-		private boolean isStartLower(final MatchedRule pMatchedRule) {
-			return pMatchedRule.mStart < mStart;
-		}
+	public List<MarkdownString> getChildren(final MarkdownString pMarkdownString) {
+		return mInlineParser.getChildren(pMarkdownString);
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,67 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.markymark;
+
+import com.m2mobi.markymark.item.inline.MarkdownString;
+import com.m2mobi.markymark.item.inline.TextString;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Splits inline Markdown into {@link MarkdownString}s, used by the {@link InlineConverter} for the content of blocks
+ * and for the children of MarkdownStrings. Implementations must be usable from multiple threads.
+ */
+public interface InlineParser {
+
+	/**
+	 * Splits the content into MarkdownStrings, text without inline Markdown becomes a {@link TextString}
+	 *
+	 * @param pContent
+	 * 		The inline Markdown that should be parsed
+	 * @return The MarkdownStrings in the order in which they appear in the content
+	 */
+	List<MarkdownString> parseContent(String pContent);
+
+	/**
+	 * Gets the children of a MarkdownString. They are parsed on the first call and kept by the MarkdownString for later
+	 * calls with this parser, so strings of a block that is converted again aren't parsed again.
+	 *
+	 * @param pMarkdownString
+	 * 		The MarkdownString whose content should be parsed
+	 * @return The MarkdownStrings in the content, an empty list if the MarkdownString has no children enabled
+	 */
+	default List<MarkdownString> getChildren(final MarkdownString pMarkdownString) {
+		if (!pMarkdownString.isChildrenEnabled()) {
+			return Collections.emptyList();
+		}
+		List<MarkdownString> children = pMarkdownString.getKeptChildren(this);
+		if (children == null) {
+			children = Collections.unmodifiableList(parseContent(pMarkdownString.getContent()));
+			pMarkdownString.keepChildren(this, children);
+		}
+		return children;
+	}
+}
@@ -0,0 +1,227 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.markymark;
+
+import com.m2mobi.markymark.rules.InlineRule;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds the inline Markdown in a String by remembering the next match of every {@link InlineRule}. The rules are kept
+ * in a priority queue ordered by the start of their next match, after a match is consumed only the rules whose next
+ * match overlaps the consumed text are searched again.
+ * <p>
+ * Matches are the same as when every rule is searched again from the new position with a region that has opaque and
+ * anchoring bounds. A cached match is found from an earlier position, so it can only differ where the pattern looks
+ * before the start of the region: at the new position, through a lookbehind, an anchor or a word boundary. Rules with
+ * such a pattern are checked at the new position before their cached match is used, lookbehinds are assumed to look
+ * back at most one character.
+ */
+final class InlineScanner {
+
+	/** Marks a rule without a next match */
+	private static final int NO_MATCH = -1;
+
+	/** Matchers holding the next match of every rule */
+	private final Matcher[] mMatchers;
+
+	/**
+	 * Matchers that check whether a rule matches at the start of the region, null for rules whose pattern does not
+	 * look before the region
+	 */
+	private final Matcher[] mBoundaryMatchers;
+
+	/** Start of the next match of every rule, or {@link #NO_MATCH} */
+	private final int[] mStarts;
+
+	/** Index of the content from which the next match of every rule was last searched */
+	private final int[] mSearchPositions;
+
+	/** Rules whose next match overlaps consumed text, reused by every update */
+	private final int[] mOverlapped;
+
+	/** Rules with a next match, ordered by its start and then by the index of the rule */
+	private final PriorityQueue<Integer> mQueue;
+
+	/** Index of the content from which the next matches were found */
+	private int mPosition;
+
+	/**
+	 * @param pRules
+	 * 		The inline rules, when matches start at the same index the first rule wins
+	 * @param pContent
+	 * 		The content to scan
+	 * @param pFirstStart
+	 * 		Index before which no rule can match, the rules still see the content before it
+	 */
+	InlineScanner(final List<InlineRule> pRules, final CharSequence pContent, final int pFirstStart) {
+		mMatchers = new Matcher[pRules.size()];
+		mBoundaryMatchers = new Matcher[pRules.size()];
+		mStarts = new int[pRules.size()];
+		mSearchPositions = new int[pRules.size()];
+		mOverlapped = new int[pRules.size()];
+		mQueue = new PriorityQueue<>(Math.max(1, pRules.size()), new Comparator<Integer>() {
+
+			@Override
+			public int compare(final Integer pFirst, final Integer pSecond) {
+				final int first = mStarts[pFirst];
+				final int second = mStarts[pSecond];
+				if (first != second) {
+					return first < second ? -1 : 1;
+				}
+				return pFirst - pSecond;
+			}
+		});
+
+		for (int i = 0; i < mMatchers.length; i++) {
+			final Pattern pattern = pRules.get(i).getRegex();
+			mMatchers[i] = pattern.matcher(pContent);
+			if (looksBeforeRegion(pattern.pattern())) {
+				mBoundaryMatchers[i] = pattern.matcher(pContent);
+			}
+			if (mMatchers[i].find(pFirstStart)) {
+				mStarts[i] = mMatchers[i].start();
+				mQueue.add(i);
+			} else {
+				mStarts[i] = NO_MATCH;
+			}
+		}
+	}
+
+	/**
+	 * Finds the rule whose next match starts first at or after the given position
+	 *
+	 * @param pPosition
+	 * 		Index in the content from which to search, never before a previous position
+	 * @return Returns the index of the rule that matches first, or -1 if no rule matches. The match is held by
+	 * {@link #getMatcher(int)} until the next call.
+	 */
+	int next(final int pPosition) {
+		if (pPosition != mPosition) {
+			mPosition = pPosition;
+			update();
+		}
+		final Integer first = mQueue.peek();
+		return first == null ? -1 : first;
+	}
+
+	/**
+	 * @param pRule
+	 * 		Index of a rule
+	 * @return Returns the matcher holding the next match of the rule
+	 */
+	Matcher getMatcher(final int pRule) {
+		return mMatchers[pRule];
+	}
+
+	/**
+	 * Searches the rules whose next match starts before the new position again, and checks the rules that look before
+	 * the region at the new position
+	 */
+	private void update() {
+		int count = 0;
+		while (!mQueue.isEmpty() && mStarts[mQueue.peek()] < mPosition) {
+			mOverlapped[count++] = mQueue.poll();
+		}
+		for (int i = 0; i < count; i++) {
+			search(mOverlapped[i], mPosition);
+		}
+
+		for (int rule = 0; rule < mBoundaryMatchers.length; rule++) {
+			final Matcher boundaryMatcher = mBoundaryMatchers[rule];
+			if (boundaryMatcher == null || mSearchPositions[rule] == mPosition) {
+				continue;
+			}
+			if (mStarts[rule] == mPosition) {
+				// The match was found with the text before it in view, which may no longer match the same way
+				mQueue.remove(rule);
+				search(rule, mPosition);
+				continue;
+			}
+			boundaryMatcher.region(mPosition, boundaryMatcher.regionEnd());
+			if (boundaryMatcher.lookingAt()) {
+				if (mStarts[rule] != NO_MATCH) {
+					mQueue.remove(rule);
+				}
+				mBoundaryMatchers[rule] = mMatchers[rule];
+				mMatchers[rule] = boundaryMatcher;
+				mStarts[rule] = mPosition;
+				mQueue.add(rule);
+			}
+		}
+	}
+
+	/**
+	 * Searches the next match of a rule and adds the rule to the queue when it matches
+	 *
+	 * @param pRule
+	 * 		Index of the rule
+	 * @param pPosition
+	 * 		Index in the content from which to search
+	 */
+	private void search(final int pRule, final int pPosition) {
+		mSearchPositions[pRule] = pPosition;
+		final Matcher matcher = mMatchers[pRule];
+		matcher.region(pPosition, matcher.regionEnd());
+		if (matcher.find()) {
+			mStarts[pRule] = matcher.start();
+			mQueue.add(pRule);
+		} else {
+			mStarts[pRule] = NO_MATCH;
+		}
+	}
+
+	/**
+	 * Checks whether a pattern can look before the start of a match, through a lookbehind, an anchor or a word
+	 * boundary. This may report patterns that don't, which only costs a check per consumed match.
+	 *
+	 * @param pPattern
+	 * 		The regular expression
+	 * @return Returns true if the result of the pattern can depend on the text before the start of the region
+	 */
+	static boolean looksBeforeRegion(final String pPattern) {
+		for (int i = 0; i < pPattern.length(); i++) {
+			final char c = pPattern.charAt(i);
+			if (c == '^' && (i == 0 || pPattern.charAt(i - 1) != '[' || (i > 1 && pPattern.charAt(i - 2) == '\\'))) {
+				return true;
+			}
+			if (c == '(' && pPattern.startsWith("?<", i + 1)) {
+				return true;
+			}
+			if (c == '\\' && i + 1 < pPattern.length()) {
+				final char escaped = pPattern.charAt(i + 1);
+				if (escaped == 'b' || escaped == 'B' || escaped == 'G' || escaped == 'A') {
+					return true;
+				}
+				i++;
+			}
+		}
+		return false;
+	}
+}
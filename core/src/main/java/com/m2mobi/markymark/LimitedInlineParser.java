@@ -0,0 +1,115 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.markymark;
+
+import com.m2mobi.markymark.item.inline.MarkdownString;
+import com.m2mobi.markymark.item.inline.TextString;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link InlineParser} that applies the {@link ParseLimits} of a MarkyMark instance to another InlineParser. Content
+ * that exceeds the limits, or whose parsing is still running when the timeout passes, becomes a single
+ * {@link TextString}. Content parsed outside of a parse, like the children of a MarkdownString converted later on, gets
+ * a budget of its own. Children that were parsed while the timeout passed are not kept by their MarkdownString, as
+ * they may have become plain text.
+ */
+final class LimitedInlineParser implements InlineParser {
+
+	/** The parser that does the parsing */
+	private final InlineParser mInlineParser;
+
+	/** The limits of the MarkyMark instance */
+	private final ParseLimits mParseLimits;
+
+	LimitedInlineParser(final InlineParser pInlineParser, final ParseLimits pParseLimits) {
+		mInlineParser = pInlineParser;
+		mParseLimits = pParseLimits;
+	}
+
+	@Override
+	public List<MarkdownString> parseContent(final String pContent) {
+		final ParseBudget budget = ParseBudget.current();
+		if (budget != null) {
+			return parseContent(pContent, budget);
+		}
+		final ParseBudget previousBudget = ParseBudget.enter(mParseLimits, pContent.length(), null);
+		try {
+			return parseContent(pContent, ParseBudget.current());
+		} finally {
+			ParseBudget.exit(previousBudget);
+		}
+	}
+
+	@Override
+	public List<MarkdownString> getChildren(final MarkdownString pMarkdownString) {
+		if (!pMarkdownString.isChildrenEnabled()) {
+			return Collections.emptyList();
+		}
+		final List<MarkdownString> children = pMarkdownString.getKeptChildren(this);
+		if (children != null) {
+			return children;
+		}
+		final ParseBudget budget = ParseBudget.current();
+		if (budget != null) {
+			return getChildren(pMarkdownString, budget);
+		}
+		final ParseBudget previousBudget = ParseBudget.enter(mParseLimits, pMarkdownString.getContent().length(), null);
+		try {
+			return getChildren(pMarkdownString, ParseBudget.current());
+		} finally {
+			ParseBudget.exit(previousBudget);
+		}
+	}
+
+	/**
+	 * Parses the children of a MarkdownString, they are only kept when the timeout didn't pass
+	 */
+	private List<MarkdownString> getChildren(final MarkdownString pMarkdownString, final ParseBudget pBudget) {
+		final List<MarkdownString> children =
+				Collections.unmodifiableList(parseContent(pMarkdownString.getContent(), pBudget));
+		if (!pBudget.isExpired()) {
+			pMarkdownString.keepChildren(this, children);
+		}
+		return children;
+	}
+
+	private List<MarkdownString> parseContent(final String pContent, final ParseBudget pBudget) {
+		if (!pBudget.isPlainText(pContent)) {
+			try {
+				return mInlineParser.parseContent(pContent);
+			} catch (ParseLimits.DeadlineExceededException e) {
+				// The timeout passed while parsing, the content is plain text below
+			}
+		}
+		final List<MarkdownString> markdownStrings = new ArrayList<>(1);
+		if (!pContent.isEmpty()) {
+			markdownStrings.add(new TextString(pContent, false));
+		}
+		return markdownStrings;
+	}
+}
@@ -0,0 +1,193 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.markymark;
+
+import com.m2mobi.markymark.item.MarkdownItem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Parsed Markdown that can be edited, created with {@link MarkyMark#parseDocument(String)}.
+ * <p>
+ * The document keeps the first line of every block together with its {@link MarkdownItem} and converted item. An edit
+ * parses again from the block before the edited lines, because a rule may look at the line after its block to decide
+ * where the block ends, until a block ends after the edited lines at a line where a block started before the edit.
+ * From there on the lines are the same as before, so the remaining blocks and their converted items are reused. Rules
+ * that need to look further ahead than the line after their block should not be used with this class.
+ */
+public class MarkdownDocument<T> {
+
+	/** The instance used to parse and convert blocks */
+	private final MarkyMark<T> mMarkyMark;
+
+	/** The current Markdown */
+	private String mMarkdown;
+
+	/** Line index of the current Markdown */
+	private MarkdownLines mMarkdownLines;
+
+	/** Index of the first line of every block, ascending */
+	private int[] mBlockStarts;
+
+	/** The MarkdownItem of every block */
+	private List<MarkdownItem> mMarkdownItems;
+
+	/** The converted item of every block */
+	private List<T> mItems;
+
+	MarkdownDocument(final MarkyMark<T> pMarkyMark, final String pMarkdown) {
+		mMarkyMark = pMarkyMark;
+		mMarkdown = pMarkdown;
+		mMarkdownLines = new MarkdownLines(pMarkdown);
+		mBlockStarts = new int[0];
+		mMarkdownItems = new ArrayList<>();
+		mItems = new ArrayList<>();
+		reparse(0, 0, Integer.MAX_VALUE, 0);
+	}
+
+	/**
+	 * @return the current Markdown
+	 */
+	public String getMarkdown() {
+		return mMarkdown;
+	}
+
+	/**
+	 * @return the converted items of the current Markdown
+	 */
+	public List<T> getItems() {
+		return Collections.unmodifiableList(mItems);
+	}
+
+	/**
+	 * @return the MarkdownItems of the current Markdown
+	 */
+	public List<MarkdownItem> getMarkdownItems() {
+		return Collections.unmodifiableList(mMarkdownItems);
+	}
+
+	/**
+	 * Replaces a range of the Markdown and parses the changed blocks again
+	 *
+	 * @param pStart
+	 * 		Offset of the first character that should be replaced, inclusive
+	 * @param pEnd
+	 * 		Offset of the last character that should be replaced, exclusive
+	 * @param pReplacement
+	 * 		The text that should be inserted, may be empty to delete the range
+	 */
+	public void replace(final int pStart, final int pEnd, final CharSequence pReplacement) {
+		if (pStart < 0 || pEnd > mMarkdown.length() || pStart > pEnd) {
+			throw new IndexOutOfBoundsException("start: " + pStart + ", end: " + pEnd + ", length: " + mMarkdown.length());
+		}
+		final MarkdownLines oldLines = mMarkdownLines;
+		final int firstChangedLine = oldLines.getLineAt(pStart);
+		final int lastChangedOldLine = oldLines.getLineAt(pEnd);
+
+		mMarkdown = new StringBuilder(mMarkdown.length() - (pEnd - pStart) + pReplacement.length())
+				.append(mMarkdown, 0, pStart)
+				.append(pReplacement)
+				.append(mMarkdown, pEnd, mMarkdown.length())
+				.toString();
+		mMarkdownLines = new MarkdownLines(mMarkdown);
+		final int lastChangedNewLine = mMarkdownLines.getLineAt(pStart + pReplacement.length());
+
+		// The block before the edited line may end differently as well, and blocks of lines that became trailing blank
+		// lines are gone
+		final int restartBlock = blockAt(Math.max(0, Math.min(firstChangedLine - 1, mMarkdownLines.getLineCount() - 1)));
+		final int restartLine = restartBlock < mBlockStarts.length ? mBlockStarts[restartBlock] : 0;
+		reparse(restartBlock, restartLine, lastChangedNewLine, lastChangedNewLine - lastChangedOldLine);
+	}
+
+	/**
+	 * Parses blocks from the given block until the blocks line up with the previous parse again
+	 *
+	 * @param pBlock
+	 * 		Index of the first block that should be parsed again
+	 * @param pLine
+	 * 		Index of the first line of that block
+	 * @param pLastChangedLine
+	 * 		Index of the last edited line in the current Markdown
+	 * @param pLineDelta
+	 * 		Amount of lines added by the edit, negative when lines were removed
+	 */
+	private void reparse(final int pBlock, final int pLine, final int pLastChangedLine, final int pLineDelta) {
+		final List<MarkdownItem> markdownItems = new ArrayList<>(mMarkdownItems.subList(0, pBlock));
+		final List<T> items = new ArrayList<>(mItems.subList(0, pBlock));
+		int[] blockStarts = Arrays.copyOf(mBlockStarts, Math.max(pBlock + 16, mBlockStarts.length));
+
+		final MarkdownLines lines = mMarkdownLines.startingAt(pLine);
+		int reusedBlock = -1;
+		final ParseBudget previousBudget = mMarkyMark.enterBudget(mMarkdown.length(), null);
+		try {
+			while (!lines.isEmpty()) {
+				final int position = lines.getPosition();
+				if (position > pLastChangedLine) {
+					reusedBlock = Arrays.binarySearch(mBlockStarts, position - pLineDelta);
+					if (reusedBlock >= 0) {
+						break;
+					}
+				}
+				if (markdownItems.size() == blockStarts.length) {
+					blockStarts = Arrays.copyOf(blockStarts, blockStarts.length * 2);
+				}
+				blockStarts[markdownItems.size()] = position;
+				final MarkdownItem markdownItem = mMarkyMark.parseBlock(lines);
+				markdownItems.add(markdownItem);
+				items.add(mMarkyMark.convert(markdownItem));
+			}
+		} finally {
+			ParseBudget.exit(previousBudget);
+		}
+
+		int count = markdownItems.size();
+		if (reusedBlock >= 0) {
+			final int reused = mBlockStarts.length - reusedBlock;
+			blockStarts = Arrays.copyOf(blockStarts, Math.max(blockStarts.length, count + reused));
+			for (int i = 0; i < reused; i++) {
+				blockStarts[count + i] = mBlockStarts[reusedBlock + i] + pLineDelta;
+			}
+			markdownItems.addAll(mMarkdownItems.subList(reusedBlock, mMarkdownItems.size()));
+			items.addAll(mItems.subList(reusedBlock, mItems.size()));
+			count += reused;
+		}
+
+		mBlockStarts = Arrays.copyOf(blockStarts, count);
+		mMarkdownItems = markdownItems;
+		mItems = items;
+	}
+
+	/**
+	 * @return the index of the block containing the given line, the first block always starts at line 0. Markdown of
+	 * only blank lines has no blocks, in that case parsing restarts at block 0.
+	 */
+	private int blockAt(final int pLine) {
+		final int index = Arrays.binarySearch(mBlockStarts, pLine);
+		return index >= 0 ? index : Math.max(0, -index - 2);
+	}
+}
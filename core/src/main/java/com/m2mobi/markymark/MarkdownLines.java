@@ -4,60 +4,199 @@
 
 package com.m2mobi.markymark;
 
-import com.m2mobi.markymark.rules.Rule;
-
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.AbstractList;
 import java.util.List;
+import java.util.RandomAccess;
 
 /**
- * Holder for the markdown that should be rendered
+ * Holder for the markdown that should be rendered. The markdown is indexed once into line offsets and consumed by
+ * moving a start cursor, lines are handed to rules as {@link CharSequence} slices of the original markdown.
  */
-class MarkdownLines {
+class MarkdownLines implements MarkdownSource {
+
+	/** Initial capacity of the line offsets, grows when needed */
+	private static final int INITIAL_CAPACITY = 64;
+
+	/** The markdown, lines are sliced from this without copying */
+	private final CharSequence mMarkdown;
+
+	/** Start and end offsets of every line in the markdown, line i spans [mOffsets[2i], mOffsets[2i + 1]) */
+	private final int[] mOffsets;
+
+	/** The amount of lines in the markdown */
+	private final int mLineCount;
+
+	/** Index of the first line that has not been consumed by a rule yet */
+	private int mStart = 0;
 
-	/** List of Strings containing the markdown to render */
-	private List<String> mLines;
+	MarkdownLines(final CharSequence pMarkdown) {
+		mMarkdown = pMarkdown;
 
-	MarkdownLines(final String pMarkdown) {
-		mLines = new ArrayList<>(Arrays.asList(pMarkdown.split("\n")));
+		final int length = pMarkdown.length();
+		int[] offsets = new int[INITIAL_CAPACITY];
+		int count = 0;
+		int lineStart = 0;
+		for (int i = 0; i <= length; i++) {
+			final char c = i < length ? pMarkdown.charAt(i) : '\n';
+			if (c != '\n' && c != '\r') {
+				continue;
+			}
+			if (2 * count + 2 > offsets.length) {
+				final int[] grown = new int[offsets.length * 2];
+				System.arraycopy(offsets, 0, grown, 0, offsets.length);
+				offsets = grown;
+			}
+			offsets[2 * count] = lineStart;
+			offsets[2 * count + 1] = i;
+			count++;
+			// Treat \r\n as a single line break
+			if (c == '\r' && i + 1 < length && pMarkdown.charAt(i + 1) == '\n') {
+				i++;
+			}
+			lineStart = i + 1;
+		}
+
+		// Trailing empty lines are ignored, except for empty markdown which is a single empty line
+		while (length > 0 && count > 0 && offsets[2 * count - 2] == offsets[2 * count - 1]) {
+			count--;
+		}
+		mOffsets = offsets;
+		mLineCount = count;
 	}
 
 	/**
-	 * Removes the amount of lines a rule has consumed from markdown that should be rendered
+	 * Creates a cursor on the same indexed markdown
 	 *
-	 * @param pRule
-	 * 		Rule for which the consumed lines should be removed.
+	 * @param pMarkdownLines
+	 * 		The lines whose index should be shared
+	 * @param pStart
+	 * 		Index of the first line that has not been consumed yet
 	 */
-	void removeLinesForRule(final Rule pRule) {
-		for (int i = 0; i < pRule.getLinesConsumed(); i++) {
-			mLines.remove(0);
-		}
+	private MarkdownLines(final MarkdownLines pMarkdownLines, final int pStart) {
+		mMarkdown = pMarkdownLines.mMarkdown;
+		mOffsets = pMarkdownLines.mOffsets;
+		mLineCount = pMarkdownLines.mLineCount;
+		mStart = Math.min(pStart, mLineCount);
 	}
 
 	/**
-	 * @return true if there are no markdown lines left
+	 * Creates an independent cursor on the same markdown without indexing it again
+	 *
+	 * @param pLine
+	 * 		Index of the first line the new cursor should return
+	 * @return MarkdownLines starting at the given line
 	 */
-	boolean isEmpty() {
-		return mLines.isEmpty();
+	MarkdownLines startingAt(final int pLine) {
+		return new MarkdownLines(this, pLine);
 	}
 
 	/**
-	 * Gets the lines of markdown that should be rendered
-	 *
-	 * @return Returns a List of Strings containing markdown.
+	 * @return the index of the first line that has not been consumed yet
 	 */
-	List<String> getLines() {
-		return mLines;
+	int getPosition() {
+		return mStart;
 	}
 
 	/**
-	 * Returns a given amount of lines
+	 * @return the amount of lines in the markdown, including the consumed lines
+	 */
+	int getLineCount() {
+		return mLineCount;
+	}
+
+	/**
+	 * Finds the line that contains a character of the markdown, a line break belongs to the line it ends
 	 *
-	 * @param pCount
-	 * 		The amount of lines that should be returned
-	 * @return List of Strings
+	 * @param pOffset
+	 * 		Offset of a character in the markdown
+	 * @return Index of the line containing the character, or the amount of lines if it comes after the last line,
+	 * 0 when the markdown only consists of blank lines
+	 */
+	int getLineAt(final int pOffset) {
+		if (mLineCount == 0) {
+			return 0;
+		}
+		if (pOffset > mOffsets[2 * mLineCount - 1]) {
+			return mLineCount;
+		}
+		int low = 0;
+		int high = mLineCount - 1;
+		while (low < high) {
+			final int middle = (low + high + 1) >>> 1;
+			if (mOffsets[2 * middle] <= pOffset) {
+				low = middle;
+			} else {
+				high = middle - 1;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * @param pLine
+	 * 		Index of a line in the markdown
+	 * @return true if the line is empty
 	 */
-	List<String> getLines(int pCount) {
-		return mLines.subList(0, pCount);
+	boolean isEmptyLine(final int pLine) {
+		return mOffsets[2 * pLine] == mOffsets[2 * pLine + 1];
+	}
+
+	@Override
+	public void removeLines(final int pCount) {
+		mStart = Math.min(mStart + pCount, mLineCount);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return mStart >= mLineCount;
+	}
+
+	@Override
+	public List<CharSequence> getLines() {
+		return new Lines(mStart, mLineCount);
+	}
+
+	@Override
+	public List<CharSequence> getLines(final int pCount) {
+		return new Lines(mStart, Math.min(mStart + pCount, mLineCount));
+	}
+
+	/**
+	 * Read-only view on a range of lines, every line is created as a slice of the markdown when it is requested
+	 */
+	private class Lines extends AbstractList<CharSequence> implements RandomAccess {
+
+		/** Index of the first line of this view, inclusive */
+		private final int mFrom;
+
+		/** Index of the last line of this view, exclusive */
+		private final int mTo;
+
+		private Lines(final int pFrom, final int pTo) {
+			mFrom = pFrom;
+			mTo = pTo;
+		}
+
+		@Override
+		public CharSequence get(final int pIndex) {
+			if (pIndex < 0 || pIndex >= size()) {
+				throw new IndexOutOfBoundsException("index: " + pIndex + ", size: " + size());
+			}
+			final int line = mFrom + pIndex;
+			return new CharSequenceSlice(mMarkdown, mOffsets[2 * line], mOffsets[2 * line + 1]);
+		}
+
+		@Override
+		public int size() {
+			return mTo - mFrom;
+		}
+
+		@Override
+		public List<CharSequence> subList(final int pFromIndex, final int pToIndex) {
+			if (pFromIndex < 0 || pToIndex > size() || pFromIndex > pToIndex) {
+				throw new IndexOutOfBoundsException("from: " + pFromIndex + ", to: " + pToIndex + ", size: " + size());
+			}
+			return new Lines(mFrom + pFromIndex, mFrom + pToIndex);
+		}
 	}
 }
\ No newline at end of file
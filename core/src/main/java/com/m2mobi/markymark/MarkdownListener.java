@@ -0,0 +1,122 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.markymark;
+
+import com.m2mobi.markymark.item.ListContainer;
+import com.m2mobi.markymark.item.MarkdownItem;
+import com.m2mobi.markymark.item.inline.MarkdownString;
+
+/**
+ * Listener that receives parse events from {@link MarkyMark} instead of converted items. Events are sent while parsing,
+ * block by block, so a document can be processed without keeping its items or converting them. The rules still create
+ * a {@link MarkdownItem} for every block and a {@link MarkdownString} for every inline span, they are passed to the
+ * events and can be collected once the events of their block have been sent.
+ * All methods have an empty default implementation so only the events of interest need to be implemented.
+ */
+public interface MarkdownListener {
+
+	/**
+	 * Called when a block of markdown has been parsed, before the events for its inline content
+	 *
+	 * @param pMarkdownItem
+	 * 		The item created for the block
+	 */
+	default void onBlockStart(MarkdownItem pMarkdownItem) {
+	}
+
+	/**
+	 * Called when a list of a {@link ListContainer} block starts, before the events of its items. Lists nested in an
+	 * item start after the inline events of the item text.
+	 *
+	 * @param pList
+	 * 		The list
+	 * @param pDepth
+	 * 		Amount of lists the list is nested in, 0 for the list of the block
+	 */
+	default void onListStart(MarkdownItem pList, int pDepth) {
+	}
+
+	/**
+	 * Called when an item of a list starts, the inline events of its text and the events of the lists nested in it
+	 * follow before {@link #onListItemEnd} is called
+	 *
+	 * @param pIndex
+	 * 		Index of the item in its list
+	 * @param pDepth
+	 * 		Amount of lists the list containing the item is nested in
+	 */
+	default void onListItemStart(int pIndex, int pDepth) {
+	}
+
+	/**
+	 * Called when an item of a list and the lists nested in it have been sent
+	 *
+	 * @param pIndex
+	 * 		Index of the item in its list
+	 * @param pDepth
+	 * 		Amount of lists the list containing the item is nested in
+	 */
+	default void onListItemEnd(int pIndex, int pDepth) {
+	}
+
+	/**
+	 * Called when a list, its items and their nested lists have been sent
+	 *
+	 * @param pList
+	 * 		The list
+	 * @param pDepth
+	 * 		Amount of lists the list is nested in
+	 */
+	default void onListEnd(MarkdownItem pList, int pDepth) {
+	}
+
+	/**
+	 * Called when an inline markdown string starts, the events of its children follow before {@link #onInlineEnd}
+	 * is called. Strings that can not contain children, such as text, only hold plain content.
+	 *
+	 * @param pMarkdownString
+	 * 		The inline markdown string
+	 */
+	default void onInlineStart(MarkdownString pMarkdownString) {
+	}
+
+	/**
+	 * Called when an inline markdown string and all of its children have been sent
+	 *
+	 * @param pMarkdownString
+	 * 		The inline markdown string
+	 */
+	default void onInlineEnd(MarkdownString pMarkdownString) {
+	}
+
+	/**
+	 * Called after the events for the inline content of a block have been sent
+	 *
+	 * @param pMarkdownItem
+	 * 		The item created for the block
+	 */
+	default void onBlockEnd(MarkdownItem pMarkdownItem) {
+	}
+}
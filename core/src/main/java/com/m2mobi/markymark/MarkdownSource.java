@@ -0,0 +1,62 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.markymark;
+
+import java.util.List;
+
+/**
+ * Source of the markdown lines that should be rendered, lines are consumed from the start as rules convert them
+ */
+interface MarkdownSource {
+
+	/**
+	 * Removes the lines a rule has consumed from markdown that should be rendered
+	 *
+	 * @param pCount
+	 * 		The amount of lines that should be removed
+	 */
+	void removeLines(int pCount);
+
+	/**
+	 * @return true if there are no markdown lines left
+	 */
+	boolean isEmpty();
+
+	/**
+	 * Gets the lines of markdown that should be rendered
+	 *
+	 * @return Returns a view of the remaining lines of markdown.
+	 */
+	List<CharSequence> getLines();
+
+	/**
+	 * Returns a given amount of lines
+	 *
+	 * @param pCount
+	 * 		The amount of lines that should be returned
+	 * @return List of the first pCount remaining lines
+	 */
+	List<CharSequence> getLines(int pCount);
+}
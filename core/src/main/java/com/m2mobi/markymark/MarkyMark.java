@@ -4,29 +4,59 @@
 
 package com.m2mobi.markymark;
 
+import com.m2mobi.markymark.item.InlineContainer;
+import com.m2mobi.markymark.item.ListContainer;
 import com.m2mobi.markymark.item.MarkdownItem;
-import com.m2mobi.markymark.rules.InlineRule;
+import com.m2mobi.markymark.item.inline.MarkdownString;
 import com.m2mobi.markymark.rules.Rule;
+import com.m2mobi.markymark.rules.RuleMatch;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * MarkyMark, use the {@link Builder} to create instances
  */
 public class MarkyMark<T> {
 
+	/** Charset used to read Markdown from an InputStream */
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
 	/** List of rules that should be used to initialize the parser */
-	private List<Rule> mRules = new ArrayList<>();
+	private final List<Rule> mRules = new ArrayList<>();
+
+	/** Dispatch table with the rules that could match a line, per first character */
+	private final RuleDispatcher mRuleDispatcher;
 
 	/** Rule that should be used as a default fallback */
-	private Rule mDefaultRule;
+	private final Rule mDefaultRule;
 
 	/** Converter used to convert MarkdownItems to {@link T} */
-	private Converter<T> mConverter;
+	private final Converter<T> mConverter;
 
 	/** InlineConverter used to convert MarkdownStrings */
-	private InlineConverter mInlineConverter;
+	private final InlineConverter mInlineConverter;
+
+	/** InlineParser used to send the inline events of a parse to a {@link MarkdownListener} */
+	private final InlineParser mInlineParser;
+
+	/** Parses the blocks of long documents in parallel, {@code null} when no Executor has been set */
+	private final ParallelBlockParser mParallelBlockParser;
+
+	/** Converts MarkdownItems in parallel, {@code null} when no Executor has been set */
+	private final ParallelConverter<T> mParallelConverter;
+
+	/** Cache for the MarkdownItems of parsed Markdown, {@code null} when no cache has been set */
+	private final ParseCache mParseCache;
+
+	/** Limits applied while parsing, {@code null} when no limits have been set */
+	private final ParseLimits mParseLimits;
 
 	/**
 	 * Creates a new instance of MarkyMark using the Builders parameters
@@ -36,46 +66,371 @@ public class MarkyMark<T> {
 	 */
 	private MarkyMark(final Builder<T> pBuilder) {
 		mRules.addAll(pBuilder.mRules);
+		mRuleDispatcher = new RuleDispatcher(mRules);
 		mDefaultRule = pBuilder.mDefaultRule;
 		mConverter = pBuilder.mConverter;
 		mInlineConverter = pBuilder.mInlineConverter;
-		mInlineConverter.setInlineRules(pBuilder.mInlineRules);
+		mParseLimits = pBuilder.mParseLimits;
+		mInlineParser = mParseLimits != null
+				? new LimitedInlineParser(pBuilder.mInlineParser, mParseLimits)
+				: pBuilder.mInlineParser;
+		mInlineConverter.setInlineParser(mInlineParser);
+		mParallelBlockParser = pBuilder.mExecutor != null ? new ParallelBlockParser(this, pBuilder.mExecutor) : null;
+		mParallelConverter = pBuilder.mExecutor != null
+				? new ParallelConverter<>(mConverter, mInlineConverter, pBuilder.mExecutor)
+				: null;
+		mParseCache = pBuilder.mParseCache;
 	}
 
 	/**
-	 * Parse the Markdown
+	 * Parse the Markdown, when an Executor has been set the blocks of long documents are parsed and converted in parallel
+	 * and when a ParseCache has been set Markdown that has been parsed before is only converted. Markdown of which a part
+	 * has been parsed as plain text because the timeout of the {@link ParseLimits} passed is not cached.
 	 *
 	 * @param pMarkdownString
 	 * 		The Markdown String that should be parsed
 	 * @return An array of Markdown items
 	 */
 	public List<T> parseMarkdown(final String pMarkdownString) {
+		return parseMarkdownCancellable(pMarkdownString, null);
+	}
+
+	/**
+	 * Parse the Markdown like {@link #parseMarkdown(String)}, the parse stops when the token is cancelled. Use this for
+	 * Markdown parsed in the background whose result may no longer be needed by the time it is done.
+	 *
+	 * @param pMarkdownString
+	 * 		The Markdown String that should be parsed
+	 * @param pCancellationToken
+	 * 		Token with which the parse can be cancelled, may be {@code null}
+	 * @return An array of Markdown items
+	 * @throws CancellationToken.ParseCancelledException
+	 * 		When the token has been cancelled before the parse completed
+	 */
+	public List<T> parseMarkdownCancellable(final String pMarkdownString, final CancellationToken pCancellationToken) {
+		final ParseBudget previousBudget = enterBudget(pMarkdownString.length(), pCancellationToken);
+		try {
+			List<MarkdownItem> markdownItems = mParseCache != null ? mParseCache.get(pMarkdownString) : null;
+			if (markdownItems == null) {
+				markdownItems = parseBlocks(pMarkdownString);
+				if (mParseCache != null && !ParseLimits.isDeadlineExceeded()) {
+					markdownItems = mParseCache.put(pMarkdownString, markdownItems);
+				}
+			}
+
+			if (mParallelConverter != null) {
+				return mParallelConverter.convert(markdownItems);
+			}
+			return mConverter.convert(markdownItems, mInlineConverter);
+		} finally {
+			ParseBudget.exit(previousBudget);
+		}
+	}
+
+	/**
+	 * Parses all blocks of the Markdown, in parallel when an Executor has been set
+	 *
+	 * @param pMarkdownString
+	 * 		The Markdown String that should be parsed
+	 * @return The MarkdownItems of all blocks
+	 */
+	private List<MarkdownItem> parseBlocks(final String pMarkdownString) {
 		MarkdownLines markdownLines = new MarkdownLines(pMarkdownString);
-		List<MarkdownItem> markdownItems = new ArrayList<>();
+		if (mParallelBlockParser != null) {
+			return mParallelBlockParser.parse(markdownLines);
+		}
 
+		List<MarkdownItem> markdownItems = new ArrayList<>();
 		while (!markdownLines.isEmpty()) {
-			Rule rule = getRuleForLines(markdownLines.getLines());
-			markdownItems.add(rule.toMarkdownItem(markdownLines.getLines(rule.getLinesConsumed())));
-			markdownLines.removeLinesForRule(rule);
+			markdownItems.add(parseBlock(markdownLines));
+		}
+		return markdownItems;
+	}
+
+	/**
+	 * Parse the Markdown while it is being read, every item is converted and passed to the consumer as soon as its
+	 * block of Markdown has been parsed. Only the lines needed to parse the current block are kept in memory.
+	 *
+	 * @param pReader
+	 * 		Reader from which the Markdown is read, the reader is not closed
+	 * @param pConsumer
+	 * 		Consumer that receives the converted items in order
+	 * @throws IOException
+	 * 		When reading from the reader fails
+	 */
+	public void parseMarkdown(final Reader pReader, final ItemConsumer<T> pConsumer) throws IOException {
+		parseMarkdownCancellable(pReader, pConsumer, null);
+	}
+
+	/**
+	 * Parse the Markdown while it is being read like {@link #parseMarkdown(Reader, ItemConsumer)}, the parse stops when
+	 * the token is cancelled. The items passed to the consumer before that are not taken back.
+	 *
+	 * @param pReader
+	 * 		Reader from which the Markdown is read, the reader is not closed
+	 * @param pConsumer
+	 * 		Consumer that receives the converted items in order
+	 * @param pCancellationToken
+	 * 		Token with which the parse can be cancelled, may be {@code null}
+	 * @throws IOException
+	 * 		When reading from the reader fails
+	 * @throws CancellationToken.ParseCancelledException
+	 * 		When the token has been cancelled before the parse completed
+	 */
+	public void parseMarkdownCancellable(final Reader pReader, final ItemConsumer<T> pConsumer,
+			final CancellationToken pCancellationToken) throws IOException {
+		ReaderMarkdownLines markdownLines = new ReaderMarkdownLines(pReader);
+		final ParseBudget previousBudget = enterBudget(0, pCancellationToken);
+		try {
+			while (!markdownLines.isEmpty()) {
+				pConsumer.accept(mConverter.convert(parseBlock(markdownLines), mInlineConverter));
+			}
+		} catch (ReaderMarkdownLines.ReadException e) {
+			throw e.getCause();
+		} finally {
+			ParseBudget.exit(previousBudget);
+		}
+	}
+
+	/**
+	 * Parse the UTF-8 encoded Markdown while it is being read, see {@link #parseMarkdown(Reader, ItemConsumer)}
+	 *
+	 * @param pInputStream
+	 * 		InputStream from which the Markdown is read, the stream is not closed
+	 * @param pConsumer
+	 * 		Consumer that receives the converted items in order
+	 * @throws IOException
+	 * 		When reading from the stream fails
+	 */
+	public void parseMarkdown(final InputStream pInputStream, final ItemConsumer<T> pConsumer) throws IOException {
+		parseMarkdown(new InputStreamReader(pInputStream, UTF_8), pConsumer);
+	}
+
+	/**
+	 * Parse the Markdown into a {@link MarkdownDocument} that can be edited, only the blocks around an edit are parsed
+	 * and converted again
+	 *
+	 * @param pMarkdownString
+	 * 		The Markdown String that should be parsed
+	 * @return The parsed document
+	 */
+	public MarkdownDocument<T> parseDocument(final String pMarkdownString) {
+		return new MarkdownDocument<>(this, pMarkdownString);
+	}
+
+	/**
+	 * Parse the Markdown and send the parse events to the listener instead of converting the items. The items and
+	 * MarkdownStrings of a block are still created, but they are not converted or kept after their events are sent.
+	 *
+	 * @param pMarkdownString
+	 * 		The Markdown String that should be parsed
+	 * @param pListener
+	 * 		Listener that receives the parse events
+	 */
+	public void parseMarkdown(final String pMarkdownString, final MarkdownListener pListener) {
+		MarkdownLines markdownLines = new MarkdownLines(pMarkdownString);
+		final ParseBudget previousBudget = enterBudget(pMarkdownString.length(), null);
+		try {
+			while (!markdownLines.isEmpty()) {
+				notifyBlock(parseBlock(markdownLines), pListener);
+			}
+		} finally {
+			ParseBudget.exit(previousBudget);
+		}
+	}
+
+	/**
+	 * Parse the Markdown while it is being read and send the parse events to the listener, see
+	 * {@link #parseMarkdown(Reader, ItemConsumer)}
+	 *
+	 * @param pReader
+	 * 		Reader from which the Markdown is read, the reader is not closed
+	 * @param pListener
+	 * 		Listener that receives the parse events
+	 * @throws IOException
+	 * 		When reading from the reader fails
+	 */
+	public void parseMarkdown(final Reader pReader, final MarkdownListener pListener) throws IOException {
+		ReaderMarkdownLines markdownLines = new ReaderMarkdownLines(pReader);
+		final ParseBudget previousBudget = enterBudget(0, null);
+		try {
+			while (!markdownLines.isEmpty()) {
+				notifyBlock(parseBlock(markdownLines), pListener);
+			}
+		} catch (ReaderMarkdownLines.ReadException e) {
+			throw e.getCause();
+		} finally {
+			ParseBudget.exit(previousBudget);
+		}
+	}
+
+	/**
+	 * Sends the events for a block and its inline content to the listener
+	 *
+	 * @param pMarkdownItem
+	 * 		The item created for the block
+	 * @param pListener
+	 * 		Listener that receives the parse events
+	 */
+	private void notifyBlock(final MarkdownItem pMarkdownItem, final MarkdownListener pListener) {
+		pListener.onBlockStart(pMarkdownItem);
+		if (pMarkdownItem instanceof ListContainer) {
+			((ListContainer) pMarkdownItem).accept(new ListNotifier(pListener));
+		} else if (pMarkdownItem instanceof InlineContainer) {
+			for (MarkdownString markdownString : ((InlineContainer) pMarkdownItem).getInlineContent()) {
+				notifyInline(markdownString, pListener);
+			}
 		}
+		pListener.onBlockEnd(pMarkdownItem);
+	}
 
-		return mConverter.convert(markdownItems, mInlineConverter);
+	/**
+	 * Sends the events for an inline markdown string and its children to the listener. The children are parsed
+	 * without being kept by the MarkdownString, as it is not used after its events are sent.
+	 *
+	 * @param pMarkdownString
+	 * 		The inline markdown string
+	 * @param pListener
+	 * 		Listener that receives the parse events
+	 */
+	private void notifyInline(final MarkdownString pMarkdownString, final MarkdownListener pListener) {
+		pListener.onInlineStart(pMarkdownString);
+		if (pMarkdownString.isChildrenEnabled()) {
+			for (MarkdownString child : mInlineParser.parseContent(pMarkdownString.getContent())) {
+				notifyInline(child, pListener);
+			}
+		}
+		pListener.onInlineEnd(pMarkdownString);
 	}
 
 	/**
-	 * Retrieves the first {@link Rule} that recognizes the syntax of the given lines
+	 * Starts the budget of a parse with the {@link ParseLimits} of this instance on the calling thread
 	 *
-	 * @param pLines
-	 * 		The lines that should be checked for syntax
-	 * @return The rule that should be used to parse the lines
+	 * @param pInputLength
+	 * 		Amount of characters of the Markdown that is parsed
+	 * @param pCancellationToken
+	 * 		Token with which the parse can be cancelled, may be {@code null}
+	 * @return Returns the budget that was running, which should be restored with {@link ParseBudget#exit(ParseBudget)}
 	 */
-	private Rule getRuleForLines(final List<String> pLines) {
-		for (Rule rule : mRules) {
-			if (rule.conforms(pLines)) {
-				return rule;
+	ParseBudget enterBudget(final int pInputLength, final CancellationToken pCancellationToken) {
+		return ParseBudget.enter(mParseLimits, pInputLength, pCancellationToken);
+	}
+
+	/**
+	 * Converts a single MarkdownItem with the Converter of this instance
+	 *
+	 * @param pMarkdownItem
+	 * 		The item that should be converted
+	 * @return The converted item
+	 */
+	T convert(final MarkdownItem pMarkdownItem) {
+		return mConverter.convert(pMarkdownItem, mInlineConverter);
+	}
+
+	/**
+	 * Parses the first block of the remaining Markdown and removes its lines. When the block exceeds the
+	 * {@link ParseLimits} of the current parse its first line is parsed as plain text with the default rule instead.
+	 *
+	 * @param pMarkdownSource
+	 * 		The remaining Markdown, may not be empty
+	 * @return The MarkdownItem created from the first block
+	 * @throws CancellationToken.ParseCancelledException
+	 * 		When the current parse has been cancelled
+	 */
+	MarkdownItem parseBlock(final MarkdownSource pMarkdownSource) {
+		final ParseBudget budget = ParseBudget.current();
+		if (budget == null) {
+			return matchBlock(pMarkdownSource, null);
+		}
+		budget.checkCancelled();
+		if (!budget.isPlainText(pMarkdownSource.getLines().get(0))) {
+			try {
+				return matchBlock(pMarkdownSource, budget);
+			} catch (ParseLimits.DeadlineExceededException e) {
+				// The timeout passed while matching, the block is parsed as plain text below
+			}
+		}
+		return toMarkdownItem(pMarkdownSource, mDefaultRule, RuleMatch.SINGLE_LINE, null);
+	}
+
+	/**
+	 * Finds the rule matching the first block of the remaining Markdown and creates its MarkdownItem
+	 *
+	 * @param pMarkdownSource
+	 * 		The remaining Markdown, may not be empty
+	 * @param pBudget
+	 * 		Budget of the current parse whose timeout the rules should respect, or {@code null}
+	 * @return The MarkdownItem created from the first block
+	 */
+	private MarkdownItem matchBlock(final MarkdownSource pMarkdownSource, final ParseBudget pBudget) {
+		final List<CharSequence> lines = pBudget != null
+				? pBudget.guard(pMarkdownSource.getLines())
+				: pMarkdownSource.getLines();
+		for (Rule rule : mRuleDispatcher.getCandidates(lines.get(0))) {
+			final RuleMatch match = rule.conforms(lines);
+			if (match != null) {
+				return toMarkdownItem(pMarkdownSource, rule, match, pBudget);
 			}
 		}
-		return mDefaultRule;
+		final RuleMatch defaultMatch = mDefaultRule.conforms(lines);
+		return toMarkdownItem(pMarkdownSource, mDefaultRule, defaultMatch != null ? defaultMatch : RuleMatch.SINGLE_LINE,
+				pBudget);
+	}
+
+	/**
+	 * Creates the MarkdownItem for a matched block and removes its lines
+	 *
+	 * @param pMarkdownSource
+	 * 		The remaining Markdown, starting with the matched block
+	 * @param pRule
+	 * 		The rule that matched the block
+	 * @param pMatch
+	 * 		The match of the rule, handed to the rule so it can reuse what it captured while matching
+	 * @param pBudget
+	 * 		Budget of the current parse whose timeout the rule should respect, or {@code null}
+	 * @return The MarkdownItem created from the block
+	 */
+	private MarkdownItem toMarkdownItem(final MarkdownSource pMarkdownSource, final Rule pRule, final RuleMatch pMatch,
+			final ParseBudget pBudget) {
+		final int linesConsumed = pMatch.getLinesConsumed();
+		final List<CharSequence> lines = pMarkdownSource.getLines(linesConsumed);
+		final MarkdownItem markdownItem = pRule.toMarkdownItem(pBudget != null ? pBudget.guard(lines) : lines, pMatch);
+		pMarkdownSource.removeLines(linesConsumed);
+		return markdownItem;
+	}
+
+	/**
+	 * Sends the events for a list, its items and their nested lists to a listener
+	 */
+	private final class ListNotifier implements ListContainer.ListVisitor {
+
+		/** Listener that receives the parse events */
+		private final MarkdownListener mListener;
+
+		private ListNotifier(final MarkdownListener pListener) {
+			mListener = pListener;
+		}
+
+		@Override
+		public void onListStart(final MarkdownItem pList, final int pDepth) {
+			mListener.onListStart(pList, pDepth);
+		}
+
+		@Override
+		public void onListItemStart(final MarkdownString pText, final int pIndex, final int pDepth) {
+			mListener.onListItemStart(pIndex, pDepth);
+			notifyInline(pText, mListener);
+		}
+
+		@Override
+		public void onListItemEnd(final int pIndex, final int pDepth) {
+			mListener.onListItemEnd(pIndex, pDepth);
+		}
+
+		@Override
+		public void onListEnd(final MarkdownItem pList, final int pDepth) {
+			mListener.onListEnd(pList, pDepth);
+		}
 	}
 
 	/**
@@ -95,8 +450,17 @@ public class MarkyMark<T> {
 		/** InlineConverter used to convert MarkdownStrings */
 		private InlineConverter mInlineConverter;
 
-		/** InlineRules used to parse MarkdownStrings */
-		private List<InlineRule> mInlineRules;
+		/** InlineParser used to parse MarkdownStrings */
+		private InlineParser mInlineParser;
+
+		/** Executor used to convert MarkdownItems in parallel, optional */
+		private Executor mExecutor;
+
+		/** Cache for the MarkdownItems of parsed Markdown, optional */
+		private ParseCache mParseCache;
+
+		/** Limits applied while parsing, optional */
+		private ParseLimits mParseLimits;
 
 		/**
 		 * Set the flavor that should be used to initialize the parser
@@ -108,7 +472,7 @@ public class MarkyMark<T> {
 		public Builder<T> addFlavor(final Flavor pFlavor) {
 			mRules.addAll(pFlavor.getRules());
 			mDefaultRule = pFlavor.getDefaultRule();
-			mInlineRules = pFlavor.getInlineRules();
+			mInlineParser = pFlavor.getInlineParser();
 			return this;
 		}
 
@@ -160,6 +524,48 @@ public class MarkyMark<T> {
 			return this;
 		}
 
+		/**
+		 * Set an {@link Executor}, like a {@link java.util.concurrent.ForkJoinPool}, that should be used to parse the
+		 * blocks and inline Markdown and convert the items of long documents in parallel. The calling thread helps with the
+		 * conversion, so the Executor may be busy or single threaded. Only set this when the Converter, its
+		 * DisplayItems and the InlineConverter can be used from any thread, which is not the case for DisplayItems that
+		 * create Android Views.
+		 *
+		 * @param pExecutor
+		 * 		The Executor used to convert MarkdownItems in parallel, or {@code null} to convert on the calling thread
+		 * @return This Builder
+		 */
+		public Builder<T> setExecutor(final Executor pExecutor) {
+			mExecutor = pExecutor;
+			return this;
+		}
+
+		/**
+		 * Set a {@link ParseCache} that should be used to skip parsing Markdown that has been parsed before, only the
+		 * conversion of the cached MarkdownItems is done again. A cache can be shared by instances with the same rules.
+		 *
+		 * @param pParseCache
+		 * 		The cache for parsed Markdown, or {@code null} to parse all Markdown
+		 * @return This Builder
+		 */
+		public Builder<T> setParseCache(final ParseCache pParseCache) {
+			mParseCache = pParseCache;
+			return this;
+		}
+
+		/**
+		 * Set the {@link ParseLimits} that should be applied while parsing, use these when parsing Markdown from
+		 * untrusted sources. The Markdown exceeding a limit is parsed as plain text.
+		 *
+		 * @param pParseLimits
+		 * 		The limits applied while parsing, or {@code null} to parse without limits
+		 * @return This Builder
+		 */
+		public Builder<T> setParseLimits(final ParseLimits pParseLimits) {
+			mParseLimits = pParseLimits;
+			return this;
+		}
+
 		/**
 		 * Builds an instance of MarkyMark and verifies fields
 		 *
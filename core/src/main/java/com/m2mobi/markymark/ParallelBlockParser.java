@@ -0,0 +1,195 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.markymark;
+
+import com.m2mobi.markymark.item.MarkdownItem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Parses the blocks of long documents in chunks on an {@link Executor}.
+ * <p>
+ * The document is split at empty lines roughly every {@link #CHUNK_LINES} lines and every chunk is parsed from its
+ * first line until a block ends at or after the start of the next chunk. Rules only look at the lines from the start of
+ * a block onwards, so a chunk that starts where the previous chunk ended yields exactly the blocks of a sequential
+ * parse. When a block of the previous chunk runs past the split, like a code block containing an empty line, parsing
+ * continues on the calling thread until it reaches a block start the chunk found as well and uses the chunk from
+ * there. The result is therefore always identical to parsing the document sequentially, unless the timeout of the
+ * {@link ParseLimits} passes, the chunks then continue with plain text on their own.
+ */
+final class ParallelBlockParser {
+
+	/** Minimum amount of lines in a chunk */
+	static final int CHUNK_LINES = 1024;
+
+	/** Parser used to parse a single block */
+	private final MarkyMark<?> mMarkyMark;
+
+	/** Executor that parses the chunks */
+	private final Executor mExecutor;
+
+	ParallelBlockParser(final MarkyMark<?> pMarkyMark, final Executor pExecutor) {
+		mMarkyMark = pMarkyMark;
+		mExecutor = pExecutor;
+	}
+
+	/**
+	 * Parses all blocks of the markdown
+	 *
+	 * @param pMarkdownLines
+	 * 		The markdown that should be parsed, starting at its first line
+	 * @return The MarkdownItems of all blocks in order
+	 */
+	List<MarkdownItem> parse(final MarkdownLines pMarkdownLines) {
+		final int[] chunkStarts = findChunkStarts(pMarkdownLines);
+		if (chunkStarts.length == 1) {
+			return parseChunk(pMarkdownLines, 0, pMarkdownLines.getLineCount()).mItems;
+		}
+
+		final ParseBudget budget = ParseBudget.current();
+		final List<FutureTask<Chunk>> chunks = new ArrayList<>(chunkStarts.length);
+		for (int i = 0; i < chunkStarts.length; i++) {
+			final int start = chunkStarts[i];
+			final int stop = i + 1 < chunkStarts.length ? chunkStarts[i + 1] : pMarkdownLines.getLineCount();
+			chunks.add(ExecutorTasks.submit(mExecutor, new Callable<Chunk>() {
+
+				@Override
+				public Chunk call() {
+					final ParseBudget previousBudget = ParseBudget.resume(budget);
+					try {
+						return parseChunk(pMarkdownLines, start, stop);
+					} finally {
+						ParseBudget.exit(previousBudget);
+					}
+				}
+			}));
+		}
+
+		try {
+			return merge(pMarkdownLines, chunks);
+		} finally {
+			ExecutorTasks.cancel(chunks);
+		}
+	}
+
+	/**
+	 * Joins the chunks in order, reparsing where a chunk didn't start at a block boundary of the sequential parse
+	 */
+	private List<MarkdownItem> merge(final MarkdownLines pMarkdownLines, final List<FutureTask<Chunk>> pChunks) {
+		final List<MarkdownItem> items = new ArrayList<>();
+		int position = 0;
+		for (FutureTask<Chunk> task : pChunks) {
+			final Chunk chunk = ExecutorTasks.join(task);
+			if (position >= chunk.mEnd) {
+				// A block of an earlier chunk spans this whole chunk
+				continue;
+			}
+			int index = chunk.indexOf(position);
+			if (index < 0) {
+				final MarkdownLines lines = pMarkdownLines.startingAt(position);
+				while (index < 0 && position < chunk.mEnd) {
+					items.add(mMarkyMark.parseBlock(lines));
+					position = lines.getPosition();
+					index = chunk.indexOf(position);
+				}
+			}
+			if (index >= 0) {
+				items.addAll(chunk.mItems.subList(index, chunk.mItems.size()));
+				position = chunk.mEnd;
+			}
+		}
+		return items;
+	}
+
+	/**
+	 * Parses blocks starting at a line until a block ends at or after the given stop line
+	 */
+	private Chunk parseChunk(final MarkdownLines pMarkdownLines, final int pStart, final int pStop) {
+		final MarkdownLines lines = pMarkdownLines.startingAt(pStart);
+		final List<MarkdownItem> items = new ArrayList<>();
+		int[] blockStarts = new int[64];
+		while (!lines.isEmpty() && lines.getPosition() < pStop) {
+			if (items.size() == blockStarts.length) {
+				blockStarts = Arrays.copyOf(blockStarts, blockStarts.length * 2);
+			}
+			blockStarts[items.size()] = lines.getPosition();
+			items.add(mMarkyMark.parseBlock(lines));
+		}
+		return new Chunk(items, blockStarts, lines.getPosition());
+	}
+
+	/**
+	 * Finds the lines at which chunks start, the first chunk starts at line 0 and every other chunk starts at the first
+	 * empty line at least {@link #CHUNK_LINES} lines after the start of the previous chunk
+	 */
+	private static int[] findChunkStarts(final MarkdownLines pMarkdownLines) {
+		final int lineCount = pMarkdownLines.getLineCount();
+		int[] starts = new int[1 + lineCount / CHUNK_LINES];
+		int count = 1;
+		int line = CHUNK_LINES;
+		while (line < lineCount) {
+			if (pMarkdownLines.isEmptyLine(line)) {
+				starts[count++] = line;
+				line += CHUNK_LINES;
+			} else {
+				line++;
+			}
+		}
+		return Arrays.copyOf(starts, count);
+	}
+
+	/**
+	 * Blocks parsed from a chunk of the markdown
+	 */
+	private static final class Chunk {
+
+		/** The items of the parsed blocks */
+		private final List<MarkdownItem> mItems;
+
+		/** Index of the first line of every parsed block, ascending */
+		private final int[] mBlockStarts;
+
+		/** Index of the first line after the last parsed block */
+		private final int mEnd;
+
+		private Chunk(final List<MarkdownItem> pItems, final int[] pBlockStarts, final int pEnd) {
+			mItems = pItems;
+			mBlockStarts = pBlockStarts;
+			mEnd = pEnd;
+		}
+
+		/**
+		 * @return the index of the block starting at the given line, or a negative value if no block starts there
+		 */
+		private int indexOf(final int pLine) {
+			return Arrays.binarySearch(mBlockStarts, 0, mItems.size(), pLine);
+		}
+	}
+}
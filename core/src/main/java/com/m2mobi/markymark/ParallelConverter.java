@@ -0,0 +1,99 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.markymark;
+
+import com.m2mobi.markymark.item.MarkdownItem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Converts MarkdownItems in batches on an {@link Executor}. Blocks don't depend on each other, so their inline parsing
+ * and conversion can run in parallel, the converted items are returned in the order of the MarkdownItems.
+ */
+final class ParallelConverter<T> {
+
+	/** Amount of MarkdownItems converted by a single task */
+	static final int BATCH_SIZE = 16;
+
+	/** Converter used to convert MarkdownItems */
+	private final Converter<T> mConverter;
+
+	/** InlineConverter passed to the Converter */
+	private final InlineConverter mInlineConverter;
+
+	/** Executor that runs the batches */
+	private final Executor mExecutor;
+
+	ParallelConverter(final Converter<T> pConverter, final InlineConverter pInlineConverter, final Executor pExecutor) {
+		mConverter = pConverter;
+		mInlineConverter = pInlineConverter;
+		mExecutor = pExecutor;
+	}
+
+	/**
+	 * Converts the MarkdownItems, documents that fit in a single batch are converted on the calling thread
+	 *
+	 * @param pMarkdownItems
+	 * 		The MarkdownItems that should be converted
+	 * @return The converted items in the same order as the MarkdownItems
+	 */
+	List<T> convert(final List<MarkdownItem> pMarkdownItems) {
+		if (pMarkdownItems.size() <= BATCH_SIZE) {
+			return mConverter.convert(pMarkdownItems, mInlineConverter);
+		}
+
+		final ParseBudget budget = ParseBudget.current();
+		final List<FutureTask<List<T>>> batches = new ArrayList<>();
+		for (int start = 0; start < pMarkdownItems.size(); start += BATCH_SIZE) {
+			final List<MarkdownItem> batch = pMarkdownItems.subList(start, Math.min(start + BATCH_SIZE, pMarkdownItems.size()));
+			batches.add(ExecutorTasks.submit(mExecutor, new Callable<List<T>>() {
+
+				@Override
+				public List<T> call() {
+					final ParseBudget previousBudget = ParseBudget.resume(budget);
+					try {
+						return mConverter.convert(batch, mInlineConverter);
+					} finally {
+						ParseBudget.exit(previousBudget);
+					}
+				}
+			}));
+		}
+
+		final List<T> convertedItems = new ArrayList<>(pMarkdownItems.size());
+		try {
+			for (FutureTask<List<T>> batch : batches) {
+				convertedItems.addAll(ExecutorTasks.join(batch));
+			}
+		} finally {
+			ExecutorTasks.cancel(batches);
+		}
+		return convertedItems;
+	}
+}
@@ -0,0 +1,347 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.markymark;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * The {@link ParseLimits} of a single parse, the moment its timeout passes and its {@link CancellationToken}. The
+ * budget of the running parse is kept per thread, so rules and inline parsers can read it without it being passed
+ * along, and tasks running part of the parse on an Executor resume the budget of the parse that submitted them.
+ */
+final class ParseBudget {
+
+	/** Amount of characters read from guarded Markdown between two checks of the timeout and cancellation */
+	static final int CHECK_INTERVAL = 1024;
+
+	/** Amount of guarded lines read between two checks of the timeout and cancellation */
+	static final int LINE_CHECK_INTERVAL = 64;
+
+	/** Budget of the parse running on each thread */
+	private static final ThreadLocal<ParseBudget> CURRENT = new ThreadLocal<>();
+
+	/** The limits of the parse */
+	private final ParseLimits mLimits;
+
+	/** Whether all Markdown should be parsed as plain text because the input is too long */
+	private final boolean mPlainText;
+
+	/** Whether the parse has a timeout */
+	private final boolean mHasDeadline;
+
+	/** Value of {@link System#nanoTime()} at which the timeout passes */
+	private final long mDeadline;
+
+	/** Token with which the parse can be cancelled, may be {@code null} */
+	private final CancellationToken mCancellationToken;
+
+	/** Whether the timeout has passed, once set it stays set */
+	private volatile boolean mExpired;
+
+	/**
+	 * @param pLimits
+	 * 		The limits of the parse
+	 * @param pInputLength
+	 * 		Amount of characters of the Markdown that is parsed
+	 * @param pCancellationToken
+	 * 		Token with which the parse can be cancelled, may be {@code null}
+	 */
+	ParseBudget(final ParseLimits pLimits, final int pInputLength, final CancellationToken pCancellationToken) {
+		mLimits = pLimits;
+		mCancellationToken = pCancellationToken;
+		mPlainText = pInputLength > pLimits.getMaxInputLength();
+		mHasDeadline = pLimits.getTimeoutMillis() > 0;
+		mDeadline = System.nanoTime() + pLimits.getTimeoutMillis() * 1000000L;
+	}
+
+	/**
+	 * @return the budget of the parse running on the calling thread, or {@code null} when it has no limits and no
+	 * cancellation token
+	 */
+	static ParseBudget current() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * Starts the budget of a parse on the calling thread, restore the previous budget with {@link #exit(ParseBudget)}
+	 * when the parse is done
+	 *
+	 * @param pLimits
+	 * 		The limits of the parse, or {@code null} for a parse without limits
+	 * @param pInputLength
+	 * 		Amount of characters of the Markdown that is parsed
+	 * @param pCancellationToken
+	 * 		Token with which the parse can be cancelled, or {@code null}
+	 * @return Returns the budget that was running on the calling thread
+	 */
+	static ParseBudget enter(final ParseLimits pLimits, final int pInputLength,
+			final CancellationToken pCancellationToken) {
+		if (pLimits == null && pCancellationToken == null) {
+			return resume(null);
+		}
+		return resume(new ParseBudget(pLimits != null ? pLimits : ParseLimits.NONE, pInputLength, pCancellationToken));
+	}
+
+	/**
+	 * Continues the budget of a parse on the calling thread, used by tasks that run part of a parse on an Executor
+	 *
+	 * @param pBudget
+	 * 		The budget of the parse, may be {@code null}
+	 * @return Returns the budget that was running on the calling thread
+	 */
+	static ParseBudget resume(final ParseBudget pBudget) {
+		final ParseBudget previous = CURRENT.get();
+		CURRENT.set(pBudget);
+		return previous;
+	}
+
+	/**
+	 * Restores the budget that was running before {@link #enter(ParseLimits, int, CancellationToken)} or
+	 * {@link #resume(ParseBudget)}
+	 *
+	 * @param pPrevious
+	 * 		The budget they returned
+	 */
+	static void exit(final ParseBudget pPrevious) {
+		if (pPrevious == null) {
+			CURRENT.remove();
+		} else {
+			CURRENT.set(pPrevious);
+		}
+	}
+
+	/**
+	 * @return the limits of the parse
+	 */
+	ParseLimits getLimits() {
+		return mLimits;
+	}
+
+	/**
+	 * @return the token with which the parse can be cancelled, may be {@code null}
+	 */
+	CancellationToken getCancellationToken() {
+		return mCancellationToken;
+	}
+
+	/**
+	 * @return whether the timeout of the parse has passed
+	 */
+	boolean isExpired() {
+		if (!mExpired && mHasDeadline && System.nanoTime() - mDeadline >= 0) {
+			mExpired = true;
+		}
+		return mExpired;
+	}
+
+	/**
+	 * @throws ParseLimits.DeadlineExceededException
+	 * 		When the timeout of the parse has passed
+	 */
+	void checkDeadline() {
+		if (isExpired()) {
+			throw new ParseLimits.DeadlineExceededException();
+		}
+	}
+
+	/**
+	 * @throws CancellationToken.ParseCancelledException
+	 * 		When the parse has been cancelled
+	 */
+	void checkCancelled() {
+		if (mCancellationToken != null) {
+			mCancellationToken.throwIfCancelled();
+		}
+	}
+
+	/**
+	 * Checks whether guarded Markdown may still be read
+	 *
+	 * @throws CancellationToken.ParseCancelledException
+	 * 		When the parse has been cancelled
+	 * @throws ParseLimits.DeadlineExceededException
+	 * 		When the timeout of the parse has passed
+	 */
+	void checkGuard() {
+		checkCancelled();
+		checkDeadline();
+	}
+
+	/**
+	 * Determines if Markdown starting with the given line should be parsed as plain text
+	 *
+	 * @param pLine
+	 * 		The first line of a block, or inline content
+	 * @return Returns true if the input is too long, the line is too long or the timeout has passed
+	 */
+	boolean isPlainText(final CharSequence pLine) {
+		return mPlainText || pLine.length() > mLimits.getMaxLineLength() || isExpired();
+	}
+
+	/**
+	 * Guards Markdown that is matched by a rule, so a slow match stops once the timeout has passed or the parse has
+	 * been cancelled
+	 *
+	 * @param pMarkdown
+	 * 		The Markdown to guard
+	 * @return Returns Markdown that throws a {@link ParseLimits.DeadlineExceededException} when it is read after the
+	 * timeout has passed and a {@link CancellationToken.ParseCancelledException} when it is read after the parse has
+	 * been cancelled, or the Markdown itself when the parse has no timeout and no cancellation token
+	 */
+	CharSequence guard(final CharSequence pMarkdown) {
+		return isGuarded() ? new GuardedSequence(pMarkdown, this) : pMarkdown;
+	}
+
+	/**
+	 * Guards lines of Markdown like {@link #guard(CharSequence)}
+	 *
+	 * @param pLines
+	 * 		The lines to guard
+	 * @return Returns a view of the lines that guards every line, or the lines themselves when the parse has no timeout
+	 * and no cancellation token
+	 */
+	List<CharSequence> guard(final List<CharSequence> pLines) {
+		return isGuarded() ? new GuardedLines(pLines, this) : pLines;
+	}
+
+	private boolean isGuarded() {
+		return mHasDeadline || mCancellationToken != null;
+	}
+
+	/**
+	 * CharSequence that checks the timeout and cancellation every {@link #CHECK_INTERVAL} characters read
+	 */
+	private static final class GuardedSequence implements CharSequence {
+
+		/** The guarded Markdown */
+		private final CharSequence mSequence;
+
+		/** The budget whose timeout is checked */
+		private final ParseBudget mBudget;
+
+		/** Amount of characters read until the next check */
+		private int mUntilCheck = CHECK_INTERVAL;
+
+		private GuardedSequence(final CharSequence pSequence, final ParseBudget pBudget) {
+			mSequence = pSequence;
+			mBudget = pBudget;
+		}
+
+		@Override
+		public int length() {
+			return mSequence.length();
+		}
+
+		@Override
+		public char charAt(final int pIndex) {
+			if (--mUntilCheck == 0) {
+				mUntilCheck = CHECK_INTERVAL;
+				mBudget.checkGuard();
+			}
+			return mSequence.charAt(pIndex);
+		}
+
+		@Override
+		public CharSequence subSequence(final int pStart, final int pEnd) {
+			// Sub sequences are taken of matched text, which has been read already
+			return mSequence.subSequence(pStart, pEnd);
+		}
+
+		@Override
+		public String toString() {
+			return mSequence.toString();
+		}
+	}
+
+	/**
+	 * View of lines that guards every line when it is read, and checks the timeout and cancellation every
+	 * {@link #LINE_CHECK_INTERVAL} lines read for rules that read many short lines. Iterating and checking for
+	 * emptiness are passed on to the lines, as lines that are read while they are parsed only know their size once all
+	 * input has been read.
+	 */
+	private static final class GuardedLines extends AbstractList<CharSequence> {
+
+		/** The guarded lines */
+		private final List<CharSequence> mLines;
+
+		/** The budget whose timeout is checked */
+		private final ParseBudget mBudget;
+
+		/** Amount of lines read until the next check */
+		private int mUntilCheck = LINE_CHECK_INTERVAL;
+
+		private GuardedLines(final List<CharSequence> pLines, final ParseBudget pBudget) {
+			mLines = pLines;
+			mBudget = pBudget;
+		}
+
+		@Override
+		public CharSequence get(final int pIndex) {
+			return guardLine(mLines.get(pIndex));
+		}
+
+		@Override
+		public int size() {
+			return mLines.size();
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return mLines.isEmpty();
+		}
+
+		@Override
+		public Iterator<CharSequence> iterator() {
+			final Iterator<CharSequence> lines = mLines.iterator();
+			return new Iterator<CharSequence>() {
+
+				@Override
+				public boolean hasNext() {
+					return lines.hasNext();
+				}
+
+				@Override
+				public CharSequence next() {
+					return guardLine(lines.next());
+				}
+
+				@Override
+				public void remove() {
+					throw new UnsupportedOperationException();
+				}
+			};
+		}
+
+		private CharSequence guardLine(final CharSequence pLine) {
+			if (--mUntilCheck == 0) {
+				mUntilCheck = LINE_CHECK_INTERVAL;
+				mBudget.checkGuard();
+			}
+			return new GuardedSequence(pLine, mBudget);
+		}
+	}
+}
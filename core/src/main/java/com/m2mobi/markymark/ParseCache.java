@@ -0,0 +1,221 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.markymark;
+
+import com.m2mobi.markymark.item.MarkdownItem;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache for the MarkdownItems of parsed Markdown, set with {@link MarkyMark.Builder#setParseCache(ParseCache)}.
+ * <p>
+ * The size of the cache is bound by the total length of the cached Markdown. Entries are spread over segments by the
+ * hash code of the Markdown, every segment has its own lock and evicts its least recently used entries, so threads
+ * looking up different documents rarely wait for each other. Markdown longer than the capacity of a segment is not
+ * cached. The cached MarkdownItems are shared between parses and should not be modified by converters.
+ */
+public final class ParseCache {
+
+	/** Default amount of segments */
+	private static final int DEFAULT_SEGMENTS = 16;
+
+	/** The segments, the amount is a power of two */
+	private final Segment[] mSegments;
+
+	/** Amount of lookups that found the Markdown */
+	private final AtomicLong mHitCount = new AtomicLong();
+
+	/** Amount of lookups that didn't find the Markdown */
+	private final AtomicLong mMissCount = new AtomicLong();
+
+	/** Amount of entries removed to stay within the capacity */
+	private final AtomicLong mEvictionCount = new AtomicLong();
+
+	/**
+	 * @param pMaxCharacters
+	 * 		The maximum total length of the cached Markdown
+	 */
+	public ParseCache(final long pMaxCharacters) {
+		this(pMaxCharacters, DEFAULT_SEGMENTS);
+	}
+
+	/**
+	 * @param pMaxCharacters
+	 * 		The maximum total length of the cached Markdown
+	 * @param pSegments
+	 * 		The amount of independently locked segments, rounded up to a power of two
+	 */
+	public ParseCache(final long pMaxCharacters, final int pSegments) {
+		if (pMaxCharacters <= 0) {
+			throw new IllegalArgumentException("Maximum amount of characters should be positive, was: " + pMaxCharacters);
+		}
+		if (pSegments <= 0) {
+			throw new IllegalArgumentException("Amount of segments should be positive, was: " + pSegments);
+		}
+		int segments = 1;
+		while (segments < pSegments) {
+			segments <<= 1;
+		}
+		mSegments = new Segment[segments];
+		for (int i = 0; i < segments; i++) {
+			mSegments[i] = new Segment(Math.max(1, pMaxCharacters / segments));
+		}
+	}
+
+	/**
+	 * Returns the cached MarkdownItems of the Markdown
+	 *
+	 * @param pMarkdown
+	 * 		The Markdown that has been parsed
+	 * @return The MarkdownItems, or {@code null} when the Markdown is not cached
+	 */
+	List<MarkdownItem> get(final String pMarkdown) {
+		final List<MarkdownItem> markdownItems = segmentFor(pMarkdown).get(pMarkdown);
+		(markdownItems != null ? mHitCount : mMissCount).incrementAndGet();
+		return markdownItems;
+	}
+
+	/**
+	 * Caches the MarkdownItems of the Markdown, evicting the least recently used entries of its segment when needed
+	 *
+	 * @param pMarkdown
+	 * 		The Markdown that has been parsed
+	 * @param pMarkdownItems
+	 * 		The MarkdownItems created from the Markdown
+	 * @return The cached, unmodifiable, list of MarkdownItems
+	 */
+	List<MarkdownItem> put(final String pMarkdown, final List<MarkdownItem> pMarkdownItems) {
+		final List<MarkdownItem> markdownItems = Collections.unmodifiableList(pMarkdownItems);
+		mEvictionCount.addAndGet(segmentFor(pMarkdown).put(pMarkdown, markdownItems));
+		return markdownItems;
+	}
+
+	/**
+	 * @return the amount of lookups that found the Markdown in the cache
+	 */
+	public long getHitCount() {
+		return mHitCount.get();
+	}
+
+	/**
+	 * @return the amount of lookups that didn't find the Markdown in the cache
+	 */
+	public long getMissCount() {
+		return mMissCount.get();
+	}
+
+	/**
+	 * @return the amount of entries that have been removed to stay within the capacity
+	 */
+	public long getEvictionCount() {
+		return mEvictionCount.get();
+	}
+
+	/**
+	 * @return the total length of the cached Markdown
+	 */
+	public long getWeight() {
+		long weight = 0;
+		for (Segment segment : mSegments) {
+			weight += segment.getWeight();
+		}
+		return weight;
+	}
+
+	/**
+	 * Removes all entries, the counters are kept
+	 */
+	public void clear() {
+		for (Segment segment : mSegments) {
+			segment.clear();
+		}
+	}
+
+	private Segment segmentFor(final String pMarkdown) {
+		final int hash = pMarkdown.hashCode();
+		// Spread the high bits so segments don't only depend on the last characters
+		return mSegments[(hash ^ (hash >>> 16)) & (mSegments.length - 1)];
+	}
+
+	/**
+	 * Part of the cache with its own lock and capacity
+	 */
+	private static final class Segment {
+
+		/** Entries in access order, the least recently used entry comes first */
+		private final LinkedHashMap<String, List<MarkdownItem>> mEntries = new LinkedHashMap<>(16, 0.75f, true);
+
+		/** The maximum total length of the Markdown in this segment */
+		private final long mCapacity;
+
+		/** The total length of the Markdown in this segment */
+		private long mWeight;
+
+		private Segment(final long pCapacity) {
+			mCapacity = pCapacity;
+		}
+
+		private synchronized List<MarkdownItem> get(final String pMarkdown) {
+			return mEntries.get(pMarkdown);
+		}
+
+		/**
+		 * @return the amount of evicted entries
+		 */
+		private synchronized int put(final String pMarkdown, final List<MarkdownItem> pMarkdownItems) {
+			if (pMarkdown.length() > mCapacity) {
+				return 0;
+			}
+			final List<MarkdownItem> previous = mEntries.put(pMarkdown, pMarkdownItems);
+			if (previous == null) {
+				mWeight += pMarkdown.length();
+			}
+
+			int evicted = 0;
+			final Iterator<Map.Entry<String, List<MarkdownItem>>> iterator = mEntries.entrySet().iterator();
+			while (mWeight > mCapacity && iterator.hasNext()) {
+				final Map.Entry<String, List<MarkdownItem>> eldest = iterator.next();
+				mWeight -= eldest.getKey().length();
+				iterator.remove();
+				evicted++;
+			}
+			return evicted;
+		}
+
+		private synchronized long getWeight() {
+			return mWeight;
+		}
+
+		private synchronized void clear() {
+			mEntries.clear();
+			mWeight = 0;
+		}
+	}
+}
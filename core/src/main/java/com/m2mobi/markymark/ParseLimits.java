@@ -0,0 +1,248 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.markymark;
+
+
+/**
+ * Limits for parsing untrusted Markdown, set them with {@link MarkyMark.Builder#setParseLimits(ParseLimits)}. Markdown
+ * that exceeds a limit is not rejected, the part exceeding it is parsed as plain text instead:
+ * <ul>
+ * <li>Markdown longer than the maximum input length becomes a plain text paragraph per line</li>
+ * <li>a line longer than the maximum line length becomes a plain text paragraph</li>
+ * <li>list items nested deeper than the maximum list nesting are added to the deepest allowed list</li>
+ * <li>inline content after the maximum amount of inline spans of a block is plain text</li>
+ * <li>once the timeout has passed the remaining blocks and inline content are plain text</li>
+ * </ul>
+ * The timeout starts when parsing starts, and again for inline content parsed after the parse returned, like the
+ * children of a MarkdownString converted later on.
+ */
+public final class ParseLimits {
+
+	/** Limits that allow any Markdown */
+	public static final ParseLimits NONE = new Builder().build();
+
+	/** Maximum amount of characters of the Markdown */
+	private final int mMaxInputLength;
+
+	/** Maximum amount of characters of a line */
+	private final int mMaxLineLength;
+
+	/** Maximum nesting level of list items, 0 only allows items of the outer list */
+	private final int mMaxListNesting;
+
+	/** Maximum amount of inline spans parsed from the content of a block */
+	private final int mMaxInlineSpans;
+
+	/** Maximum duration of a parse in milliseconds, 0 without a timeout */
+	private final long mTimeoutMillis;
+
+	private ParseLimits(final Builder pBuilder) {
+		mMaxInputLength = pBuilder.mMaxInputLength;
+		mMaxLineLength = pBuilder.mMaxLineLength;
+		mMaxListNesting = pBuilder.mMaxListNesting;
+		mMaxInlineSpans = pBuilder.mMaxInlineSpans;
+		mTimeoutMillis = pBuilder.mTimeoutMillis;
+	}
+
+	/**
+	 * Gets the limits of the parse running on the calling thread, rules use this to apply the limits that concern them
+	 *
+	 * @return Returns the limits of the current parse, or {@link #NONE} when no limits have been set
+	 */
+	public static ParseLimits current() {
+		final ParseBudget budget = ParseBudget.current();
+		return budget != null ? budget.getLimits() : NONE;
+	}
+
+	/**
+	 * @return whether the timeout of the parse running on the calling thread has passed, false outside of a parse
+	 */
+	public static boolean isDeadlineExceeded() {
+		final ParseBudget budget = ParseBudget.current();
+		return budget != null && budget.isExpired();
+	}
+
+	/**
+	 * Checks the timeout of the parse running on the calling thread, rules that loop over a lot of Markdown can call
+	 * this to stop early. The block or inline content being parsed then becomes plain text.
+	 *
+	 * @throws DeadlineExceededException
+	 * 		When the timeout of the current parse has passed
+	 */
+	public static void checkDeadline() {
+		final ParseBudget budget = ParseBudget.current();
+		if (budget != null) {
+			budget.checkDeadline();
+		}
+	}
+
+	/**
+	 * @return the maximum amount of characters of the Markdown
+	 */
+	public int getMaxInputLength() {
+		return mMaxInputLength;
+	}
+
+	/**
+	 * @return the maximum amount of characters of a line
+	 */
+	public int getMaxLineLength() {
+		return mMaxLineLength;
+	}
+
+	/**
+	 * @return the maximum nesting level of list items, 0 only allows items of the outer list
+	 */
+	public int getMaxListNesting() {
+		return mMaxListNesting;
+	}
+
+	/**
+	 * @return the maximum amount of inline spans parsed from the content of a block
+	 */
+	public int getMaxInlineSpans() {
+		return mMaxInlineSpans;
+	}
+
+	/**
+	 * @return the maximum duration of a parse in milliseconds, 0 without a timeout
+	 */
+	public long getTimeoutMillis() {
+		return mTimeoutMillis;
+	}
+
+	/**
+	 * Thrown when the timeout of a parse has passed, the parser catches it and continues with plain text
+	 */
+	public static final class DeadlineExceededException extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		public DeadlineExceededException() {
+			super("The timeout of the parse has passed");
+		}
+	}
+
+	/**
+	 * Builder for ParseLimits, every limit that is not set allows any Markdown
+	 */
+	public static final class Builder {
+
+		/** Maximum amount of characters of the Markdown */
+		private int mMaxInputLength = Integer.MAX_VALUE;
+
+		/** Maximum amount of characters of a line */
+		private int mMaxLineLength = Integer.MAX_VALUE;
+
+		/** Maximum nesting level of list items */
+		private int mMaxListNesting = Integer.MAX_VALUE;
+
+		/** Maximum amount of inline spans parsed from the content of a block */
+		private int mMaxInlineSpans = Integer.MAX_VALUE;
+
+		/** Maximum duration of a parse in milliseconds, 0 without a timeout */
+		private long mTimeoutMillis;
+
+		/**
+		 * Set the maximum amount of characters of the Markdown, longer Markdown becomes a plain text paragraph per line.
+		 * Markdown parsed while it is read from a Reader is not checked, as its length is not known up front.
+		 *
+		 * @param pMaxInputLength
+		 * 		The maximum amount of characters
+		 * @return This Builder
+		 */
+		public Builder setMaxInputLength(final int pMaxInputLength) {
+			mMaxInputLength = requireNotNegative(pMaxInputLength);
+			return this;
+		}
+
+		/**
+		 * Set the maximum amount of characters of a line, a block starting with a longer line becomes a plain text
+		 * paragraph of that line and longer inline content is plain text
+		 *
+		 * @param pMaxLineLength
+		 * 		The maximum amount of characters
+		 * @return This Builder
+		 */
+		public Builder setMaxLineLength(final int pMaxLineLength) {
+			mMaxLineLength = requireNotNegative(pMaxLineLength);
+			return this;
+		}
+
+		/**
+		 * Set the maximum nesting level of list items, deeper items are added to the list at the maximum level
+		 *
+		 * @param pMaxListNesting
+		 * 		The maximum nesting level, 0 only allows items of the outer list
+		 * @return This Builder
+		 */
+		public Builder setMaxListNesting(final int pMaxListNesting) {
+			mMaxListNesting = requireNotNegative(pMaxListNesting);
+			return this;
+		}
+
+		/**
+		 * Set the maximum amount of inline spans, like text, links and emphasis, parsed from the content of a block, the
+		 * content after the last span is plain text
+		 *
+		 * @param pMaxInlineSpans
+		 * 		The maximum amount of spans
+		 * @return This Builder
+		 */
+		public Builder setMaxInlineSpans(final int pMaxInlineSpans) {
+			mMaxInlineSpans = requireNotNegative(pMaxInlineSpans);
+			return this;
+		}
+
+		/**
+		 * Set the maximum duration of a parse, the blocks and inline content parsed after it has passed are plain text
+		 *
+		 * @param pTimeoutMillis
+		 * 		The maximum duration in milliseconds, or 0 for no timeout
+		 * @return This Builder
+		 */
+		public Builder setTimeout(final long pTimeoutMillis) {
+			if (pTimeoutMillis < 0) {
+				throw new IllegalArgumentException("Timeout may not be negative: " + pTimeoutMillis);
+			}
+			mTimeoutMillis = pTimeoutMillis;
+			return this;
+		}
+
+		/**
+		 * @return new instance of ParseLimits
+		 */
+		public ParseLimits build() {
+			return new ParseLimits(this);
+		}
+
+		private static int requireNotNegative(final int pLimit) {
+			if (pLimit < 0) {
+				throw new IllegalArgumentException("Limit may not be negative: " + pLimit);
+			}
+			return pLimit;
+		}
+	}
+}
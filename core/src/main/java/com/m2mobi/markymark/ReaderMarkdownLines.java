@@ -0,0 +1,197 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.markymark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * {@link MarkdownSource} that reads lines from a {@link Reader} when a rule needs them. Only the lines that have been
+ * read but not yet consumed by a rule are kept in memory.
+ */
+class ReaderMarkdownLines implements MarkdownSource {
+
+	/** Reader the markdown is read from */
+	private final BufferedReader mReader;
+
+	/** Lines that have been read but not consumed yet */
+	private final List<String> mBuffer = new ArrayList<>();
+
+	/** Whether all lines have been read from the reader */
+	private boolean mEndOfInput = false;
+
+	/** Whether any line has been read from the reader */
+	private boolean mAnyLineRead = false;
+
+	/** View on the remaining lines that reads more lines when they are accessed */
+	private final List<CharSequence> mLines = new Lines();
+
+	ReaderMarkdownLines(final Reader pReader) {
+		mReader = pReader instanceof BufferedReader ? (BufferedReader) pReader : new BufferedReader(pReader);
+	}
+
+	@Override
+	public void removeLines(final int pCount) {
+		mBuffer.subList(0, Math.min(pCount, mBuffer.size())).clear();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return !ensureBuffered(0);
+	}
+
+	@Override
+	public List<CharSequence> getLines() {
+		return mLines;
+	}
+
+	@Override
+	public List<CharSequence> getLines(final int pCount) {
+		ensureBuffered(pCount - 1);
+		return new ArrayList<CharSequence>(mBuffer.subList(0, Math.min(pCount, mBuffer.size())));
+	}
+
+	/**
+	 * Reads lines until the line at the given index is buffered or the end of the input is reached
+	 *
+	 * @param pIndex
+	 * 		Index of the line in the buffer
+	 * @return Returns true if the line at the index is available
+	 */
+	private boolean ensureBuffered(final int pIndex) {
+		while (mBuffer.size() <= pIndex && !mEndOfInput) {
+			readLines();
+		}
+		return pIndex < mBuffer.size();
+	}
+
+	/**
+	 * Reads the next line into the buffer. Empty lines are only buffered once a non-empty line follows them, as trailing
+	 * empty lines are ignored in the same way as {@link MarkdownLines} does.
+	 */
+	private void readLines() {
+		try {
+			int emptyLines = 0;
+			String line = mReader.readLine();
+			while (line != null && line.isEmpty()) {
+				emptyLines++;
+				line = mReader.readLine();
+			}
+			if (line == null) {
+				mEndOfInput = true;
+				if (!mAnyLineRead && emptyLines == 0) {
+					// Empty markdown is a single empty line
+					mBuffer.add("");
+				}
+			} else {
+				for (int i = 0; i < emptyLines; i++) {
+					mBuffer.add("");
+				}
+				mBuffer.add(line);
+			}
+			mAnyLineRead = true;
+		} catch (IOException e) {
+			throw new ReadException(e);
+		}
+	}
+
+	/**
+	 * Unchecked wrapper for an {@link IOException} thrown while rules access the lines
+	 */
+	static class ReadException extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		ReadException(final IOException pCause) {
+			super(pCause);
+		}
+
+		@Override
+		public synchronized IOException getCause() {
+			return (IOException) super.getCause();
+		}
+	}
+
+	/**
+	 * View on the remaining lines, lines are read from the reader as they are accessed. Iterating the view only reads as
+	 * far as the iteration goes, {@link #size()} reads all remaining lines.
+	 */
+	private class Lines extends AbstractList<CharSequence> {
+
+		@Override
+		public CharSequence get(final int pIndex) {
+			if (pIndex < 0 || !ensureBuffered(pIndex)) {
+				throw new IndexOutOfBoundsException("index: " + pIndex);
+			}
+			return mBuffer.get(pIndex);
+		}
+
+		@Override
+		public int size() {
+			while (!mEndOfInput) {
+				readLines();
+			}
+			return mBuffer.size();
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return !ensureBuffered(0);
+		}
+
+		@Override
+		public Iterator<CharSequence> iterator() {
+			return new Iterator<CharSequence>() {
+
+				/** Index of the next line */
+				private int mIndex = 0;
+
+				@Override
+				public boolean hasNext() {
+					return ensureBuffered(mIndex);
+				}
+
+				@Override
+				public CharSequence next() {
+					if (!hasNext()) {
+						throw new NoSuchElementException();
+					}
+					return mBuffer.get(mIndex++);
+				}
+
+				@Override
+				public void remove() {
+					throw new UnsupportedOperationException();
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,162 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.markymark;
+
+import com.m2mobi.markymark.item.inline.MarkdownString;
+import com.m2mobi.markymark.item.inline.TextString;
+import com.m2mobi.markymark.rules.InlineRule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+
+/**
+ * {@link InlineParser} that finds inline Markdown with the regular expressions of {@link InlineRule}s. The first match
+ * in the content wins, when matches start at the same index the first rule wins.
+ * <p>
+ * When every rule declares its {@link InlineRule#getTriggerCharacters()}, the content is first scanned for those
+ * characters. Content without them becomes a single {@link TextString} without running any regular expression, and
+ * otherwise the rules start searching at the first of them.
+ */
+public final class RegexInlineParser implements InlineParser {
+
+	/** Trigger characters below this value are kept in {@link #mTriggerBits} */
+	private static final int BITS_SIZE = 128;
+
+	/** List of InlineRules used to parse MarkdownStrings */
+	private final List<InlineRule> mInlineRules;
+
+	/** Bitset of the trigger characters below {@link #BITS_SIZE}, {@code null} when a rule declares none */
+	private final long[] mTriggerBits;
+
+	/** Trigger characters outside of {@link #mTriggerBits} */
+	private final char[] mOtherTriggers;
+
+	/**
+	 * @param pInlineRules
+	 * 		List of inline rules
+	 */
+	public RegexInlineParser(final List<InlineRule> pInlineRules) {
+		mInlineRules = pInlineRules;
+
+		long[] triggerBits = new long[BITS_SIZE / 64];
+		final StringBuilder otherTriggers = new StringBuilder();
+		for (InlineRule inlineRule : pInlineRules) {
+			final char[] triggers = inlineRule.getTriggerCharacters();
+			if (triggers == null) {
+				triggerBits = null;
+				break;
+			}
+			for (char trigger : triggers) {
+				if (trigger < BITS_SIZE) {
+					triggerBits[trigger >> 6] |= 1L << trigger;
+				} else {
+					otherTriggers.append(trigger);
+				}
+			}
+		}
+		mTriggerBits = triggerBits;
+		mOtherTriggers = otherTriggers.toString().toCharArray();
+	}
+
+	/**
+	 * {@inheritDoc} The content is scanned once by an {@link InlineScanner}, rules see the remaining content after the
+	 * previous match as if it were a separate String, and a rule is only searched again when the previous match
+	 * overlaps its next match. Within a parse with {@link ParseLimits} the content after the maximum amount of inline
+	 * spans is a single TextString, matching stops once the timeout has passed and a cancelled parse is stopped between
+	 * matches.
+	 */
+	@Override
+	public List<MarkdownString> parseContent(final String pContent) {
+		final List<MarkdownString> markdownStrings = new ArrayList<>();
+		final int length = pContent.length();
+		if (length == 0) {
+			return markdownStrings;
+		}
+		final int firstTrigger = findFirstTrigger(pContent);
+		if (firstTrigger < 0) {
+			markdownStrings.add(new TextString(pContent, false));
+			return markdownStrings;
+		}
+
+		final ParseBudget budget = ParseBudget.current();
+		final InlineScanner scanner = new InlineScanner(mInlineRules, budget != null ? budget.guard(pContent) : pContent,
+				firstTrigger);
+		final int maxSpans = budget != null ? budget.getLimits().getMaxInlineSpans() : Integer.MAX_VALUE;
+		int position = 0;
+		while (position < length) {
+			if (budget != null) {
+				budget.checkCancelled();
+			}
+			// A match can add text before it and leave text after it, so only search while three spans fit
+			final int first = markdownStrings.size() + 2 < maxSpans ? scanner.next(position) : -1;
+			if (first < 0) {
+				markdownStrings.add(new TextString(pContent.substring(position), false));
+				break;
+			}
+			final Matcher matcher = scanner.getMatcher(first);
+			if (matcher.start() > position) {
+				markdownStrings.add(new TextString(pContent.substring(position, matcher.start()), false));
+			}
+			markdownStrings.add(mInlineRules.get(first).toMarkdownString(matcher));
+			position = matcher.end();
+		}
+		return markdownStrings;
+	}
+
+	/**
+	 * Finds the first character with which a match of a rule can start
+	 *
+	 * @param pContent
+	 * 		The content to scan
+	 * @return Returns the index of the first trigger character, 0 when a rule declares no trigger characters, or -1 if
+	 * the content contains none
+	 */
+	private int findFirstTrigger(final String pContent) {
+		if (mTriggerBits == null) {
+			return 0;
+		}
+		for (int i = 0; i < pContent.length(); i++) {
+			final char c = pContent.charAt(i);
+			if (c < BITS_SIZE) {
+				if ((mTriggerBits[c >> 6] & (1L << c)) != 0) {
+					return i;
+				}
+			} else if (mOtherTriggers.length > 0 && contains(mOtherTriggers, c)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static boolean contains(final char[] pCharacters, final char pCharacter) {
+		for (char c : pCharacters) {
+			if (c == pCharacter) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
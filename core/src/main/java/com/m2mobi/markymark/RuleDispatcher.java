@@ -0,0 +1,114 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.markymark;
+
+import com.m2mobi.markymark.rules.Rule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per character dispatch table for {@link Rule}s, compiled from the characters rules declare with
+ * {@link Rule#getLeadingCharacters()}. For every first character it holds the rules that could match a line starting
+ * with it, in the order they were added, so lines are only checked against those rules.
+ */
+final class RuleDispatcher {
+
+	/** Characters below this value are looked up in the table, others use {@link #mOtherRules} */
+	private static final int TABLE_SIZE = 128;
+
+	/** Candidate rules per first character */
+	private final Rule[][] mTable = new Rule[TABLE_SIZE][];
+
+	/** Candidate rules for empty lines, these are the rules that declare no leading characters */
+	private final Rule[] mUndeclaredRules;
+
+	/** Candidate rules for characters outside of the table */
+	private final Rule[] mOtherRules;
+
+	RuleDispatcher(final List<Rule> pRules) {
+		final char[][] leadingCharacters = new char[pRules.size()][];
+		for (int i = 0; i < pRules.size(); i++) {
+			leadingCharacters[i] = pRules.get(i).getLeadingCharacters();
+		}
+
+		final List<Rule> candidates = new ArrayList<>();
+		for (int c = 0; c < TABLE_SIZE; c++) {
+			candidates.clear();
+			for (int i = 0; i < pRules.size(); i++) {
+				if (leadingCharacters[i] == null || contains(leadingCharacters[i], (char) c)) {
+					candidates.add(pRules.get(i));
+				}
+			}
+			mTable[c] = candidates.toArray(new Rule[0]);
+		}
+
+		final List<Rule> undeclared = new ArrayList<>();
+		final List<Rule> other = new ArrayList<>();
+		for (int i = 0; i < pRules.size(); i++) {
+			if (leadingCharacters[i] == null) {
+				undeclared.add(pRules.get(i));
+				other.add(pRules.get(i));
+			} else if (containsOutsideTable(leadingCharacters[i])) {
+				other.add(pRules.get(i));
+			}
+		}
+		mUndeclaredRules = undeclared.toArray(new Rule[0]);
+		mOtherRules = other.toArray(new Rule[0]);
+	}
+
+	/**
+	 * Returns the rules that could match a block starting with the given line
+	 *
+	 * @param pFirstLine
+	 * 		The first line of the block
+	 * @return The candidate rules in the order they were added
+	 */
+	Rule[] getCandidates(final CharSequence pFirstLine) {
+		if (pFirstLine.length() == 0) {
+			return mUndeclaredRules;
+		}
+		final char first = pFirstLine.charAt(0);
+		return first < TABLE_SIZE ? mTable[first] : mOtherRules;
+	}
+
+	private static boolean contains(final char[] pCharacters, final char pCharacter) {
+		for (char c : pCharacters) {
+			if (c == pCharacter) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean containsOutsideTable(final char[] pCharacters) {
+		for (char c : pCharacters) {
+			if (c >= TABLE_SIZE) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,127 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.markymark;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps item classes to handlers, used by the converters to find the display item for every converted item.
+ * <p>
+ * Classes that are converted are resolved to the handler of the closest mapped class once, checking the class and its
+ * superclasses before interfaces, and the handler is cached per class. {@code ClassValue} isn't available on Android,
+ * so the cache is a {@link ConcurrentHashMap}. Adding a mapping clears the cache, and classes are only resolved and
+ * cached while holding the lock that guards the mappings, so a cached handler is never older than the mappings.
+ */
+final class TypeDispatcher<H> {
+
+	/** Cached for classes that don't resolve to a mapped class, as a ConcurrentHashMap can't hold null */
+	private static final Object UNMAPPED = new Object();
+
+	/** The handler of every mapped class, guarded by this */
+	private final Map<Class<?>, H> mHandlers = new HashMap<>();
+
+	/** The resolved handler of every class that has been looked up, or {@link #UNMAPPED} */
+	private final Map<Class<?>, Object> mResolvedHandlers = new ConcurrentHashMap<>();
+
+	/**
+	 * Maps a class, and its subclasses that have no closer mapping, to a handler. Mapping a class again replaces its
+	 * handler.
+	 *
+	 * @param pClass
+	 * 		The class that should be mapped
+	 * @param pHandler
+	 * 		The handler for the class
+	 */
+	synchronized void put(final Class<?> pClass, final H pHandler) {
+		mHandlers.put(pClass, pHandler);
+		// The new mapping can be closer for classes that have been resolved before
+		mResolvedHandlers.clear();
+	}
+
+	/**
+	 * Returns the handler of the class or of its closest mapped superclass or interface
+	 *
+	 * @param pClass
+	 * 		The class of the item that should be converted
+	 * @return The handler, or {@code null} if neither the class nor its supertypes have been mapped
+	 */
+	@SuppressWarnings("unchecked")
+	H get(final Class<?> pClass) {
+		Object handler = mResolvedHandlers.get(pClass);
+		if (handler == null) {
+			handler = resolve(pClass);
+		}
+		return handler == UNMAPPED ? null : (H) handler;
+	}
+
+	/**
+	 * Finds and caches the handler of the closest mapped class, superclasses are checked before interfaces
+	 */
+	private synchronized Object resolve(final Class<?> pClass) {
+		Object handler = mResolvedHandlers.get(pClass);
+		if (handler == null) {
+			handler = find(pClass);
+			mResolvedHandlers.put(pClass, handler);
+		}
+		return handler;
+	}
+
+	/**
+	 * Finds the handler of the closest mapped class, called while holding the lock
+	 */
+	private Object find(final Class<?> pClass) {
+		for (Class<?> type = pClass; type != null; type = type.getSuperclass()) {
+			final H handler = mHandlers.get(type);
+			if (handler != null) {
+				return handler;
+			}
+		}
+
+		final Queue<Class<?>> interfaces = new ArrayDeque<>();
+		final Set<Class<?>> visited = new HashSet<>();
+		for (Class<?> type = pClass; type != null; type = type.getSuperclass()) {
+			Collections.addAll(interfaces, type.getInterfaces());
+		}
+		while (!interfaces.isEmpty()) {
+			final Class<?> type = interfaces.remove();
+			if (!visited.add(type)) {
+				continue;
+			}
+			final H handler = mHandlers.get(type);
+			if (handler != null) {
+				return handler;
+			}
+			Collections.addAll(interfaces, type.getInterfaces());
+		}
+		return UNMAPPED;
+	}
+}
@@ -0,0 +1,90 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.markymark.item;
+
+import com.m2mobi.markymark.item.inline.MarkdownString;
+
+/**
+ * {@link MarkdownItem} of a list whose items can contain nested lists, used to send list events to a
+ * {@link com.m2mobi.markymark.MarkdownListener}
+ */
+public interface ListContainer extends MarkdownItem {
+
+	/**
+	 * Walks this list and its nested lists in the order in which their items appear
+	 *
+	 * @param pVisitor
+	 * 		The visitor that is called for every list and item
+	 */
+	void accept(ListVisitor pVisitor);
+
+	/**
+	 * Visitor for the lists and items of a {@link ListContainer}
+	 */
+	interface ListVisitor {
+
+		/**
+		 * Called before the items of a list are visited
+		 *
+		 * @param pList
+		 * 		The list
+		 * @param pDepth
+		 * 		Amount of lists the list is nested in, 0 for the list that is walked
+		 */
+		void onListStart(MarkdownItem pList, int pDepth);
+
+		/**
+		 * Called for every item of a list, before the lists nested in the item
+		 *
+		 * @param pText
+		 * 		The text of the item
+		 * @param pIndex
+		 * 		Index of the item in the list
+		 * @param pDepth
+		 * 		Amount of lists the list containing the item is nested in
+		 */
+		void onListItemStart(MarkdownString pText, int pIndex, int pDepth);
+
+		/**
+		 * Called after an item and the lists nested in it have been visited
+		 *
+		 * @param pIndex
+		 * 		Index of the item in the list
+		 * @param pDepth
+		 * 		Amount of lists the list containing the item is nested in
+		 */
+		void onListItemEnd(int pIndex, int pDepth);
+
+		/**
+		 * Called after the items of a list and their nested lists have been visited
+		 *
+		 * @param pList
+		 * 		The list
+		 * @param pDepth
+		 * 		Amount of lists the list is nested in
+		 */
+		void onListEnd(MarkdownItem pList, int pDepth);
+	}
+}
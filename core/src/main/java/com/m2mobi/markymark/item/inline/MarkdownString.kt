@@ -24,7 +24,39 @@
 
 package com.m2mobi.markymark.item.inline
 
+import com.m2mobi.markymark.InlineParser
+
 abstract class MarkdownString {
     abstract val content: String
     abstract val isChildrenEnabled: Boolean
+
+    /**
+     * The children of this string and the parser that created them, kept by [keepChildren]
+     */
+    @Volatile
+    private var keptChildren: KeptChildren? = null
+
+    /**
+     * Returns the children a parser kept for this string with [keepChildren], so strings of a block that is converted
+     * again aren't parsed again. See [InlineParser.getChildren].
+     *
+     * @param parser the parser that parsed the children
+     * @return the children, null if the parser has not kept children for this string
+     */
+    fun getKeptChildren(parser: InlineParser): List<MarkdownString>? {
+        val kept = keptChildren
+        return if (kept != null && kept.parser === parser) kept.children else null
+    }
+
+    /**
+     * Keeps the children a parser parsed from the content of this string, replacing the children kept by another parser
+     *
+     * @param parser the parser that parsed the children
+     * @param children the children, they should not be modified afterwards
+     */
+    fun keepChildren(parser: InlineParser, children: List<MarkdownString>) {
+        keptChildren = KeptChildren(parser, children)
+    }
+
+    private class KeptChildren(val parser: InlineParser, val children: List<MarkdownString>)
 }
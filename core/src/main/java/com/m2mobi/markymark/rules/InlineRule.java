@@ -6,6 +6,7 @@ package com.m2mobi.markymark.rules;
 
 import com.m2mobi.markymark.item.inline.MarkdownString;
 
+import java.util.regex.MatchResult;
 import java.util.regex.Pattern;
 
 /**
@@ -13,7 +14,34 @@ import java.util.regex.Pattern;
  */
 public interface InlineRule {
 
+	/**
+	 * @return the pattern that finds this inline Markdown, the same instance should be returned by every call
+	 */
 	Pattern getRegex();
 
 	MarkdownString toMarkdownString(String pContent);
+
+	/**
+	 * Returns the characters every match of {@link #getRegex()} starts with. Content without any of the trigger
+	 * characters of the inline rules is not matched against them, rules that can match text starting with any
+	 * character should return {@code null}
+	 *
+	 * @return the characters a match can start with, or {@code null} if the rule declares none
+	 */
+	default char[] getTriggerCharacters() {
+		return null;
+	}
+
+	/**
+	 * Creates the MarkdownString for a match of {@link #getRegex()}. The match is only valid during this call, as the
+	 * matcher is reused to find the next inline Markdown. Override this to use the groups of the match instead of
+	 * matching the matched text again in {@link #toMarkdownString(String)}.
+	 *
+	 * @param pMatch
+	 * 		The match of the pattern of this rule
+	 * @return MarkdownString created from the match
+	 */
+	default MarkdownString toMarkdownString(final MatchResult pMatch) {
+		return toMarkdownString(pMatch.group());
+	}
 }
\ No newline at end of file
@@ -5,6 +5,7 @@
 package com.m2mobi.markymark.rules;
 
 import java.util.List;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
@@ -15,13 +16,22 @@ public abstract class RegexRule implements Rule {
 	protected abstract Pattern getRegex();
 
 	@Override
-	public boolean conforms(final List<String> pMarkdownLines) {
-		return getRegex().matcher(pMarkdownLines.get(0)).matches();
+	public RuleMatch conforms(final List<? extends CharSequence> pMarkdownLines) {
+		// Regex rules are single line blocks
+		final Matcher matcher = getRegex().matcher(pMarkdownLines.get(0));
+		return matcher.matches() ? createMatch(matcher) : null;
 	}
 
-	@Override
-	public int getLinesConsumed() {
-		// Default to 1 as this is a single line block
-		return 1;
+	/**
+	 * Creates the match for a first line that matches the regex. Rules that need the groups of the regex override this
+	 * to keep them in the match, e.g. with {@link Matcher#toMatchResult()}, so
+	 * {@link #toMarkdownItem(List, RuleMatch)} doesn't have to match the line again
+	 *
+	 * @param pMatcher
+	 * 		The matcher that matched the first line
+	 * @return the match for the line, a single line match without state by default
+	 */
+	protected RuleMatch createMatch(final Matcher pMatcher) {
+		return RuleMatch.SINGLE_LINE;
 	}
 }
\ No newline at end of file
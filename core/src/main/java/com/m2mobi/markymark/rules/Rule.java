@@ -16,19 +16,45 @@ import java.util.List;
 public interface Rule {
 
 	/**
-	 * checks if the passed Markdown conforms to this rule
+	 * checks if the passed Markdown conforms to this rule, the lines are views on the Markdown and should only be
+	 * converted to Strings when their content is needed. Rules may be used by multiple threads at the same time and
+	 * should not keep state between calls, everything needed afterwards belongs in the returned {@link RuleMatch}
 	 *
-	 * @return {@code true} if the Markdown conforms to this rule, {@code false} otherwise.
+	 * @return a {@link RuleMatch} with the amount of lines that belong to the block if the Markdown conforms to this
+	 * rule, {@code null} otherwise.
 	 */
-	boolean conforms(final List<String> pMarkdownLines);
+	RuleMatch conforms(final List<? extends CharSequence> pMarkdownLines);
 
 	/**
-	 * @return the amount of lines consumed by this rule
+	 * Returns the characters a line has to start with for this rule to be able to match it. MarkyMark uses these to
+	 * only check lines against rules that could possibly match them, rules that can match any line or an empty line
+	 * should return {@code null}
+	 *
+	 * @return the characters a matching first line can start with, or {@code null} if the rule declares none
 	 */
-	int getLinesConsumed();
+	default char[] getLeadingCharacters() {
+		return null;
+	}
 
 	/**
+	 * @return MarkdownItem that has been created from the Markdown input, which holds the lines consumed by the
+	 * {@link RuleMatch} returned from {@link #conforms(List)}
+	 */
+	MarkdownItem toMarkdownItem(final List<? extends CharSequence> pMarkdownLines);
+
+	/**
+	 * Creates the MarkdownItem for a block from the match {@link #conforms(List)} returned for it. Rules that capture
+	 * state in their {@link RuleMatch} override this to build the item from that state instead of matching the lines
+	 * again, by default it calls {@link #toMarkdownItem(List)}
+	 *
+	 * @param pMarkdownLines
+	 * 		The lines consumed by the match
+	 * @param pMatch
+	 * 		The match returned from {@link #conforms(List)} for these lines, its state is {@code null} when the lines
+	 * 		are parsed with the default rule without it having matched them
 	 * @return MarkdownItem that has been created from the Markdown input
 	 */
-	MarkdownItem toMarkdownItem(final List<String> pMarkdownLines);
+	default MarkdownItem toMarkdownItem(final List<? extends CharSequence> pMarkdownLines, final RuleMatch pMatch) {
+		return toMarkdownItem(pMarkdownLines);
+	}
 }
\ No newline at end of file
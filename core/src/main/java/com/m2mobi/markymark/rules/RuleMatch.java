@@ -0,0 +1,79 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.markymark.rules;
+
+/**
+ * Immutable result of a {@link Rule} recognizing a block of Markdown, returned from {@link Rule#conforms(java.util.List)}
+ * so rules don't have to keep state between recognizing a block and creating its item. A match can carry what the rule
+ * captured while recognizing the block, like regex groups or the classification of every line, which
+ * {@link Rule#toMarkdownItem(java.util.List, RuleMatch)} uses instead of matching the lines again
+ */
+public final class RuleMatch {
+
+	/** Match for a block that consists of a single line */
+	public static final RuleMatch SINGLE_LINE = new RuleMatch(1);
+
+	/** The amount of lines that belong to the matched block */
+	private final int mLinesConsumed;
+
+	/** What the rule captured while recognizing the block, or {@code null} */
+	private final Object mState;
+
+	/**
+	 * @param pLinesConsumed
+	 * 		The amount of lines that belong to the matched block, at least 1
+	 */
+	public RuleMatch(final int pLinesConsumed) {
+		this(pLinesConsumed, null);
+	}
+
+	/**
+	 * @param pLinesConsumed
+	 * 		The amount of lines that belong to the matched block, at least 1
+	 * @param pState
+	 * 		What the rule captured while recognizing the block, should not be modified once the match is returned
+	 */
+	public RuleMatch(final int pLinesConsumed, final Object pState) {
+		if (pLinesConsumed < 1) {
+			throw new IllegalArgumentException("A match has to consume at least one line, was: " + pLinesConsumed);
+		}
+		mLinesConsumed = pLinesConsumed;
+		mState = pState;
+	}
+
+	/**
+	 * @return the amount of lines that belong to the matched block
+	 */
+	public int getLinesConsumed() {
+		return mLinesConsumed;
+	}
+
+	/**
+	 * @return what the rule captured while recognizing the block, or {@code null} if it captured nothing
+	 */
+	public Object getState() {
+		return mState;
+	}
+}
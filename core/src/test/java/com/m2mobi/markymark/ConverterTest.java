@@ -38,6 +38,7 @@ import static com.m2mobi.markymark.util.MockKInteropUtil.INSTANCE;
 import static io.mockk.MockKKt.every;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ConverterTest {
@@ -90,6 +91,50 @@ public class ConverterTest {
         assertEquals(converted.size(), 1);
     }
 
+    @Test
+    public void addMappingWithClass() {
+        MockDisplayItem displayItem = new MockDisplayItem();
+        sut.addMapping(MockDisplayItem.class, displayItem);
+        assertSame(displayItem, sut.getMapping(MockDisplayItem.class));
+    }
+
+    @Test
+    public void convertUsesMappingOfSuperclass() {
+        Object converted = new Object();
+        LinkedList<Object> list = new LinkedList<>();
+        list.add(converted);
+        sut.addMapping(MockDisplayItem.class, new MockDisplayItem(list));
+
+        InlineConverter mockConverter = INSTANCE.mock(InlineConverter.class);
+        assertSame(converted, sut.convert(new SubMockDisplayItem(), mockConverter));
+    }
+
+    @Test
+    public void convertPrefersClosestMapping() {
+        Object converted = new Object();
+        LinkedList<Object> list = new LinkedList<>();
+        list.add(converted);
+        sut.addMapping(new MockDisplayItem());
+        InlineConverter mockConverter = INSTANCE.mock(InlineConverter.class);
+        sut.convert(new SubMockDisplayItem(), mockConverter);
+
+        sut.addMapping(SubMockDisplayItem.class, new MockDisplayItem(list));
+        assertSame(converted, sut.convert(new SubMockDisplayItem(), mockConverter));
+    }
+
+    @Test
+    public void getMappingUsesReplacedMapping() {
+        sut.addMapping(MockDisplayItem.class, new MockDisplayItem());
+        sut.getMapping(SubMockDisplayItem.class);
+
+        MockDisplayItem replaced = new MockDisplayItem();
+        sut.addMapping(MockDisplayItem.class, replaced);
+        assertSame(replaced, sut.getMapping(SubMockDisplayItem.class));
+    }
+
+    static class SubMockDisplayItem extends MockDisplayItem {
+    }
+
     static class MockDisplayItem implements DisplayItem<Object, MockDisplayItem, InlineConverter>, MarkdownItem {
         private LinkedList list;
 
@@ -24,8 +24,6 @@
 
 package com.m2mobi.markymark;
 
-import com.m2mobi.markymark.rules.Rule;
-
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -34,10 +32,9 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.stream.Collectors;
 
-import static com.m2mobi.markymark.util.MockKInteropUtil.INSTANCE;
-import static io.mockk.MockKKt.every;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class MarkdownLinesTest {
 
@@ -53,12 +50,9 @@ public class MarkdownLinesTest {
     }
 
     @Test
-    public void removeLinesForRule() {
-        Rule rule = INSTANCE.mock(Rule.class);
-        every(mockKMatcherScope -> rule.getLinesConsumed())
-                .returns(20);
+    public void removeLines() {
         assertEquals(453, sot.getLines().size());
-        sot.removeLinesForRule(rule);
+        sot.removeLines(20);
         assertEquals(433, sot.getLines().size());
     }
 
@@ -76,4 +70,21 @@ public class MarkdownLinesTest {
     public void getLinesSubset() {
         assertEquals(10, sot.getLines(10).size());
     }
+
+    @Test
+    public void normalisesLineBreaks() {
+        MarkdownLines lines = new MarkdownLines("first\r\nsecond\rthird\n\nfifth\r\n\r\n");
+        assertEquals(5, lines.getLines().size());
+        assertEquals("first", lines.getLines().get(0).toString());
+        assertEquals("second", lines.getLines().get(1).toString());
+        assertEquals("third", lines.getLines().get(2).toString());
+        assertEquals("", lines.getLines().get(3).toString());
+        assertEquals("fifth", lines.getLines().get(4).toString());
+    }
+
+    @Test
+    public void emptyMarkdownIsSingleLine() {
+        assertEquals(1, new MarkdownLines("").getLines().size());
+        assertTrue(new MarkdownLines("\n\n").isEmpty());
+    }
 }
\ No newline at end of file
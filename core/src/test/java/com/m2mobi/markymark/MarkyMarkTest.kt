@@ -24,7 +24,9 @@
 
 package com.m2mobi.markymark
 
+import com.m2mobi.markymark.item.MarkdownItem
 import com.m2mobi.markymark.rules.Rule
+import com.m2mobi.markymark.rules.RuleMatch
 import io.mockk.every
 import io.mockk.impl.annotations.MockK
 import io.mockk.junit5.MockKExtension
@@ -70,16 +72,16 @@ class MarkyMarkTest {
     @Test
     fun `Test parse default rules`() {
         // Given
-        every { rule.conforms(any()) } returns false
-        every { defaultRule.linesConsumed } returns 2
-        every { defaultRule.toMarkdownItem(any()) } returns mockk()
+        every { rule.conforms(any()) } returns null
+        every { defaultRule.conforms(any()) } returns RuleMatch(2)
+        every { defaultRule.toMarkdownItem(any(), any()) } returns mockk()
 
         // When
         val items = markyMark.parseMarkdown(file)
 
         // Then
         verify {
-            converter.convert(any(), withArg { it is InlineConverter })
+            converter.convert(any<List<MarkdownItem>>(), withArg { it is InlineConverter })
         }
         assertTrue { items.isEmpty() }
     }
@@ -87,16 +89,15 @@ class MarkyMarkTest {
     @Test
     fun `Test parse custom rules`() {
         // Given
-        every { rule.conforms(any()) } returns true
-        every { rule.linesConsumed } returns 2
-        every { rule.toMarkdownItem(any()) } returns mockk()
+        every { rule.conforms(any()) } returns RuleMatch(2)
+        every { rule.toMarkdownItem(any(), any()) } returns mockk()
 
         // When
         val items = markyMark.parseMarkdown(file)
 
         // Then
         verify {
-            converter.convert(any(), withArg { it is InlineConverter })
+            converter.convert(any<List<MarkdownItem>>(), withArg { it is InlineConverter })
         }
         assertTrue { items.isEmpty() }
     }
@@ -26,67 +26,102 @@ package com.m2mobi.basemarkdown.rule;
 
 import com.m2mobi.markymark.item.MarkdownItem;
 import com.m2mobi.markymark.rules.Rule;
+import com.m2mobi.markymark.rules.RuleMatch;
 import com.m2mobi.markymarkcommon.markdownitems.CodeBlock;
 
 import java.util.List;
-import java.util.regex.Pattern;
 
 /**
- * {@link Rule} that matches code blocks
+ * {@link Rule} that matches code blocks, which start at a line of three backticks and end at the next one or at the end
+ * of the Markdown
  */
 public class CodeBlockRule implements Rule {
 
-	/** Pattern used to find the start and end of the code block */
-	private static final Pattern CODE_PATTERN_START = Pattern.compile("^`{3}");
+	/** Line that starts and ends a code block */
+	private static final String FENCE = "```";
 
-	/** Pattern that indicates the code block is a single line */
-	private static final Pattern CODE_PATTERN_END_SINGLE_LINE = Pattern.compile("(?<!^)(\\`{3})$");
-
-	/** Pattern that ends the code block */
-	private static final Pattern CODE_PATTERN_END = Pattern.compile("(\\`{3})$");
-
-	/** The amount of lines used by this code block */
-	private int mLinesConsumed;
+	@Override
+	public char[] getLeadingCharacters() {
+		return new char[] { '`' };
+	}
 
 	@Override
-	public boolean conforms(final List<String> pMarkdownLines) {
-		if (!CODE_PATTERN_START.matcher(pMarkdownLines.get(0)).matches()) {
-			return false;
+	public RuleMatch conforms(final List<? extends CharSequence> pMarkdownLines) {
+		if (!isFence(pMarkdownLines.get(0))) {
+			return null;
 		}
-		mLinesConsumed = 0;
-		for (String line : pMarkdownLines) {
-			mLinesConsumed += 1;
-			if (mLinesConsumed == 1) {
-				if (CODE_PATTERN_END_SINGLE_LINE.matcher(line).matches()) {
-					return true;
-				}
-			} else {
-				if (CODE_PATTERN_END.matcher(line).matches()) {
-					return true;
-				}
+		int linesConsumed = 0;
+		for (CharSequence line : pMarkdownLines) {
+			linesConsumed += 1;
+			// The first line starts the block, it can't end it as well
+			if (linesConsumed > 1 && isFence(line)) {
+				break;
 			}
 		}
-		return true;
+		return new RuleMatch(linesConsumed);
 	}
 
 	@Override
-	public int getLinesConsumed() {
-		return mLinesConsumed;
-	}
+	public MarkdownItem toMarkdownItem(final List<? extends CharSequence> pMarkdownLines) {
+		final int size = pMarkdownLines.size();
+		final int end = size > 1 && isFence(pMarkdownLines.get(size - 1)) ? size - 1 : size;
+		final StringBuilder sb = new StringBuilder();
+		boolean hasBackticks = !isFence(pMarkdownLines.get(0));
+		for (int i = 1; i < end && !hasBackticks; i++) {
+			final CharSequence line = pMarkdownLines.get(i);
+			hasBackticks = LineScanner.contains(line, '`');
+			sb.append(line).append('\n');
+		}
+		if (!hasBackticks) {
+			// Without backticks in the code, only the fences and the line breaks next to them are removed
+			return new CodeBlock(sb.toString());
+		}
 
-	@Override
-	public MarkdownItem toMarkdownItem(final List<String> pMarkdownLines) {
-		StringBuilder sb = new StringBuilder();
-		for (String line : pMarkdownLines) {
+		sb.setLength(0);
+		for (CharSequence line : pMarkdownLines) {
 			sb.append(line);
 			sb.append("\n");
 		}
 
 		String content = sb.toString();
-		content = content.replaceAll("\n```", "");
-		content = content.replaceAll("```\n", "");
-		content = content.replaceAll("```", "");
+		content = removeAll(content, "\n```");
+		content = removeAll(content, "```\n");
+		content = removeAll(content, "```");
 
 		return new CodeBlock(content);
 	}
+
+	/**
+	 * @param pLine
+	 * 		The line to check
+	 * @return whether the line is a fence that starts or ends a code block
+	 */
+	private static boolean isFence(final CharSequence pLine) {
+		return pLine.length() == FENCE.length() && LineScanner.countLeading(pLine, '`') == FENCE.length();
+	}
+
+	/**
+	 * Removes every occurrence of a string from the content, from left to right like {@link String#replaceAll} with a
+	 * pattern without special characters did
+	 *
+	 * @param pContent
+	 * 		The content to remove the string from
+	 * @param pRemove
+	 * 		The string to remove
+	 * @return the content without the string
+	 */
+	private static String removeAll(final String pContent, final String pRemove) {
+		int index = pContent.indexOf(pRemove);
+		if (index < 0) {
+			return pContent;
+		}
+		final StringBuilder sb = new StringBuilder(pContent.length());
+		int start = 0;
+		while (index >= 0) {
+			sb.append(pContent, start, index);
+			start = index + pRemove.length();
+			index = pContent.indexOf(pRemove, start);
+		}
+		return sb.append(pContent, start, pContent.length()).toString();
+	}
 }
\ No newline at end of file
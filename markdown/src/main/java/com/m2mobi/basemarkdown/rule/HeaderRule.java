@@ -25,36 +25,89 @@
 package com.m2mobi.basemarkdown.rule;
 
 import com.m2mobi.markymark.item.MarkdownItem;
-import com.m2mobi.markymark.rules.RegexRule;
 import com.m2mobi.markymark.rules.Rule;
+import com.m2mobi.markymark.rules.RuleMatch;
 import com.m2mobi.markymarkcommon.markdownitems.Header;
 
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
- * {@link Rule} that matches headers from H1 to H6
+ * {@link Rule} that matches headers from H1 to H6. Lines are scanned directly, matching the same lines as the pattern
+ * {@code ^(#{1,6})\s*(.+)$} did.
  */
-public class HeaderRule extends RegexRule {
+public class HeaderRule implements Rule {
 
-	/** Pattern used to find headers and the header size */
-	private static final Pattern HEADER_PATTERN = Pattern.compile("^(#{1,6})\\s*(.+)$");
+	/** Largest header level */
+	private static final int MAX_LEVEL = 6;
 
 	@Override
-	protected Pattern getRegex() {
-		return HEADER_PATTERN;
+	public char[] getLeadingCharacters() {
+		return new char[] { '#' };
 	}
 
 	@Override
-	public MarkdownItem toMarkdownItem(final List<String> pMarkdownLines) {
-		String headerContent = "";
-		int headerType = 1;
-		Matcher headerMatcher = HEADER_PATTERN.matcher(pMarkdownLines.get(0));
-		if (headerMatcher.matches()) {
-			headerType = headerMatcher.group(1).length();
-			headerContent = headerMatcher.group(2);
+	public RuleMatch conforms(final List<? extends CharSequence> pMarkdownLines) {
+		final HeaderLine headerLine = scan(pMarkdownLines.get(0));
+		return headerLine != null ? new RuleMatch(1, headerLine) : null;
+	}
+
+	@Override
+	public MarkdownItem toMarkdownItem(final List<? extends CharSequence> pMarkdownLines) {
+		return toMarkdownItem(pMarkdownLines, conforms(pMarkdownLines));
+	}
+
+	@Override
+	public MarkdownItem toMarkdownItem(final List<? extends CharSequence> pMarkdownLines, final RuleMatch pMatch) {
+		final HeaderLine headerLine = pMatch != null ? (HeaderLine) pMatch.getState() : null;
+		if (headerLine == null) {
+			return new Header("", 1);
+		}
+		final CharSequence line = pMarkdownLines.get(0);
+		return new Header(line.subSequence(headerLine.mContentOffset, line.length()).toString(), headerLine.mLevel);
+	}
+
+	/**
+	 * Scans a line for a header. Like the pattern, up to six hashes are the level and the white space after them is
+	 * skipped, but the content may not be empty. When nothing is left after the white space its last character is the
+	 * content, and a line of only hashes is a header of one level less with a hash as content.
+	 *
+	 * @param pLine
+	 * 		The line to scan
+	 * @return the level and content offset of the header, or {@code null} if the line is not a header
+	 */
+	private static HeaderLine scan(final CharSequence pLine) {
+		final int length = pLine.length();
+		final int level = Math.min(LineScanner.countLeading(pLine, '#'), MAX_LEVEL);
+		if (level == 0) {
+			return null;
+		}
+		int contentOffset = level;
+		while (contentOffset < length && LineScanner.isWhitespace(pLine.charAt(contentOffset))) {
+			contentOffset++;
+		}
+		if (contentOffset < length) {
+			return LineScanner.hasLineTerminator(pLine, contentOffset) ? null : new HeaderLine(level, contentOffset);
+		}
+		if (contentOffset > level) {
+			return LineScanner.isLineTerminator(pLine.charAt(length - 1)) ? null : new HeaderLine(level, length - 1);
+		}
+		return level > 1 ? new HeaderLine(level - 1, length - 1) : null;
+	}
+
+	/**
+	 * Result of scanning a header line
+	 */
+	private static final class HeaderLine {
+
+		/** Level of the header */
+		private final int mLevel;
+
+		/** Offset of the content of the header in the line */
+		private final int mContentOffset;
+
+		private HeaderLine(final int pLevel, final int pContentOffset) {
+			mLevel = pLevel;
+			mContentOffset = pContentOffset;
 		}
-		return new Header(headerContent, headerType);
 	}
 }
\ No newline at end of file
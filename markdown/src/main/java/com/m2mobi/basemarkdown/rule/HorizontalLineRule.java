@@ -25,27 +25,34 @@
 package com.m2mobi.basemarkdown.rule;
 
 import com.m2mobi.markymark.item.MarkdownItem;
-import com.m2mobi.markymark.rules.RegexRule;
+import com.m2mobi.markymark.rules.Rule;
+import com.m2mobi.markymark.rules.RuleMatch;
 import com.m2mobi.markymarkcommon.markdownitems.HorizontalLine;
 
 import java.util.List;
-import java.util.regex.Pattern;
 
 /**
- * {@link RegexRule} that matches horizontal lines
+ * {@link Rule} that matches horizontal lines, lines of at least three dashes
  */
-public class HorizontalLineRule extends RegexRule {
+public class HorizontalLineRule implements Rule {
 
-	/** Pattern used to find horizontal lines */
-	private static final Pattern HORIZONTAL_LINE_PATTERN = Pattern.compile("^-{3,}$");
+	/** Minimum amount of dashes of a horizontal line */
+	private static final int MIN_DASHES = 3;
 
 	@Override
-	protected Pattern getRegex() {
-		return HORIZONTAL_LINE_PATTERN;
+	public char[] getLeadingCharacters() {
+		return new char[] { '-' };
 	}
 
 	@Override
-	public MarkdownItem toMarkdownItem(final List<String> pMarkdownLines) {
+	public RuleMatch conforms(final List<? extends CharSequence> pMarkdownLines) {
+		final CharSequence line = pMarkdownLines.get(0);
+		final int length = line.length();
+		return length >= MIN_DASHES && LineScanner.countLeading(line, '-') == length ? RuleMatch.SINGLE_LINE : null;
+	}
+
+	@Override
+	public MarkdownItem toMarkdownItem(final List<? extends CharSequence> pMarkdownLines) {
 		return new HorizontalLine();
 	}
 }
\ No newline at end of file
@@ -26,9 +26,11 @@ package com.m2mobi.basemarkdown.rule;
 
 import com.m2mobi.markymark.item.MarkdownItem;
 import com.m2mobi.markymark.rules.RegexRule;
+import com.m2mobi.markymark.rules.RuleMatch;
 import com.m2mobi.markymarkcommon.markdownitems.Image;
 
 import java.util.List;
+import java.util.regex.MatchResult;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -37,8 +39,16 @@ import java.util.regex.Pattern;
  */
 public class ImageRule extends RegexRule {
 
-	/** Regex to match an image */
-	public static final Pattern IMAGE_PATTERN = Pattern.compile("(!\\p{Z}?)\\[(.+?)\\]\\((.+?)\\)");
+	/**
+	 * Regex to match an image, the alt text is atomic up to the first "](" as a later one can not match when the first
+	 * one does not, which prevents backtracking over every "](" on the line
+	 */
+	public static final Pattern IMAGE_PATTERN = Pattern.compile("(!\\p{Z}?)\\[(?>(.+?)\\]\\()(.+?)\\)");
+
+	@Override
+	public char[] getLeadingCharacters() {
+		return new char[] { '!' };
+	}
 
 	@Override
 	protected Pattern getRegex() {
@@ -46,11 +56,31 @@ public class ImageRule extends RegexRule {
 	}
 
 	@Override
-	public MarkdownItem toMarkdownItem(final List<String> pMarkdownLines) {
+	protected RuleMatch createMatch(final Matcher pMatcher) {
+		return new RuleMatch(1, pMatcher.toMatchResult());
+	}
+
+	@Override
+	public MarkdownItem toMarkdownItem(final List<? extends CharSequence> pMarkdownLines) {
 		final Matcher matcher = IMAGE_PATTERN.matcher(pMarkdownLines.get(0));
 		if (matcher.find()) {
 			return new Image(matcher.group(3), matcher.group(2));
 		}
 		return new Image("", "");
 	}
+
+	@Override
+	public MarkdownItem toMarkdownItem(final List<? extends CharSequence> pMarkdownLines, final RuleMatch pMatch) {
+		final MatchResult imageMatch = pMatch != null ? (MatchResult) pMatch.getState() : null;
+		if (imageMatch == null) {
+			return toMarkdownItem(pMarkdownLines);
+		}
+		// The match spans the whole line, the first image on it ends at the first closing parenthesis of the url
+		String url = imageMatch.group(3);
+		final int end = url.indexOf(')', 1);
+		if (end >= 0) {
+			url = url.substring(0, end);
+		}
+		return new Image(url, imageMatch.group(2));
+	}
 }
\ No newline at end of file
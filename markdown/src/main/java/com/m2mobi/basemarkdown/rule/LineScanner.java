@@ -0,0 +1,104 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.basemarkdown.rule;
+
+/**
+ * Character checks shared by the rules that scan lines directly instead of matching them with a regular expression
+ */
+final class LineScanner {
+
+	private LineScanner() {
+		// Only has static methods
+	}
+
+	/**
+	 * Counts how often a character is repeated at the start of a line
+	 *
+	 * @param pLine
+	 * 		The line to scan
+	 * @param pChar
+	 * 		The character to count
+	 * @return the length of the run of the character the line starts with
+	 */
+	static int countLeading(final CharSequence pLine, final char pChar) {
+		final int length = pLine.length();
+		int count = 0;
+		while (count < length && pLine.charAt(count) == pChar) {
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * @param pLine
+	 * 		The line to scan
+	 * @param pChar
+	 * 		The character to look for
+	 * @return whether the line contains the character
+	 */
+	static boolean contains(final CharSequence pLine, final char pChar) {
+		final int length = pLine.length();
+		for (int i = 0; i < length; i++) {
+			if (pLine.charAt(i) == pChar) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Checks if a line contains a line terminator, which a {@code .} in a regular expression doesn't match. Lines that
+	 * contain one did not match the patterns the scanners replace.
+	 *
+	 * @param pLine
+	 * 		The line to scan
+	 * @param pStart
+	 * 		Index from which the line is scanned
+	 * @return whether the line contains a line terminator at or after the start
+	 */
+	static boolean hasLineTerminator(final CharSequence pLine, final int pStart) {
+		final int length = pLine.length();
+		for (int i = pStart; i < length; i++) {
+			if (isLineTerminator(pLine.charAt(i))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return whether the character is a line terminator, which {@code .} in a regular expression doesn't match
+	 */
+	static boolean isLineTerminator(final char pChar) {
+		return pChar == '\n' || pChar == '\r' || pChar == '\u0085' || pChar == '\u2028' || pChar == '\u2029';
+	}
+
+	/**
+	 * @return whether the character is white space as matched by {@code \s} in a regular expression
+	 */
+	static boolean isWhitespace(final char pChar) {
+		return pChar == ' ' || pChar == '\t' || pChar == '\n' || pChar == '\u000B' || pChar == '\f' || pChar == '\r';
+	}
+}
@@ -0,0 +1,159 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.basemarkdown.rule;
+
+/**
+ * Classifies list lines in a single scan, without regular expressions. A line is a list item when it consists of
+ * indentation made of tabs or groups of four spaces, a marker that is either a number followed by a dot or one of
+ * {@code + * -}, one to four spaces and text starting with a letter or digit. This is exactly what the patterns
+ * {@code ^((?:\t| {4})*+)\d+\. {1,4}([a-zA-Z0-9].*)$} and {@code ^((?:\t| {4})*+)[+*\-] {1,4}([a-zA-Z0-9].*)$}
+ * used to match.
+ */
+final class ListLineClassifier {
+
+	private ListLineClassifier() {
+		// Only has static methods
+	}
+
+	/**
+	 * Classifies a line
+	 *
+	 * @param pLine
+	 * 		The line to classify
+	 * @return the classification of the line, or {@code null} if the line is not a list item
+	 */
+	static ListLine classify(final CharSequence pLine) {
+		final int length = pLine.length();
+		int i = 0;
+		// Like the possessive indentation of the patterns, a run of less than four spaces is not indentation
+		while (i < length) {
+			if (pLine.charAt(i) == '\t') {
+				i++;
+			} else if (i + 3 < length && pLine.charAt(i) == ' ' && pLine.charAt(i + 1) == ' '
+					&& pLine.charAt(i + 2) == ' ' && pLine.charAt(i + 3) == ' ') {
+				i += 4;
+			} else {
+				break;
+			}
+		}
+		final int indent = i;
+		if (i == length) {
+			return null;
+		}
+		final char marker = pLine.charAt(i);
+		final boolean ordered;
+		int ordinal = -1;
+		if (marker == '+' || marker == '*' || marker == '-') {
+			ordered = false;
+			i++;
+		} else if (isDigit(marker)) {
+			ordered = true;
+			ordinal = 0;
+			while (i < length && isDigit(pLine.charAt(i))) {
+				final int digit = pLine.charAt(i) - '0';
+				ordinal = ordinal > (Integer.MAX_VALUE - digit) / 10 ? Integer.MAX_VALUE : ordinal * 10 + digit;
+				i++;
+			}
+			if (i == length || pLine.charAt(i) != '.') {
+				return null;
+			}
+			i++;
+		} else {
+			return null;
+		}
+		final int spacesStart = i;
+		while (i < length && i - spacesStart <= 4 && pLine.charAt(i) == ' ') {
+			i++;
+		}
+		final int spaces = i - spacesStart;
+		if (spaces < 1 || spaces > 4 || i == length || !isAlphanumeric(pLine.charAt(i))) {
+			return null;
+		}
+		final int textOffset = i;
+		// The text may not contain line terminators, which the patterns didn't match
+		if (LineScanner.hasLineTerminator(pLine, textOffset + 1)) {
+			return null;
+		}
+		return new ListLine(indent, ordered, ordinal, textOffset);
+	}
+
+	private static boolean isDigit(final char pChar) {
+		return pChar >= '0' && pChar <= '9';
+	}
+
+	private static boolean isAlphanumeric(final char pChar) {
+		return isDigit(pChar) || (pChar >= 'a' && pChar <= 'z') || (pChar >= 'A' && pChar <= 'Z');
+	}
+
+	/**
+	 * Classification of a list line
+	 */
+	static final class ListLine {
+
+		/** Amount of characters of indentation in front of the marker, a tab counts as one */
+		private final int mIndent;
+
+		/** Whether the marker is a number, or a bullet */
+		private final boolean mOrdered;
+
+		/** Number of an ordered item, capped at {@link Integer#MAX_VALUE}, -1 for a bullet */
+		private final int mOrdinal;
+
+		/** Offset of the text of the item in the line */
+		private final int mTextOffset;
+
+		private ListLine(final int pIndent, final boolean pOrdered, final int pOrdinal, final int pTextOffset) {
+			mIndent = pIndent;
+			mOrdered = pOrdered;
+			mOrdinal = pOrdinal;
+			mTextOffset = pTextOffset;
+		}
+
+		int getIndent() {
+			return mIndent;
+		}
+
+		boolean isOrdered() {
+			return mOrdered;
+		}
+
+		int getOrdinal() {
+			return mOrdinal;
+		}
+
+		int getTextOffset() {
+			return mTextOffset;
+		}
+
+		/**
+		 * @param pLine
+		 * 		The classified line
+		 * @return the text of the item without trailing white space
+		 */
+		String getText(final CharSequence pLine) {
+			return pLine.subSequence(mTextOffset, pLine.length()).toString().trim();
+		}
+	}
+}
@@ -24,178 +24,147 @@
 
 package com.m2mobi.basemarkdown.rule;
 
+import com.m2mobi.markymark.ParseLimits;
 import com.m2mobi.markymark.item.MarkdownItem;
 import com.m2mobi.markymark.rules.Rule;
+import com.m2mobi.markymark.rules.RuleMatch;
 import com.m2mobi.markymarkcommon.markdownitems.ListItem;
 import com.m2mobi.markymarkcommon.markdownitems.MarkdownList;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
- * {@link Rule} that matches lists
+ * {@link Rule} that matches lists, items nested deeper than the maximum list nesting of the {@link ParseLimits} are
+ * added to the list at that level
  */
 public class ListRule implements Rule {
 
 	/** Amount of white space before a nested list item */
 	private static final int INDENT_SIZE = 2;
 
-	/** The amount of lines that has been parsed as a markdown list */
-	private int mLinesConsumed = 0;
-
-	/** int index of the current line used to keep track of the lines that need to be parsed */
-	private int mCurrentLine = 0;
-
-	/** List of markdown strings used to create MarkdownLists */
-	private List<String> mMarkdownLines;
-
-	/** Matches an ordered list */
-	private static final Pattern ORDERED_LIST_PATTERN = Pattern.compile("^((?:\\t| {4})*)\\d+\\. {1,4}([a-zA-Z0-9].*)$");
-
-	/** Matches an unordered list */
-	private static final Pattern UNORDERED_LIST_PATTERN = Pattern.compile("^((?:\\t| {4})*)[+*\\-] {1,4}([a-zA-Z0-9].*)$");
+	@Override
+	public char[] getLeadingCharacters() {
+		// Nested items start with indentation, ordered items with a digit
+		return new char[] { '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', '+', '*', '-', ' ', '\t' };
+	}
 
 	@Override
-	public boolean conforms(final List<String> pMarkdownLines) {
-		if (!ORDERED_LIST_PATTERN.matcher(pMarkdownLines.get(0)).matches()
-				&& !UNORDERED_LIST_PATTERN.matcher(pMarkdownLines.get(0)).matches()) {
-			return false;
-		}
-		mLinesConsumed = 0;
-		for (String line : pMarkdownLines) {
-			if (isList(line)) {
-				mLinesConsumed++;
-			} else {
-				return true;
+	public RuleMatch conforms(final List<? extends CharSequence> pMarkdownLines) {
+		final ListLines listLines = new ListLines();
+		for (CharSequence line : pMarkdownLines) {
+			if (!listLines.add(line)) {
+				break;
 			}
 		}
-		return true;
+		return listLines.mSize > 0 ? new RuleMatch(listLines.mSize, listLines) : null;
 	}
 
 	@Override
-	public int getLinesConsumed() {
-		return mLinesConsumed;
+	public MarkdownItem toMarkdownItem(final List<? extends CharSequence> pMarkdownLines) {
+		final RuleMatch match = conforms(pMarkdownLines);
+		if (match == null) {
+			return new MarkdownList(false, 0);
+		}
+		return toMarkdownItem(pMarkdownLines, match);
 	}
 
 	@Override
-	public MarkdownItem toMarkdownItem(final List<String> pMarkdownLines) {
-		mMarkdownLines = pMarkdownLines;
-		mCurrentLine = 0;
-
-		MarkdownList list = new MarkdownList(isOrdered(mMarkdownLines.get(mCurrentLine)), 0);
-		parseMarkdownList(list, getNestingLevel(mMarkdownLines.get(mCurrentLine)));
-
+	public MarkdownItem toMarkdownItem(final List<? extends CharSequence> pMarkdownLines, final RuleMatch pMatch) {
+		if (pMatch == null || !(pMatch.getState() instanceof ListLines)) {
+			return toMarkdownItem(pMarkdownLines);
+		}
+		final ListLines listLines = (ListLines) pMatch.getState();
+		final int maxLevel = ParseLimits.current().getMaxListNesting();
+		final MarkdownList list = new MarkdownList(listLines.mOrdered[0], 0);
+		parseMarkdownList(listLines, list, Math.min(listLines.mLevels[0], maxLevel), maxLevel);
 		return list;
 	}
 
 	/**
-	 * Recursive method that constructs a MarkdownList from Markdown
+	 * Constructs a MarkdownList from the classified lines of a list. The lists that are open are kept on a stack
+	 * instead of recursing per nesting level, so lists of any depth can be parsed. A deeper item opens a list nested in
+	 * the last item of the current list, a shallower item closes lists until one at its level or above it is open.
 	 *
+	 * @param pListLines
+	 * 		The classified lines of the list
 	 * @param pMarkdownList
 	 * 		Root MarkdownList item
-	 * @param currentLevel
-	 * 		current nesting level
-	 * @return Returns a MarkdownList
+	 * @param pRootLevel
+	 * 		nesting level of the root list, parsing stops at an item that is less deep
+	 * @param pMaxLevel
+	 * 		maximum nesting level of the {@link ParseLimits}, deeper items are added to the list at this level
 	 */
-	private void parseMarkdownList(final MarkdownList pMarkdownList, int currentLevel) {
-		String line = mMarkdownLines.get(mCurrentLine);
-		while (isList(line)) {
-			final int level = getNestingLevel(line);
-			if (level > currentLevel) {
-				// Create sub-list
-				final MarkdownList childMarkdownList = new MarkdownList(isOrdered(line), level);
-				pMarkdownList.getLastListItem().addChild(childMarkdownList);
-				parseMarkdownList(childMarkdownList, level);
-			} else if (level == currentLevel) {
-				// Add a list item
-				pMarkdownList.addListItem(new ListItem(getTextForLine(line)));
-				mCurrentLine++;
-			} else {
-				break;
+	private void parseMarkdownList(final ListLines pListLines, final MarkdownList pMarkdownList, final int pRootLevel,
+			final int pMaxLevel) {
+		final List<MarkdownList> lists = new ArrayList<>();
+		int[] levels = new int[16];
+		lists.add(pMarkdownList);
+		levels[0] = pRootLevel;
+		for (int i = 0; i < pListLines.mSize; i++) {
+			final int level = Math.min(pListLines.mLevels[i], pMaxLevel);
+			int top = lists.size() - 1;
+			while (level < levels[top] && top > 0) {
+				lists.remove(top--);
 			}
-			if (mCurrentLine >= mMarkdownLines.size()) {
+			if (level < levels[top]) {
 				break;
 			}
-			line = mMarkdownLines.get(mCurrentLine);
-		}
-	}
-
-	/**
-	 * Determines if the line is an ordered list
-	 *
-	 * @param pLine
-	 * 		String containing a list item
-	 * @return Returns true if pLine is an ordered list, false if not
-	 */
-	private boolean isOrdered(String pLine) {
-		return ORDERED_LIST_PATTERN.matcher(pLine).matches();
-	}
-
-	/**
-	 * Determines if a string is part of a list
-	 *
-	 * @param pLine
-	 * 		String containing a possible list
-	 * @return Returns true if the string is a ordered or unordered list
-	 */
-	private boolean isList(String pLine) {
-		return ORDERED_LIST_PATTERN.matcher(pLine).matches()
-				|| UNORDERED_LIST_PATTERN.matcher(pLine).matches();
-	}
-
-	/**
-	 * Gets the nesting level of a list item
-	 *
-	 * @param pLine
-	 * 		String containing a list item
-	 * @return Returns an integer representing the nesting level of the list item
-	 */
-	private int getNestingLevel(String pLine) {
-		final Matcher matchingRegex = getMatchingMatcher(pLine);
-		if (matchingRegex != null) {
-			// 1st group contains the whitespace in front of the pattern
-			String group = matchingRegex.group(1);
-			if (group != null) {
-				final int level = matchingRegex.group(1).length();
-				return level / INDENT_SIZE;
+			if (level > levels[top]) {
+				// Create sub-list
+				final MarkdownList childMarkdownList = new MarkdownList(pListLines.mOrdered[i], level);
+				lists.get(top).getLastListItem().addChild(childMarkdownList);
+				lists.add(childMarkdownList);
+				if (++top == levels.length) {
+					levels = Arrays.copyOf(levels, levels.length * 2);
+				}
+				levels[top] = level;
 			}
+			lists.get(top).addListItem(new ListItem(pListLines.mTexts[i]));
 		}
-		return 0;
 	}
 
 	/**
-	 * Extracts the text of a list item using the correct regex group
-	 *
-	 * @param pLine
-	 * 		String that will be matched
-	 * @return Returns a String of the text group
+	 * Classification of the lines of a list by the {@link ListLineClassifier}, captured while checking if the lines
+	 * conform so the list can be built without classifying them again
 	 */
-	private String getTextForLine(String pLine) {
-		final Matcher matchingRegex = getMatchingMatcher(pLine);
-		if (matchingRegex != null) {
-			return matchingRegex.group(2).trim();
-		}
-		return pLine;
-	}
-
-	/**
-	 * Gets a Matcher that matches a regex pattern
-	 *
-	 * @param pLine
-	 * 		String of the line to match
-	 * @return Returns a matching Matcher or null
-	 */
-	private Matcher getMatchingMatcher(String pLine) {
-		Matcher matcher = ORDERED_LIST_PATTERN.matcher(pLine);
-		if (matcher.matches()) {
-			return matcher;
-		}
-
-		matcher = UNORDERED_LIST_PATTERN.matcher(pLine);
-		if (matcher.matches()) {
-			return matcher;
+	private static final class ListLines {
+
+		/** Whether each line is an ordered list item */
+		private boolean[] mOrdered = new boolean[8];
+
+		/** Nesting level of each line */
+		private int[] mLevels = new int[8];
+
+		/** Text of each list item */
+		private String[] mTexts = new String[8];
+
+		/** Amount of classified lines */
+		private int mSize;
+
+		/**
+		 * Classifies the next line of the list and adds it
+		 *
+		 * @param pLine
+		 * 		The next line
+		 * @return {@code true} if the line was added, {@code false} if it is not a list item and ends the list
+		 */
+		private boolean add(final CharSequence pLine) {
+			final ListLineClassifier.ListLine listLine = ListLineClassifier.classify(pLine);
+			if (listLine == null) {
+				return false;
+			}
+			if (mSize == mLevels.length) {
+				mOrdered = Arrays.copyOf(mOrdered, mSize * 2);
+				mLevels = Arrays.copyOf(mLevels, mSize * 2);
+				mTexts = Arrays.copyOf(mTexts, mSize * 2);
+			}
+			mOrdered[mSize] = listLine.isOrdered();
+			mLevels[mSize] = listLine.getIndent() / INDENT_SIZE;
+			mTexts[mSize] = listLine.getText(pLine);
+			mSize++;
+			return true;
 		}
-		return null;
 	}
 }
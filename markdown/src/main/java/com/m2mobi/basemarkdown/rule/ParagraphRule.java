@@ -26,6 +26,7 @@ package com.m2mobi.basemarkdown.rule;
 
 import com.m2mobi.markymark.item.MarkdownItem;
 import com.m2mobi.markymark.rules.Rule;
+import com.m2mobi.markymark.rules.RuleMatch;
 import com.m2mobi.markymarkcommon.markdownitems.Paragraph;
 import com.m2mobi.markymarkcommon.markdownitems.inline.InlineString;
 
@@ -37,18 +38,13 @@ import java.util.List;
 public class ParagraphRule implements Rule {
 
 	@Override
-	public boolean conforms(final List<String> pMarkdownLines) {
-		return true;
+	public RuleMatch conforms(final List<? extends CharSequence> pMarkdownLines) {
+		return RuleMatch.SINGLE_LINE;
 	}
 
 	@Override
-	public int getLinesConsumed() {
-		return 1;
-	}
-
-	@Override
-	public MarkdownItem toMarkdownItem(final List<String> pMarkdownLines) {
-		String line = pMarkdownLines.get(0);
+	public MarkdownItem toMarkdownItem(final List<? extends CharSequence> pMarkdownLines) {
+		String line = pMarkdownLines.get(0).toString();
 		return new Paragraph(new InlineString(line, true));
 	}
 }
\ No newline at end of file
@@ -26,36 +26,44 @@ package com.m2mobi.basemarkdown.rule;
 
 import com.m2mobi.markymark.item.MarkdownItem;
 import com.m2mobi.markymark.rules.Rule;
+import com.m2mobi.markymark.rules.RuleMatch;
 import com.m2mobi.markymarkcommon.markdownitems.QuoteBlock;
 
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
- * {@link Rule} that matches quotes
+ * {@link Rule} that matches quotes. Lines are scanned directly, matching the same lines as the pattern
+ * {@code (^>+)(.*?)$} did.
  */
 public class QuoteRule implements Rule {
 
-	/** Pattern used to find quotes */
-	private static final Pattern QUOTE_PATTERN = Pattern.compile("(^>+)(.*?)$");
+	@Override
+	public char[] getLeadingCharacters() {
+		return new char[] { '>' };
+	}
 
 	@Override
-	public boolean conforms(final List<String> pMarkdownLines) {
-		return QUOTE_PATTERN.matcher(pMarkdownLines.get(0)).matches();
+	public RuleMatch conforms(final List<? extends CharSequence> pMarkdownLines) {
+		final CharSequence line = pMarkdownLines.get(0);
+		final int contentOffset = LineScanner.countLeading(line, '>');
+		if (contentOffset == 0 || LineScanner.hasLineTerminator(line, contentOffset)) {
+			return null;
+		}
+		return new RuleMatch(1, contentOffset);
 	}
 
 	@Override
-	public int getLinesConsumed() {
-		return 1;
+	public MarkdownItem toMarkdownItem(final List<? extends CharSequence> pMarkdownLines) {
+		return toMarkdownItem(pMarkdownLines, conforms(pMarkdownLines));
 	}
 
 	@Override
-	public MarkdownItem toMarkdownItem(final List<String> pMarkdownLines) {
-		final Matcher matcher = QUOTE_PATTERN.matcher(pMarkdownLines.get(0));
-		if (matcher.find()) {
-			return new QuoteBlock(matcher.group(2));
+	public MarkdownItem toMarkdownItem(final List<? extends CharSequence> pMarkdownLines, final RuleMatch pMatch) {
+		final Integer contentOffset = pMatch != null ? (Integer) pMatch.getState() : null;
+		if (contentOffset == null) {
+			return new QuoteBlock("");
 		}
-		return new QuoteBlock("");
+		final CharSequence line = pMarkdownLines.get(0);
+		return new QuoteBlock(line.subSequence(contentOffset, line.length()).toString());
 	}
 }
\ No newline at end of file
@@ -28,6 +28,7 @@ import com.m2mobi.markymark.item.inline.MarkdownString;
 import com.m2mobi.markymark.rules.InlineRule;
 import com.m2mobi.markymarkcommon.markdownitems.inline.BoldString;
 
+import java.util.regex.MatchResult;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -42,6 +43,9 @@ public class BoldRule implements InlineRule {
 	/** Regex pattern used to match bold strings */
 	private final Pattern mBoldPattern;
 
+	/** The character of the pattern, every match starts with it */
+	private final char mTriggerCharacter;
+
 	/**
 	 * Creates a new BoldRule that matches on the given pattern e.g. ('*' or '_')
 	 *
@@ -51,6 +55,7 @@ public class BoldRule implements InlineRule {
 	public BoldRule(final String pPattern) {
 		final String escaped = Pattern.quote(pPattern);
 		mBoldPattern = Pattern.compile("(" + escaped + "{2})(.+?)(" + escaped + "{2})(?!" + escaped + ")");
+		mTriggerCharacter = pPattern.charAt(0);
 	}
 
 	@Override
@@ -58,13 +63,22 @@ public class BoldRule implements InlineRule {
 		return mBoldPattern;
 	}
 
+	@Override
+	public char[] getTriggerCharacters() {
+		return new char[] { mTriggerCharacter };
+	}
+
 	@Override
 	public MarkdownString toMarkdownString(String pContent) {
 		Matcher matcher = getRegex().matcher(pContent);
-		String content = "";
 		if (matcher.find()) {
-			content = matcher.group(2);
+			return toMarkdownString(matcher);
 		}
-		return new BoldString(content, true);
+		return new BoldString("", true);
+	}
+
+	@Override
+	public MarkdownString toMarkdownString(final MatchResult pMatch) {
+		return new BoldString(pMatch.group(2), true);
 	}
 }
\ No newline at end of file
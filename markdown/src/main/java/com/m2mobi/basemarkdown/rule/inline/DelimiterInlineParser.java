@@ -0,0 +1,628 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.basemarkdown.rule.inline;
+
+import com.m2mobi.markymark.CancellationToken;
+import com.m2mobi.markymark.InlineParser;
+import com.m2mobi.markymark.ParseLimits;
+import com.m2mobi.markymark.item.inline.MarkdownString;
+import com.m2mobi.markymark.item.inline.TextString;
+import com.m2mobi.markymarkcommon.markdownitems.inline.BoldString;
+import com.m2mobi.markymarkcommon.markdownitems.inline.CodeString;
+import com.m2mobi.markymarkcommon.markdownitems.inline.ItalicString;
+import com.m2mobi.markymarkcommon.markdownitems.inline.LinkString;
+import com.m2mobi.markymarkcommon.markdownitems.inline.StrikeString;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@link InlineParser} for the inline rules of the Markdown flavors that scans the content without regular
+ * expressions. A single pass collects the delimiter runs of {@code ~~}, {@code *}, {@code **}, {@code __} and
+ * backticks and the characters of links, after which every opening delimiter is paired with the nearest closing
+ * delimiter on the same line and links and short links are recognised by hand. This produces the same MarkdownStrings
+ * as {@link StrikeRule}, {@link ItalicRule}, {@link BoldRule}, {@link LinkRule}, {@link ShortLinkRule} with its URL
+ * check and {@link InlineCodeRule}, in that order, without the backtracking of their regular expressions. The content
+ * after the maximum amount of inline spans of the {@link ParseLimits} of the current parse is a single TextString, and
+ * a cancelled parse is stopped between matches.
+ */
+public final class DelimiterInlineParser implements InlineParser {
+
+	@Override
+	public List<MarkdownString> parseContent(final String pContent) {
+		return new Tokenizer(pContent).tokenize();
+	}
+
+	/**
+	 * Next match of a rule, the end of every part is exclusive
+	 */
+	private static final class Match {
+
+		/** Start of the match, or {@link Tokenizer#NONE} when the rule has no next match */
+		int mStart;
+
+		int mEnd;
+
+		int mContentStart;
+
+		int mContentEnd;
+
+		int mUrlStart;
+
+		int mUrlEnd;
+
+		/** Start of the title of a link, or {@link Tokenizer#NONE} when the link has no title */
+		int mTitleStart;
+
+		int mTitleEnd;
+	}
+
+	/**
+	 * Ascending indices in the content at which a kind of delimiter starts
+	 */
+	private static final class Positions {
+
+		private int[] mIndices = new int[8];
+
+		private int mSize;
+
+		void add(final int pIndex) {
+			if (mSize == mIndices.length) {
+				mIndices = Arrays.copyOf(mIndices, mSize * 2);
+			}
+			mIndices[mSize++] = pIndex;
+		}
+
+		/**
+		 * @param pFrom
+		 * 		Index in the content
+		 * @param pNone
+		 * 		Value to return when there is no next position
+		 * @return Returns the first position at or after the index
+		 */
+		int next(final int pFrom, final int pNone) {
+			int low = 0;
+			int high = mSize;
+			while (low < high) {
+				final int middle = (low + high) >>> 1;
+				if (mIndices[middle] < pFrom) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+			return low < mSize ? mIndices[low] : pNone;
+		}
+
+		/**
+		 * @param pBefore
+		 * 		Index in the content
+		 * @return Returns the last position before the index, or {@link Tokenizer#NONE}
+		 */
+		int previous(final int pBefore) {
+			int low = 0;
+			int high = mSize;
+			while (low < high) {
+				final int middle = (low + high) >>> 1;
+				if (mIndices[middle] < pBefore) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+			return low > 0 ? mIndices[low - 1] : Tokenizer.NONE;
+		}
+	}
+
+	/**
+	 * Splits a single String, the rules are searched in the order of the Markdown flavors and the first match in the
+	 * content wins
+	 */
+	private static final class Tokenizer {
+
+		static final int NONE = -1;
+
+		private static final int STRIKE = 0;
+		private static final int ITALIC = 1;
+		private static final int BOLD_ASTERISK = 2;
+		private static final int BOLD_UNDERSCORE = 3;
+		private static final int LINK = 4;
+		private static final int SHORT_LINK = 5;
+		private static final int CODE = 6;
+		private static final int RULE_COUNT = 7;
+
+		private final String mContent;
+
+		private final int mLength;
+
+		/** Next match of every rule */
+		private final Match[] mMatches = new Match[RULE_COUNT];
+
+		/** Characters that {@code .} doesn't match */
+		private final Positions mLineTerminators = new Positions();
+
+		/** {@code ~~} */
+		private final Positions mTildePairs = new Positions();
+
+		/** {@code **} */
+		private final Positions mAsteriskPairs = new Positions();
+
+		/** {@code **} that is not followed by another {@code *} */
+		private final Positions mAsteriskPairClosers = new Positions();
+
+		/** {@code __} */
+		private final Positions mUnderscorePairs = new Positions();
+
+		/** {@code __} that is not followed by another {@code _} */
+		private final Positions mUnderscorePairClosers = new Positions();
+
+		/** {@code *} that is followed by another character than {@code *} */
+		private final Positions mItalicOpeners = new Positions();
+
+		/** {@code *} that is neither preceded nor followed by another {@code *} */
+		private final Positions mItalicClosers = new Positions();
+
+		/** {@code [} */
+		private final Positions mBrackets = new Positions();
+
+		/** {@code ](} */
+		private final Positions mLinkMiddles = new Positions();
+
+		/** {@code )} */
+		private final Positions mParentheses = new Positions();
+
+		/** A space followed by a quote */
+		private final Positions mTitleStarts = new Positions();
+
+		/** A quote followed by {@code )} */
+		private final Positions mTitleEnds = new Positions();
+
+		/** {@code <} */
+		private final Positions mOpeningAngleBrackets = new Positions();
+
+		/** {@code >} */
+		private final Positions mClosingAngleBrackets = new Positions();
+
+		/** Backtick */
+		private final Positions mBackticks = new Positions();
+
+		/** Start of the last run of non whitespace that was scanned for a short link */
+		private int mRunStart = NONE;
+
+		/** End of the run starting at {@link #mRunStart}, short links in the run share it */
+		private int mRunEnd = NONE;
+
+		Tokenizer(final String pContent) {
+			mContent = pContent;
+			mLength = pContent.length();
+			for (int rule = 0; rule < RULE_COUNT; rule++) {
+				mMatches[rule] = new Match();
+			}
+			for (int i = 0; i < mLength; i++) {
+				collect(i, mContent.charAt(i));
+			}
+		}
+
+		/**
+		 * Adds the index to the positions of the delimiters that start at it
+		 *
+		 * @param pIndex
+		 * 		Index in the content
+		 * @param pCharacter
+		 * 		The character at the index
+		 */
+		private void collect(final int pIndex, final char pCharacter) {
+			switch (pCharacter) {
+				case '~':
+					if (isFollowedBy(pIndex, '~')) {
+						mTildePairs.add(pIndex);
+					}
+					break;
+				case '*':
+					if (isFollowedBy(pIndex, '*')) {
+						mAsteriskPairs.add(pIndex);
+						if (!isFollowedBy(pIndex + 1, '*')) {
+							mAsteriskPairClosers.add(pIndex);
+						}
+					} else {
+						if (pIndex + 1 < mLength) {
+							mItalicOpeners.add(pIndex);
+						}
+						if (pIndex > 0 && mContent.charAt(pIndex - 1) != '*') {
+							mItalicClosers.add(pIndex);
+						}
+					}
+					break;
+				case '_':
+					if (isFollowedBy(pIndex, '_')) {
+						mUnderscorePairs.add(pIndex);
+						if (!isFollowedBy(pIndex + 1, '_')) {
+							mUnderscorePairClosers.add(pIndex);
+						}
+					}
+					break;
+				case '[':
+					mBrackets.add(pIndex);
+					break;
+				case ']':
+					if (isFollowedBy(pIndex, '(')) {
+						mLinkMiddles.add(pIndex);
+					}
+					break;
+				case ')':
+					mParentheses.add(pIndex);
+					break;
+				case ' ':
+					if (isFollowedBy(pIndex, '"')) {
+						mTitleStarts.add(pIndex);
+					}
+					break;
+				case '"':
+					if (isFollowedBy(pIndex, ')')) {
+						mTitleEnds.add(pIndex);
+					}
+					break;
+				case '<':
+					mOpeningAngleBrackets.add(pIndex);
+					break;
+				case '>':
+					mClosingAngleBrackets.add(pIndex);
+					break;
+				case '`':
+					mBackticks.add(pIndex);
+					break;
+				default:
+					if (isLineTerminator(pCharacter)) {
+						mLineTerminators.add(pIndex);
+					}
+					break;
+			}
+		}
+
+		List<MarkdownString> tokenize() {
+			final List<MarkdownString> markdownStrings = new ArrayList<>();
+			if (mLength == 0) {
+				return markdownStrings;
+			}
+
+			for (int rule = 0; rule < RULE_COUNT; rule++) {
+				search(rule, 0);
+			}
+			final int maxSpans = ParseLimits.current().getMaxInlineSpans();
+			final CancellationToken cancellationToken = CancellationToken.current();
+			int position = 0;
+			while (position < mLength) {
+				if (cancellationToken != null) {
+					cancellationToken.throwIfCancelled();
+				}
+				if (position > 0) {
+					update(position);
+				}
+				// A match can add text before it and leave text after it, so only match while three spans fit
+				final int first = markdownStrings.size() + 2 < maxSpans ? findFirstMatch() : -1;
+				if (first < 0) {
+					markdownStrings.add(new TextString(mContent.substring(position), false));
+					break;
+				}
+				final Match match = mMatches[first];
+				if (match.mStart > position) {
+					markdownStrings.add(new TextString(mContent.substring(position, match.mStart), false));
+				}
+				markdownStrings.add(toMarkdownString(first, match));
+				position = match.mEnd;
+			}
+			return markdownStrings;
+		}
+
+		/**
+		 * @return Returns the rule whose next match starts first, the first rule when matches start at the same index,
+		 * or -1 if no rule matches
+		 */
+		private int findFirstMatch() {
+			int first = -1;
+			for (int rule = 0; rule < RULE_COUNT; rule++) {
+				final int start = mMatches[rule].mStart;
+				if (start != NONE && (first < 0 || start < mMatches[first].mStart)) {
+					first = rule;
+				}
+			}
+			return first;
+		}
+
+		/**
+		 * Searches the rules whose next match overlaps the consumed text again. Italic text and links can't start
+		 * after an '*' or '!', which no longer applies at the new position, so those are also tried at the position.
+		 *
+		 * @param pPosition
+		 * 		Index in the content after the last match
+		 */
+		private void update(final int pPosition) {
+			for (int rule = 0; rule < RULE_COUNT; rule++) {
+				final int start = mMatches[rule].mStart;
+				if (start != NONE && start < pPosition) {
+					search(rule, pPosition);
+				} else if (start != pPosition) {
+					if (rule == ITALIC && mItalicOpeners.next(pPosition, NONE) == pPosition) {
+						matchItalic(pPosition, pPosition);
+					} else if (rule == LINK && mBrackets.next(pPosition, NONE) == pPosition) {
+						matchLink(pPosition, pPosition);
+					}
+				}
+			}
+		}
+
+		/**
+		 * Finds the next match of a rule
+		 *
+		 * @param pRule
+		 * 		The rule to search
+		 * @param pFrom
+		 * 		Index in the content from which to search, text before it is not visible to the rule
+		 */
+		private void search(final int pRule, final int pFrom) {
+			mMatches[pRule].mStart = NONE;
+			int from = pFrom;
+			while (from >= 0 && from < mLength) {
+				switch (pRule) {
+					case STRIKE:
+						from = matchDelimited(STRIKE, mTildePairs.next(from, mLength), 2, mTildePairs);
+						break;
+					case ITALIC:
+						from = matchItalic(mItalicOpeners.next(from, mLength), pFrom);
+						break;
+					case BOLD_ASTERISK:
+						from = matchDelimited(BOLD_ASTERISK, mAsteriskPairs.next(from, mLength), 2, mAsteriskPairClosers);
+						break;
+					case BOLD_UNDERSCORE:
+						from = matchDelimited(BOLD_UNDERSCORE, mUnderscorePairs.next(from, mLength), 2,
+								mUnderscorePairClosers);
+						break;
+					case LINK:
+						from = matchLink(mBrackets.next(from, mLength), pFrom);
+						break;
+					case SHORT_LINK:
+						from = matchShortLink(mOpeningAngleBrackets.next(from, mLength));
+						break;
+					default:
+						from = matchDelimited(CODE, mBackticks.next(from, mLength), 1, mBackticks);
+						break;
+				}
+			}
+		}
+
+		/**
+		 * Matches a delimiter, at least one character on the same line and the first closing delimiter after it, like
+		 * {@code ~{2}(.+?)~{2}}. Inline code may be empty, like {@code `(.*?)`}.
+		 *
+		 * @param pRule
+		 * 		The rule to match
+		 * @param pStart
+		 * 		Index of the opening delimiter
+		 * @param pDelimiterLength
+		 * 		Length of the opening and closing delimiters
+		 * @param pClosers
+		 * 		Positions of the closing delimiters
+		 * @return Returns -1 when the rule matched, otherwise the index from which to search the next opening delimiter
+		 */
+		private int matchDelimited(final int pRule, final int pStart, final int pDelimiterLength,
+				final Positions pClosers) {
+			if (pStart >= mLength) {
+				return mLength;
+			}
+			final int contentStart = pStart + pDelimiterLength;
+			final int lineEnd = mLineTerminators.next(contentStart, mLength);
+			final int minimumContent = pRule == CODE ? 0 : 1;
+			final int close = pClosers.next(contentStart + minimumContent, mLength);
+			if (close >= lineEnd) {
+				// Later delimiters on this line have no closer after them either
+				return lineEnd + 1;
+			}
+			final Match match = mMatches[pRule];
+			match.mStart = pStart;
+			match.mEnd = close + pDelimiterLength;
+			match.mContentStart = contentStart;
+			match.mContentEnd = close;
+			return -1;
+		}
+
+		/**
+		 * Matches italic text, like {@code (?<!\*)(\*{1})(?!\*)(.+?)(?<!\*)(\*{1})(?!\*)}
+		 *
+		 * @param pStart
+		 * 		Index of an '*' that is followed by another character
+		 * @param pRegionStart
+		 * 		Index before which the rule can't see the content
+		 * @return Returns -1 when the rule matched, otherwise the index from which to search the next opener
+		 */
+		private int matchItalic(final int pStart, final int pRegionStart) {
+			if (pStart >= mLength) {
+				return mLength;
+			}
+			if (pStart > pRegionStart && mContent.charAt(pStart - 1) == '*') {
+				return pStart + 1;
+			}
+			final int lineEnd = mLineTerminators.next(pStart + 1, mLength);
+			final int close = mItalicClosers.next(pStart + 2, mLength);
+			if (close >= lineEnd) {
+				return lineEnd + 1;
+			}
+			final Match match = mMatches[ITALIC];
+			match.mStart = pStart;
+			match.mEnd = close + 1;
+			match.mContentStart = pStart + 1;
+			match.mContentEnd = close;
+			return -1;
+		}
+
+		/**
+		 * Matches a link, like {@code (?<!!)\[(.+?)]\((.+?)(?: "(.+?)")?\)}. The text and URL are as short as possible
+		 * and the first ')' or title after the URL ends the link, a title wins when it starts before the ')'.
+		 *
+		 * @param pStart
+		 * 		Index of a '['
+		 * @param pRegionStart
+		 * 		Index before which the rule can't see the content
+		 * @return Returns -1 when the rule matched, otherwise the index from which to search the next '['
+		 */
+		private int matchLink(final int pStart, final int pRegionStart) {
+			if (pStart >= mLength) {
+				return mLength;
+			}
+			if (pStart > pRegionStart && mContent.charAt(pStart - 1) == '!') {
+				return pStart + 1;
+			}
+			final int lineEnd = mLineTerminators.next(pStart + 1, mLength);
+			final int middle = mLinkMiddles.next(pStart + 2, mLength);
+			if (middle < lineEnd) {
+				final int urlStart = middle + 2;
+				final int parenthesis = mParentheses.next(urlStart + 1, mLength);
+				final int titleStart = mTitleStarts.next(urlStart + 1, mLength);
+				if (titleStart < parenthesis && titleStart < lineEnd) {
+					final int titleEnd = mTitleEnds.next(titleStart + 3, mLength);
+					if (titleEnd < lineEnd) {
+						setLink(pStart, titleEnd + 2, middle, titleStart);
+						mMatches[LINK].mTitleStart = titleStart + 2;
+						mMatches[LINK].mTitleEnd = titleEnd;
+						return -1;
+					}
+				}
+				if (parenthesis < lineEnd) {
+					setLink(pStart, parenthesis + 1, middle, parenthesis);
+					mMatches[LINK].mTitleStart = NONE;
+					return -1;
+				}
+			}
+			// Later links on this line can't find a ')' or title that this one didn't
+			return lineEnd + 1;
+		}
+
+		private void setLink(final int pStart, final int pEnd, final int pMiddle, final int pUrlEnd) {
+			final Match match = mMatches[LINK];
+			match.mStart = pStart;
+			match.mEnd = pEnd;
+			match.mContentStart = pStart + 1;
+			match.mContentEnd = pMiddle;
+			match.mUrlStart = pMiddle + 2;
+			match.mUrlEnd = pUrlEnd;
+		}
+
+		/**
+		 * Matches a short link with a URL, like {@code <(\w+://[^\s/$.?#].[^\s]*)>}. The URL runs up to the last '>'
+		 * before the next whitespace.
+		 *
+		 * @param pStart
+		 * 		Index of a '<'
+		 * @return Returns -1 when the rule matched, otherwise the index from which to search the next '<'
+		 */
+		private int matchShortLink(final int pStart) {
+			if (pStart >= mLength) {
+				return mLength;
+			}
+			int schemeEnd = pStart + 1;
+			while (schemeEnd < mLength && isWordCharacter(mContent.charAt(schemeEnd))) {
+				schemeEnd++;
+			}
+			if (schemeEnd == pStart + 1 || schemeEnd + 4 >= mLength || !mContent.startsWith("://", schemeEnd)) {
+				return pStart + 1;
+			}
+			final char host = mContent.charAt(schemeEnd + 3);
+			if (isWhitespace(host) || "/$.?#".indexOf(host) >= 0 || isLineTerminator(mContent.charAt(schemeEnd + 4))) {
+				return pStart + 1;
+			}
+			final int runStart = schemeEnd + 5;
+			if (runStart < mRunStart || runStart > mRunEnd) {
+				mRunStart = runStart;
+				mRunEnd = runStart;
+				while (mRunEnd < mLength && !isWhitespace(mContent.charAt(mRunEnd))) {
+					mRunEnd++;
+				}
+			}
+			final int close = mClosingAngleBrackets.previous(mRunEnd);
+			if (close < runStart) {
+				return pStart + 1;
+			}
+			final Match match = mMatches[SHORT_LINK];
+			match.mStart = pStart;
+			match.mEnd = close + 1;
+			match.mUrlStart = pStart + 1;
+			match.mUrlEnd = close;
+			return -1;
+		}
+
+		private boolean isFollowedBy(final int pIndex, final char pCharacter) {
+			return pIndex + 1 < mLength && mContent.charAt(pIndex + 1) == pCharacter;
+		}
+
+		private MarkdownString toMarkdownString(final int pRule, final Match pMatch) {
+			switch (pRule) {
+				case STRIKE:
+					return new StrikeString(substring(pMatch.mContentStart, pMatch.mContentEnd), true);
+				case ITALIC:
+					return new ItalicString(substring(pMatch.mContentStart, pMatch.mContentEnd), true);
+				case BOLD_ASTERISK:
+				case BOLD_UNDERSCORE:
+					return new BoldString(substring(pMatch.mContentStart, pMatch.mContentEnd), true);
+				case LINK:
+					return new LinkString(substring(pMatch.mUrlStart, pMatch.mUrlEnd),
+							pMatch.mTitleStart == NONE ? "" : substring(pMatch.mTitleStart, pMatch.mTitleEnd),
+							substring(pMatch.mContentStart, pMatch.mContentEnd));
+				case SHORT_LINK:
+					final String url = substring(pMatch.mUrlStart, pMatch.mUrlEnd);
+					return new LinkString(url, url, url);
+				default:
+					return new CodeString(substring(pMatch.mContentStart, pMatch.mContentEnd), false);
+			}
+		}
+
+		private String substring(final int pStart, final int pEnd) {
+			return mContent.substring(pStart, pEnd);
+		}
+
+		/**
+		 * @return Returns true for the characters that {@code .} doesn't match
+		 */
+		private static boolean isLineTerminator(final char pCharacter) {
+			return pCharacter == '\n' || pCharacter == '\r' || pCharacter == '\u0085' ||
+					pCharacter == '\u2028' || pCharacter == '\u2029';
+		}
+
+		/**
+		 * @return Returns true for the characters that {@code \s} matches
+		 */
+		private static boolean isWhitespace(final char pCharacter) {
+			return pCharacter == ' ' || pCharacter == '\t' || pCharacter == '\n' || pCharacter == '\u000B' ||
+					pCharacter == '\f' || pCharacter == '\r';
+		}
+
+		/**
+		 * @return Returns true for the characters that {@code \w} matches
+		 */
+		private static boolean isWordCharacter(final char pCharacter) {
+			return pCharacter >= 'a' && pCharacter <= 'z' || pCharacter >= 'A' && pCharacter <= 'Z' ||
+					pCharacter >= '0' && pCharacter <= '9' || pCharacter == '_';
+		}
+	}
+}
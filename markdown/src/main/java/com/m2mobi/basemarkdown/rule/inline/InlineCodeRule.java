@@ -28,6 +28,7 @@ import com.m2mobi.markymark.item.inline.MarkdownString;
 import com.m2mobi.markymark.rules.InlineRule;
 import com.m2mobi.markymarkcommon.markdownitems.inline.CodeString;
 
+import java.util.regex.MatchResult;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -36,17 +37,30 @@ import java.util.regex.Pattern;
  */
 public class InlineCodeRule implements InlineRule {
 
+	/** Regex pattern used to match inline code */
+	private static final Pattern CODE_PATTERN = Pattern.compile("`(.*?)`");
+
 	@Override
 	public Pattern getRegex() {
-		return Pattern.compile("`(.*?)`");
+		return CODE_PATTERN;
+	}
+
+	@Override
+	public char[] getTriggerCharacters() {
+		return new char[] { '`' };
 	}
 
 	@Override
 	public MarkdownString toMarkdownString(final String content) {
 		final Matcher matcher = getRegex().matcher(content);
 		if (matcher.find()) {
-			return new CodeString(matcher.group(1), false);
+			return toMarkdownString(matcher);
 		}
 		return new CodeString("", false);
 	}
+
+	@Override
+	public MarkdownString toMarkdownString(final MatchResult pMatch) {
+		return new CodeString(pMatch.group(1), false);
+	}
 }
\ No newline at end of file
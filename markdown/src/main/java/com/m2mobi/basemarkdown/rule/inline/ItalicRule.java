@@ -28,6 +28,7 @@ import com.m2mobi.markymark.item.inline.MarkdownString;
 import com.m2mobi.markymark.rules.InlineRule;
 import com.m2mobi.markymarkcommon.markdownitems.inline.ItalicString;
 
+import java.util.regex.MatchResult;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -36,18 +37,30 @@ import java.util.regex.Pattern;
  */
 public class ItalicRule implements InlineRule {
 
+	/** Regex pattern used to match italic strings */
+	private static final Pattern ITALIC_PATTERN = Pattern.compile("(?<!\\*)(\\*{1})(?!\\*)(.+?)(?<!\\*)(\\*{1})(?!\\*)");
+
 	@Override
 	public Pattern getRegex() {
-		return Pattern.compile("(?<!\\*)(\\*{1})(?!\\*)(.+?)(?<!\\*)(\\*{1})(?!\\*)");
+		return ITALIC_PATTERN;
+	}
+
+	@Override
+	public char[] getTriggerCharacters() {
+		return new char[] { '*' };
 	}
 
 	@Override
 	public MarkdownString toMarkdownString(String pContent) {
 		Matcher matcher = getRegex().matcher(pContent);
-		String content = "";
 		if (matcher.find()) {
-			content = matcher.group(2);
+			return toMarkdownString(matcher);
 		}
-		return new ItalicString(content, true);
+		return new ItalicString("", true);
+	}
+
+	@Override
+	public MarkdownString toMarkdownString(final MatchResult pMatch) {
+		return new ItalicString(pMatch.group(2), true);
 	}
 }
\ No newline at end of file
@@ -27,6 +27,7 @@ package com.m2mobi.basemarkdown.rule.inline
 import com.m2mobi.markymark.item.inline.MarkdownString
 import com.m2mobi.markymark.rules.InlineRule
 import com.m2mobi.markymarkcommon.markdownitems.inline.LinkString
+import java.util.regex.MatchResult
 import java.util.regex.Pattern
 
 /**
@@ -37,20 +38,45 @@ object LinkRule : InlineRule {
     /**
      * A Regex to detect links. Ignores if they start with a "!" as those are image links.
      */
-    override fun getRegex(): Pattern = Pattern.compile(PATTERN)
+    override fun getRegex(): Pattern = pattern
+
+    override fun getTriggerCharacters() = charArrayOf('[')
 
     override fun toMarkdownString(content: String): MarkdownString {
         val matcher = regex.matcher(content)
         return if (matcher.find()) {
-            LinkString(
-                url = matcher.group(2),
-                title = matcher.group(3) ?: "",
-                content = matcher.group(1)
-            )
+            toMarkdownString(matcher)
         } else {
             LinkString()
         }
     }
 
-    private const val PATTERN = "(?<!!)\\[(.+?)]\\((.+?)(?: \"(.+?)\")?\\)"
+    override fun toMarkdownString(match: MatchResult): MarkdownString = LinkString(
+        url = match.group(2),
+        title = match.group(3) ?: "",
+        content = match.group(1)
+    )
+
+    /** Line breaks, which `.` does not match */
+    private const val LINE_BREAKS = "\\n\\r\\u0085\\u2028\\u2029"
+
+    /**
+     * The link text up to the first `](`. It is atomic, because when no link closes after the first `](` no link
+     * closes after a later one either.
+     */
+    private const val TEXT = "\\[(?>(.+?)]\\()"
+
+    /** A url that is followed by a title: a ` "` comes before the first `)` and a `")` comes after it */
+    private const val URL_WITH_TITLE = "(?=(?>.[^)$LINE_BREAKS]*? \")(?=.*?\"\\))).+?"
+
+    /** A url without a title, it possessively runs up to the first `)` */
+    private const val URL_WITHOUT_TITLE = ".[^)$LINE_BREAKS]*+"
+
+    /**
+     * Matches the same links as `(?<!!)\[(.+?)]\((.+?)(?: "(.+?)")?\)` without its backtracking on unclosed links,
+     * see LinkPatternTest
+     */
+    private const val PATTERN = "(?<!!)$TEXT($URL_WITH_TITLE|$URL_WITHOUT_TITLE)(?: \"(.+?)\")?\\)"
+
+    private val pattern = Pattern.compile(PATTERN)
 }
\ No newline at end of file
@@ -27,6 +27,7 @@ package com.m2mobi.basemarkdown.rule.inline
 import com.m2mobi.markymark.item.inline.MarkdownString
 import com.m2mobi.markymark.rules.InlineRule
 import com.m2mobi.markymarkcommon.markdownitems.inline.LinkString
+import java.util.regex.MatchResult
 import java.util.regex.Pattern
 
 /**
@@ -46,20 +47,26 @@ class ShortLinkRule(enableUrlCheck: Boolean = true) : InlineRule {
      */
     override fun getRegex(): Pattern = pattern
 
+    override fun getTriggerCharacters() = charArrayOf('<')
+
     override fun toMarkdownString(content: String): MarkdownString {
         val matcher = regex.matcher(content)
         return if (matcher.find()) {
-            val url = matcher.group(1)
-            LinkString(
-                url = url,
-                title = url,
-                content = url
-            )
+            toMarkdownString(matcher)
         } else {
             LinkString()
         }
     }
 
+    override fun toMarkdownString(match: MatchResult): MarkdownString {
+        val url = match.group(1)
+        return LinkString(
+            url = url,
+            title = url,
+            content = url
+        )
+    }
+
     companion object {
 
         /**
@@ -28,6 +28,7 @@ import com.m2mobi.markymark.item.inline.MarkdownString;
 import com.m2mobi.markymark.rules.InlineRule;
 import com.m2mobi.markymarkcommon.markdownitems.inline.StrikeString;
 
+import java.util.regex.MatchResult;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -36,18 +37,30 @@ import java.util.regex.Pattern;
  */
 public class StrikeRule implements InlineRule {
 
+	/** Regex pattern used to match strike through strings */
+	private static final Pattern STRIKE_PATTERN = Pattern.compile("~{2}(.+?)~{2}");
+
 	@Override
 	public Pattern getRegex() {
-		return Pattern.compile("~{2}(.+?)~{2}");
+		return STRIKE_PATTERN;
+	}
+
+	@Override
+	public char[] getTriggerCharacters() {
+		return new char[] { '~' };
 	}
 
 	@Override
 	public MarkdownString toMarkdownString(final String pContent) {
 		Matcher matcher = getRegex().matcher(pContent);
-		String content = "";
 		if (matcher.find()) {
-			content = matcher.group(1);
+			return toMarkdownString(matcher);
 		}
-		return new StrikeString(content, true);
+		return new StrikeString("", true);
+	}
+
+	@Override
+	public MarkdownString toMarkdownString(final MatchResult pMatch) {
+		return new StrikeString(pMatch.group(1), true);
 	}
 }
\ No newline at end of file
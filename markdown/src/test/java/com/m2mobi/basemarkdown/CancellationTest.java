@@ -0,0 +1,275 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.basemarkdown;
+
+import com.m2mobi.basemarkdown.rule.ParagraphRule;
+import com.m2mobi.markymark.CancellationToken;
+import com.m2mobi.markymark.CancellationToken.ParseCancelledException;
+import com.m2mobi.markymark.InlineConverter;
+import com.m2mobi.markymark.MarkyMark;
+import com.m2mobi.markymark.RegexInlineParser;
+import com.m2mobi.markymark.item.MarkdownItem;
+import com.m2mobi.markymark.item.inline.MarkdownString;
+import com.m2mobi.markymark.rules.InlineRule;
+import com.m2mobi.markymark.rules.Rule;
+import com.m2mobi.markymark.rules.RuleMatch;
+import com.m2mobi.markymarkcommon.markdownitems.Paragraph;
+import com.m2mobi.markymarkcommon.markdownitems.inline.InlineString;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for stopping a parse with a {@link CancellationToken}
+ */
+public class CancellationTest {
+
+	private final CancellationToken mToken = new CancellationToken();
+
+	private final AtomicInteger mParagraphs = new AtomicInteger();
+
+	@Test
+	public void shouldNotParseWithCancelledToken() {
+		mToken.cancel();
+
+		final ParseCancelledException exception = assertThrows(ParseCancelledException.class,
+				() -> build(new ItemConverter()).parseMarkdownCancellable("Paragraph", mToken));
+		assertTrue(exception instanceof CancellationException);
+		assertEquals(0, mParagraphs.get());
+		assertNull(CancellationToken.current());
+	}
+
+	@Test
+	public void shouldParseWithTokenThatIsNotCancelled() {
+		final MarkyMark<MarkdownItem> markyMark = build(new ItemConverter());
+		final String markdown = "# Header\nSome **bold** text\n- Item 1\n- Item 2\n";
+
+		assertEquals(ItemDescriptions.describe(markyMark.parseMarkdown(markdown)),
+				ItemDescriptions.describe(markyMark.parseMarkdownCancellable(markdown, mToken)));
+	}
+
+	@Test
+	public void shouldStopBetweenBlocks() {
+		final MarkyMark<MarkdownItem> markyMark = new MarkyMark.Builder<MarkdownItem>()
+				.addFlavor(MarkdownFlavor.INSTANCE)
+				.setDefaultRule(new ParagraphRule() {
+
+					@Override
+					public RuleMatch conforms(final List<? extends CharSequence> pMarkdownLines) {
+						if (mParagraphs.incrementAndGet() == 3) {
+							mToken.cancel();
+						}
+						return super.conforms(pMarkdownLines);
+					}
+				})
+				.setConverter(new ItemConverter())
+				.setInlineConverter(new InlineConverter<>())
+				.build();
+
+		assertThrows(ParseCancelledException.class,
+				() -> markyMark.parseMarkdownCancellable("a\nb\nc\nd\ne\n", mToken));
+		assertEquals(3, mParagraphs.get());
+	}
+
+	@Test
+	public void shouldStopReadingWhenCancelled() {
+		final List<MarkdownItem> items = new ArrayList<>();
+		final MarkyMark<MarkdownItem> markyMark = build(new ItemConverter());
+
+		final StringReader reader = new StringReader("a\nb\nc\nd\n");
+		assertThrows(ParseCancelledException.class, () -> markyMark.parseMarkdownCancellable(reader, pItem -> {
+			items.add(pItem);
+			if (items.size() == 2) {
+				mToken.cancel();
+			}
+		}, mToken));
+		assertEquals(2, items.size());
+	}
+
+	@Test
+	public void shouldStopSlowRuleWhenCancelled() {
+		final MarkyMark<MarkdownItem> markyMark = new MarkyMark.Builder<MarkdownItem>()
+				.addFlavor(MarkdownFlavor.INSTANCE)
+				.addRule(new BacktrackingRule())
+				.setConverter(new ItemConverter())
+				.setInlineConverter(new InlineConverter<>())
+				.build();
+		final StringBuilder markdown = new StringBuilder();
+		for (int i = 0; i < 40; i++) {
+			markdown.append('a');
+		}
+		final Thread canceller = new Thread(() -> {
+			try {
+				Thread.sleep(100);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			mToken.cancel();
+		});
+		canceller.start();
+
+		assertTimeoutPreemptively(Duration.ofSeconds(10),
+				() -> assertThrows(ParseCancelledException.class,
+						() -> markyMark.parseMarkdownCancellable(markdown.toString(), mToken)));
+	}
+
+	@Test
+	public void shouldStopBetweenInlineMatches() {
+		final AtomicInteger matches = new AtomicInteger();
+		final InlineRule cancellingRule = new InlineRule() {
+
+			private final Pattern mPattern = Pattern.compile("!");
+
+			@Override
+			public Pattern getRegex() {
+				return mPattern;
+			}
+
+			@Override
+			public MarkdownString toMarkdownString(final String pContent) {
+				matches.incrementAndGet();
+				mToken.cancel();
+				return new InlineString(pContent, false);
+			}
+		};
+		final InlineConverter<Object> inlineConverter = new InlineConverter<>();
+		final MarkyMark<MarkdownItem> markyMark = build(new ItemConverter() {
+
+			@Override
+			public MarkdownItem convert(final MarkdownItem pMarkdownItem, final InlineConverter pInlineConverter) {
+				pInlineConverter.parseContent(((Paragraph) pMarkdownItem).getContent().getContent());
+				return pMarkdownItem;
+			}
+		}, inlineConverter);
+		inlineConverter.setInlineParser(new RegexInlineParser(Collections.singletonList(cancellingRule)));
+
+		assertThrows(ParseCancelledException.class,
+				() -> markyMark.parseMarkdownCancellable("Hey! Stop! Now!", mToken));
+		assertEquals(1, matches.get());
+	}
+
+	@Test
+	public void shouldStopParallelConversionBetweenItems() {
+		final AtomicInteger converted = new AtomicInteger();
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			final MarkyMark<MarkdownItem> markyMark = new MarkyMark.Builder<MarkdownItem>()
+					.addFlavor(MarkdownFlavor.INSTANCE)
+					.setConverter(new ItemConverter() {
+
+						@Override
+						public MarkdownItem convert(final MarkdownItem pMarkdownItem, final InlineConverter pInlineConverter) {
+							if (converted.incrementAndGet() == 10) {
+								mToken.cancel();
+							}
+							return pMarkdownItem;
+						}
+					})
+					.setInlineConverter(new InlineConverter<>())
+					.setExecutor(pool)
+					.build();
+			final StringBuilder markdown = new StringBuilder();
+			for (int i = 0; i < 5_000; i++) {
+				markdown.append("Paragraph ").append(i).append("\n\n");
+			}
+
+			assertThrows(ParseCancelledException.class,
+					() -> markyMark.parseMarkdownCancellable(markdown.toString(), mToken));
+			// Every batch that was running when the token was cancelled stops at its next item
+			assertTrue(converted.get() < 10 + 4 * 16, String.valueOf(converted.get()));
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	public void shouldCancelWithFuture() {
+		final CompletableFuture<List<MarkdownItem>> future = new CompletableFuture<>();
+		future.cancel(false);
+
+		assertThrows(ParseCancelledException.class,
+				() -> build(new ItemConverter()).parseMarkdownCancellable("Paragraph", new CancellationToken(future)));
+	}
+
+	private MarkyMark<MarkdownItem> build(final ItemConverter pConverter) {
+		return build(pConverter, new InlineConverter<>());
+	}
+
+	private MarkyMark<MarkdownItem> build(final ItemConverter pConverter, final InlineConverter<Object> pInlineConverter) {
+		return new MarkyMark.Builder<MarkdownItem>()
+				.addFlavor(MarkdownFlavor.INSTANCE)
+				.setDefaultRule(new ParagraphRule() {
+
+					@Override
+					public RuleMatch conforms(final List<? extends CharSequence> pMarkdownLines) {
+						mParagraphs.incrementAndGet();
+						return super.conforms(pMarkdownLines);
+					}
+				})
+				.setConverter(pConverter)
+				.setInlineConverter(pInlineConverter)
+				.build();
+	}
+
+	/**
+	 * Rule with a regular expression that backtracks exponentially on a line of a's, the back reference keeps the
+	 * regular expression engine from remembering the positions it has tried
+	 */
+	private static final class BacktrackingRule implements Rule {
+
+		private static final Pattern PATTERN = Pattern.compile("^(a+)+\\1b$");
+
+		@Override
+		public char[] getLeadingCharacters() {
+			return new char[] { 'a' };
+		}
+
+		@Override
+		public RuleMatch conforms(final List<? extends CharSequence> pMarkdownLines) {
+			return PATTERN.matcher(pMarkdownLines.get(0)).matches() ? new RuleMatch(1) : null;
+		}
+
+		@Override
+		public MarkdownItem toMarkdownItem(final List<? extends CharSequence> pMarkdownLines) {
+			return new Paragraph(new InlineString(pMarkdownLines.get(0).toString(), true));
+		}
+	}
+}
@@ -0,0 +1,128 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.basemarkdown;
+
+import com.m2mobi.markymark.InlineConverter;
+import com.m2mobi.markymark.MarkyMark;
+import com.m2mobi.markymark.item.MarkdownItem;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Stress test for parsing with a single {@link MarkyMark} instance from multiple threads
+ */
+public class ConcurrentParseTest {
+
+	private static final int THREADS = 8;
+
+	private static final int ITERATIONS = 200;
+
+	@Test
+	public void shouldParseSameAsSingleThreaded() throws Exception {
+		final MarkyMark<MarkdownItem> markyMark = new MarkyMark.Builder<MarkdownItem>()
+				.addFlavor(MarkdownFlavor.INSTANCE)
+				.setConverter(new ItemConverter())
+				.setInlineConverter(new InlineConverter<>())
+				.build();
+
+		final List<String> documents = createDocuments();
+		final List<String> expected = new ArrayList<>();
+		for (String document : documents) {
+			expected.add(ItemDescriptions.describe(markyMark.parseMarkdown(document)));
+		}
+
+		final CountDownLatch start = new CountDownLatch(1);
+		final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			final List<Future<List<String>>> futures = new ArrayList<>();
+			for (int t = 0; t < THREADS; t++) {
+				final int offset = t;
+				futures.add(executor.submit(new Callable<List<String>>() {
+
+					@Override
+					public List<String> call() throws Exception {
+						start.await();
+						final List<String> results = new ArrayList<>();
+						for (int i = 0; i < ITERATIONS; i++) {
+							final String document = documents.get((offset + i) % documents.size());
+							results.add(ItemDescriptions.describe(markyMark.parseMarkdown(document)));
+						}
+						return results;
+					}
+				}));
+			}
+			start.countDown();
+
+			for (int t = 0; t < THREADS; t++) {
+				final List<String> results = futures.get(t).get();
+				for (int i = 0; i < ITERATIONS; i++) {
+					assertEquals(expected.get((t + i) % documents.size()), results.get(i));
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Creates documents with lists and code blocks of different lengths, so threads parsing at the same time consume
+	 * different amounts of lines
+	 */
+	private static List<String> createDocuments() {
+		final List<String> documents = new ArrayList<>();
+		for (int d = 1; d <= 5; d++) {
+			final StringBuilder sb = new StringBuilder();
+			for (int section = 0; section < 20; section++) {
+				sb.append("# Header ").append(section).append('\n');
+				for (int i = 0; i < d + section % 3; i++) {
+					sb.append("- Item ").append(i).append('\n');
+					if (i % 2 == 0) {
+						sb.append("    1. Nested ").append(i).append('\n');
+					}
+				}
+				sb.append('\n');
+				sb.append("```\n");
+				for (int i = 0; i < d; i++) {
+					sb.append("code ").append(i).append('\n');
+				}
+				sb.append("```\n");
+				sb.append("Paragraph with **bold** and *italic* text\n");
+				sb.append("> Quote ").append(section).append('\n');
+			}
+			documents.add(sb.toString());
+		}
+		return documents;
+	}
+}
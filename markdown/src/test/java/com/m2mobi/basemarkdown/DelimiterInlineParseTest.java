@@ -0,0 +1,102 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.basemarkdown;
+
+import com.m2mobi.basemarkdown.rule.inline.DelimiterInlineParser;
+import com.m2mobi.markymark.InlineParser;
+import com.m2mobi.markymark.RegexInlineParser;
+import com.m2mobi.markymark.item.inline.MarkdownString;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Differential tests for {@link DelimiterInlineParser} against the regular expressions of the inline rules
+ */
+public class DelimiterInlineParseTest {
+
+	private static final String[] TOKENS = {
+			"**", "*", "__", "_", "~~", "~", "`", "[", "]", "](", "(", ")", " \"", "\"", "\")", "<", ">", "!", "!\\[",
+			"https://m2mobi.com", "a://b", "<c://d", "e>", "http:// x", "://", "text", " ", "\t", "a", "\n", "\r", "\u2028", "\u0085",
+			"#", "?", "$", "."
+	};
+
+	private final InlineParser mRegexParser = new RegexInlineParser(MarkdownFlavor.INSTANCE.getInlineRules());
+
+	private final InlineParser mDelimiterParser = new DelimiterInlineParser();
+
+	@Test
+	public void shouldParseSameAsRegexRules() {
+		final Random random = new Random(14);
+		for (int i = 0; i < 20_000; i++) {
+			final StringBuilder sb = new StringBuilder();
+			final int tokens = random.nextInt(40);
+			for (int t = 0; t < tokens; t++) {
+				sb.append(TOKENS[random.nextInt(TOKENS.length)]);
+			}
+			final String content = sb.toString();
+
+			assertEquals(describe(mRegexParser, content), describe(mDelimiterParser, content), content);
+		}
+	}
+
+	@Test
+	public void shouldParseDenseChatMessages() {
+		final String[] messages = {
+				"**hey** *you* ~~there~~ `code` [link](https://m2mobi.com \"title\") <https://github.com>",
+				"***both*** **bold *and italic* text** __under__ *a*b*c* ~~~~~ ``",
+				"![not a link](image.png) [link [nested](a)](b) [a](b \"c)d\") <a://b> <a://bc>>",
+				"*unclosed **bold\n*next* line** with ~~strike\n~~ and `tick\n`"
+		};
+		for (String message : messages) {
+			assertEquals(describe(mRegexParser, message), describe(mDelimiterParser, message), message);
+		}
+	}
+
+	/**
+	 * Describes the MarkdownStrings of the content and of their children
+	 */
+	private static String describe(final InlineParser pParser, final String pContent) {
+		final StringBuilder sb = new StringBuilder();
+		describe(pParser, pContent, sb);
+		return sb.toString();
+	}
+
+	private static void describe(final InlineParser pParser, final String pContent, final StringBuilder pBuilder) {
+		final List<MarkdownString> markdownStrings = pParser.parseContent(pContent);
+		for (MarkdownString markdownString : markdownStrings) {
+			pBuilder.append(markdownString);
+			if (markdownString.isChildrenEnabled()) {
+				pBuilder.append('[');
+				describe(pParser, markdownString.getContent(), pBuilder);
+				pBuilder.append(']');
+			}
+		}
+	}
+}
@@ -0,0 +1,185 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.basemarkdown;
+
+import com.m2mobi.markymark.InlineConverter;
+import com.m2mobi.markymark.MarkdownDocument;
+import com.m2mobi.markymark.MarkyMark;
+import com.m2mobi.markymark.item.MarkdownItem;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for editing a {@link MarkdownDocument}
+ */
+public class IncrementalParseTest {
+
+	private static final String[] INSERTIONS = {
+			"a", "text", "\n", "\n\n", "\r\n", "# ", "- ", "    - ", "1. ", "> ", "```", "```\n", "---", "**", ""
+	};
+
+	private static final String MARKDOWN = "# Header\n"
+			+ "Paragraph with **bold** text\n"
+			+ "- Item 1\n"
+			+ "- Item 2\n"
+			+ "    1. Nested\n"
+			+ "\n"
+			+ "```\n"
+			+ "code\n"
+			+ "\n"
+			+ "```\n"
+			+ "> Quote\n"
+			+ "---\n"
+			+ "![alt](image.png)\n";
+
+	private MarkyMark<MarkdownItem> mMarkyMark;
+
+	@BeforeEach
+	public void init() {
+		mMarkyMark = new MarkyMark.Builder<MarkdownItem>()
+				.addFlavor(MarkdownFlavor.INSTANCE)
+				.setConverter(new ItemConverter())
+				.setInlineConverter(new InlineConverter<>())
+				.build();
+	}
+
+	@Test
+	public void shouldParseSameAsFullParse() {
+		final MarkdownDocument<MarkdownItem> document = mMarkyMark.parseDocument(MARKDOWN);
+
+		assertEquals(describe(MARKDOWN), ItemDescriptions.describe(document.getItems()));
+	}
+
+	@Test
+	public void shouldMatchFullParseAfterRandomEdits() {
+		for (long seed = 0; seed < 10; seed++) {
+			final Random random = new Random(seed);
+			final MarkdownDocument<MarkdownItem> document = mMarkyMark.parseDocument(MARKDOWN + MARKDOWN);
+			for (int edit = 0; edit < 300; edit++) {
+				final int length = document.getMarkdown().length();
+				final int start = random.nextInt(length + 1);
+				final int end = Math.min(length, start + random.nextInt(4));
+				document.replace(start, end, INSERTIONS[random.nextInt(INSERTIONS.length)]);
+
+				assertEquals(describe(document.getMarkdown()), ItemDescriptions.describe(document.getItems()),
+						"seed " + seed + ", edit " + edit);
+			}
+		}
+	}
+
+	@Test
+	public void shouldMatchFullParseWhenOpeningCodeBlock() {
+		final MarkdownDocument<MarkdownItem> document = mMarkyMark.parseDocument(MARKDOWN);
+		document.replace(0, 0, "```\n");
+		assertEquals(describe(document.getMarkdown()), ItemDescriptions.describe(document.getItems()));
+
+		document.replace(0, 4, "");
+		assertEquals(describe(MARKDOWN), ItemDescriptions.describe(document.getItems()));
+	}
+
+	@Test
+	public void shouldMatchFullParseForBlankDocuments() {
+		assertReplaced("\n", 0, 0, "x");
+		assertReplaced("\n\n", 0, 0, "#");
+		assertReplaced("", 0, 0, "\n");
+		assertReplaced("# Header\n", 0, 9, "\n\n");
+		assertReplaced("\n\n", 1, 2, "");
+	}
+
+	@Test
+	public void shouldDropBlocksOfLinesThatBecomeTrailingBlankLines() {
+		assertReplaced("\n \n\n   **text`\n\n\n ", 17, 18, "\r\n");
+		assertReplaced("Paragraph\n\n\nParagraph", 12, 21, "");
+	}
+
+	@Test
+	public void shouldMatchFullParseAfterRandomEditsOfBlankDocuments() {
+		final String[] blankDocuments = { "", "\n", "\n\n", "\r\n\r\n" };
+		for (long seed = 0; seed < 10; seed++) {
+			final Random random = new Random(seed);
+			final MarkdownDocument<MarkdownItem> document =
+					mMarkyMark.parseDocument(blankDocuments[random.nextInt(blankDocuments.length)]);
+			for (int edit = 0; edit < 100; edit++) {
+				final int length = document.getMarkdown().length();
+				if (edit % 10 == 9) {
+					// Every few edits the document becomes blank again
+					document.replace(0, length, "\n");
+				} else {
+					final int start = random.nextInt(length + 1);
+					final int end = Math.min(length, start + random.nextInt(4));
+					document.replace(start, end, INSERTIONS[random.nextInt(INSERTIONS.length)]);
+				}
+
+				assertEquals(describe(document.getMarkdown()), ItemDescriptions.describe(document.getItems()),
+						"seed " + seed + ", edit " + edit);
+			}
+		}
+	}
+
+	@Test
+	public void shouldReuseItemsAfterEdit() {
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 1_000; i++) {
+			sb.append("Paragraph ").append(i).append('\n');
+		}
+		final MarkdownDocument<MarkdownItem> document = mMarkyMark.parseDocument(sb.toString());
+		final List<MarkdownItem> before = document.getItems().subList(0, 1_000);
+		final MarkdownItem first = before.get(0);
+		final MarkdownItem last = before.get(999);
+
+		final int offset = document.getMarkdown().indexOf("Paragraph 500");
+		document.replace(offset, offset, "# ");
+
+		assertEquals(describe(document.getMarkdown()), ItemDescriptions.describe(document.getItems()));
+		assertSame(first, document.getItems().get(0));
+		assertSame(last, document.getItems().get(999));
+	}
+
+	@Test
+	public void shouldRejectInvalidRange() {
+		final MarkdownDocument<MarkdownItem> document = mMarkyMark.parseDocument(MARKDOWN);
+
+		assertThrows(IndexOutOfBoundsException.class, () -> document.replace(5, 2, ""));
+		assertThrows(IndexOutOfBoundsException.class, () -> document.replace(0, MARKDOWN.length() + 1, ""));
+	}
+
+	private void assertReplaced(final String pMarkdown, final int pStart, final int pEnd, final String pReplacement) {
+		final MarkdownDocument<MarkdownItem> document = mMarkyMark.parseDocument(pMarkdown);
+		document.replace(pStart, pEnd, pReplacement);
+		assertEquals(describe(document.getMarkdown()), ItemDescriptions.describe(document.getItems()));
+	}
+
+	private String describe(final String pMarkdown) {
+		return ItemDescriptions.describe(mMarkyMark.parseMarkdown(pMarkdown));
+	}
+}
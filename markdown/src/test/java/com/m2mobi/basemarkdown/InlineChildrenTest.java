@@ -0,0 +1,155 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.basemarkdown;
+
+import com.m2mobi.markymark.Flavor;
+import com.m2mobi.markymark.InlineConverter;
+import com.m2mobi.markymark.InlineParser;
+import com.m2mobi.markymark.MarkyMark;
+import com.m2mobi.markymark.ParseCache;
+import com.m2mobi.markymark.RegexInlineParser;
+import com.m2mobi.markymark.item.MarkdownItem;
+import com.m2mobi.markymark.item.inline.MarkdownString;
+import com.m2mobi.markymark.item.inline.TextString;
+import com.m2mobi.markymark.rules.InlineRule;
+import com.m2mobi.markymark.rules.Rule;
+import com.m2mobi.markymarkcommon.markdownitems.Paragraph;
+import com.m2mobi.markymarkcommon.markdownitems.inline.BoldString;
+import com.m2mobi.markymarkcommon.markdownitems.inline.InlineString;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the children of MarkdownStrings, which are parsed once and kept by the MarkdownString
+ */
+public class InlineChildrenTest {
+
+	private final CountingParser mParser = new CountingParser();
+
+	@Test
+	public void shouldParseChildrenOnce() {
+		final InlineConverter<Object> inlineConverter = new InlineConverter<>();
+		inlineConverter.setInlineParser(mParser);
+		final MarkdownString markdownString = new InlineString("Some **bold *and italic* text**", true);
+
+		final List<MarkdownString> children = inlineConverter.getChildren(markdownString);
+		assertSame(children, inlineConverter.getChildren(markdownString));
+		final BoldString bold = (BoldString) children.get(1);
+		assertEquals(inlineConverter.getChildren(bold), inlineConverter.getChildren(bold));
+
+		assertEquals(2, mParser.mCalls);
+		assertEquals("[TextString(content=bold , isChildrenEnabled=false), "
+				+ "ItalicString(content=and italic, isChildrenEnabled=true), "
+				+ "TextString(content= text, isChildrenEnabled=false)]", inlineConverter.getChildren(bold).toString());
+	}
+
+	@Test
+	public void shouldNotParseStringsWithoutChildren() {
+		final InlineConverter<Object> inlineConverter = new InlineConverter<>();
+		inlineConverter.setInlineParser(mParser);
+
+		assertTrue(inlineConverter.getChildren(new TextString("**not bold**", false)).isEmpty());
+		assertEquals(0, mParser.mCalls);
+	}
+
+	@Test
+	public void shouldParseAgainWithOtherParser() {
+		final MarkdownString markdownString = new InlineString("Some **bold** text", true);
+		final CountingParser otherParser = new CountingParser();
+
+		mParser.getChildren(markdownString);
+		otherParser.getChildren(markdownString);
+		otherParser.getChildren(markdownString);
+
+		assertEquals(1, mParser.mCalls);
+		assertEquals(1, otherParser.mCalls);
+	}
+
+	@Test
+	public void shouldKeepChildrenOfCachedDocuments() {
+		final InlineConverter<MarkdownItem> inlineConverter = new InlineConverter<>();
+		final MarkyMark<MarkdownItem> markyMark = new MarkyMark.Builder<MarkdownItem>()
+				.addFlavor(new CountingFlavor())
+				.setConverter(new ItemConverter())
+				.setInlineConverter(inlineConverter)
+				.setParseCache(new ParseCache(10_000))
+				.build();
+
+		for (int i = 0; i < 3; i++) {
+			final Paragraph paragraph = (Paragraph) markyMark.parseMarkdown("Paragraph with **bold** text").get(0);
+			inlineConverter.getChildren(paragraph.getContent());
+		}
+
+		assertEquals(1, mParser.mCalls);
+	}
+
+	/**
+	 * Parser that counts how often content is parsed
+	 */
+	private static class CountingParser implements InlineParser {
+
+		private final InlineParser mInlineParser = new RegexInlineParser(MarkdownFlavor.INSTANCE.getInlineRules());
+
+		private int mCalls;
+
+		@Override
+		public List<MarkdownString> parseContent(final String pContent) {
+			mCalls++;
+			return mInlineParser.parseContent(pContent);
+		}
+	}
+
+	/**
+	 * The Markdown flavor with the counting parser
+	 */
+	private class CountingFlavor implements Flavor {
+
+		@Override
+		public List<Rule> getRules() {
+			return MarkdownFlavor.INSTANCE.getRules();
+		}
+
+		@Override
+		public List<InlineRule> getInlineRules() {
+			return MarkdownFlavor.INSTANCE.getInlineRules();
+		}
+
+		@Override
+		public InlineParser getInlineParser() {
+			return mParser;
+		}
+
+		@Override
+		public Rule getDefaultRule() {
+			return MarkdownFlavor.INSTANCE.getDefaultRule();
+		}
+	}
+}
@@ -0,0 +1,199 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.basemarkdown;
+
+import com.m2mobi.markymark.InlineConverter;
+import com.m2mobi.markymark.item.inline.MarkdownString;
+import com.m2mobi.markymark.item.inline.TextString;
+import com.m2mobi.markymark.rules.InlineRule;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Differential tests for {@link InlineConverter#parseContent(String)} against matching every rule on the remaining
+ * substring after every match
+ */
+public class InlineParseTest {
+
+	private static final String[] TOKENS = {
+			"**", "*", "__", "_", "~~", "`", "[", "](", ")", " \"", "\"", "<", ">", "!", "https://m2mobi.com", "text",
+			" ", "a", "\\"
+	};
+
+	private InlineConverter<Object> mInlineConverter;
+
+	@BeforeEach
+	public void init() {
+		mInlineConverter = new InlineConverter<>();
+		mInlineConverter.setInlineRules(MarkdownFlavor.INSTANCE.getInlineRules());
+	}
+
+	@Test
+	public void shouldParseSameAsSubstringMatching() {
+		final Random random = new Random(42);
+		for (int i = 0; i < 5_000; i++) {
+			final StringBuilder sb = new StringBuilder();
+			final int tokens = random.nextInt(30);
+			for (int t = 0; t < tokens; t++) {
+				sb.append(TOKENS[random.nextInt(TOKENS.length)]);
+			}
+			final String content = sb.toString();
+
+			assertEquals(substringParse(content).toString(), mInlineConverter.parseContent(content).toString(), content);
+		}
+	}
+
+	@Test
+	public void shouldParseLinkHeavyParagraph() {
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 200; i++) {
+			sb.append("see [link ").append(i).append("](https://m2mobi.com/").append(i).append(") and **bold** ");
+		}
+		final String content = sb.toString();
+
+		assertEquals(substringParse(content).toString(), mInlineConverter.parseContent(content).toString());
+	}
+
+	@Test
+	public void shouldParseRulesLookingBeforeMatchSameAsSubstringMatching() {
+		final List<InlineRule> rules = new ArrayList<>(MarkdownFlavor.INSTANCE.getInlineRules());
+		rules.add(new TaggingRule("anchored", "^a+"));
+		rules.add(new TaggingRule("behind", "(?<=\\*)text"));
+		rules.add(new TaggingRule("boundary", "\\ba\\b"));
+		rules.add(new TaggingRule("lazy", "x|\\[a"));
+		mInlineConverter.setInlineRules(rules);
+
+		final String[] tokens = { "**", "*", "a", "x", "[", "](", ")", " ", "text", "~~" };
+		final Random random = new Random(7);
+		for (int i = 0; i < 5_000; i++) {
+			final StringBuilder sb = new StringBuilder();
+			final int count = random.nextInt(30);
+			for (int t = 0; t < count; t++) {
+				sb.append(tokens[random.nextInt(tokens.length)]);
+			}
+			final String content = sb.toString();
+
+			assertEquals(substringParse(rules, content).toString(), mInlineConverter.parseContent(content).toString(),
+					content);
+		}
+	}
+
+	@Test
+	public void shouldNotMatchRulesAgainstTextWithoutTriggerCharacters() {
+		final List<InlineRule> rules = new ArrayList<>(MarkdownFlavor.INSTANCE.getInlineRules());
+		final TaggingRule percentRule = new TaggingRule("percent", "%{2}(.+?)%{2}", '%');
+		rules.add(percentRule);
+		mInlineConverter.setInlineRules(rules);
+
+		assertEquals("[TextString(content=Plain text, isChildrenEnabled=false)]",
+				mInlineConverter.parseContent("Plain text").toString());
+		assertEquals(0, percentRule.mRegexCalls);
+
+		final String content = "An ![image](a.png) and %%percent%%";
+		final String parsed = mInlineConverter.parseContent(content).toString();
+		assertEquals(1, percentRule.mRegexCalls);
+		assertEquals(substringParse(rules, content).toString(), parsed);
+	}
+
+	private static List<MarkdownString> substringParse(final String pContent) {
+		return substringParse(MarkdownFlavor.INSTANCE.getInlineRules(), pContent);
+	}
+
+	/**
+	 * Reference implementation that matches every rule on the remaining substring after every match
+	 */
+	private static List<MarkdownString> substringParse(final List<InlineRule> rules, final String pContent) {
+		final List<MarkdownString> markdownStrings = new ArrayList<>();
+		String toCheck = pContent;
+		while (!toCheck.isEmpty()) {
+			InlineRule firstRule = null;
+			int firstStart = 0;
+			int firstEnd = 0;
+			for (InlineRule rule : rules) {
+				final Matcher matcher = rule.getRegex().matcher(toCheck);
+				if (matcher.find() && (firstRule == null || matcher.start() < firstStart)) {
+					firstRule = rule;
+					firstStart = matcher.start();
+					firstEnd = matcher.end();
+				}
+			}
+			if (firstRule == null) {
+				markdownStrings.add(new TextString(toCheck, false));
+				break;
+			}
+			if (firstStart > 0) {
+				markdownStrings.add(new TextString(toCheck.substring(0, firstStart), false));
+			}
+			markdownStrings.add(firstRule.toMarkdownString(toCheck.substring(firstStart, firstEnd)));
+			toCheck = toCheck.substring(firstEnd);
+		}
+		return markdownStrings;
+	}
+
+	/**
+	 * Rule that tags its matches with its name
+	 */
+	private static class TaggingRule implements InlineRule {
+
+		private final String mName;
+
+		private final Pattern mPattern;
+
+		private final char[] mTriggerCharacters;
+
+		private int mRegexCalls;
+
+		TaggingRule(final String pName, final String pRegex, final char... pTriggerCharacters) {
+			mName = pName;
+			mPattern = Pattern.compile(pRegex);
+			mTriggerCharacters = pTriggerCharacters.length > 0 ? pTriggerCharacters : null;
+		}
+
+		@Override
+		public Pattern getRegex() {
+			mRegexCalls++;
+			return mPattern;
+		}
+
+		@Override
+		public char[] getTriggerCharacters() {
+			return mTriggerCharacters;
+		}
+
+		@Override
+		public MarkdownString toMarkdownString(final String pContent) {
+			return new TextString(mName + ":" + pContent, false);
+		}
+	}
+}
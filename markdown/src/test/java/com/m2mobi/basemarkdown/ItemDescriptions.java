@@ -0,0 +1,121 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.basemarkdown;
+
+import com.m2mobi.markymark.item.MarkdownItem;
+import com.m2mobi.markymarkcommon.markdownitems.CodeBlock;
+import com.m2mobi.markymarkcommon.markdownitems.Header;
+import com.m2mobi.markymarkcommon.markdownitems.HorizontalLine;
+import com.m2mobi.markymarkcommon.markdownitems.Image;
+import com.m2mobi.markymarkcommon.markdownitems.ListItem;
+import com.m2mobi.markymarkcommon.markdownitems.MarkdownList;
+import com.m2mobi.markymarkcommon.markdownitems.Paragraph;
+import com.m2mobi.markymarkcommon.markdownitems.QuoteBlock;
+
+import java.util.List;
+
+/**
+ * Creates textual descriptions of markdown items, used to compare the output of different ways of parsing
+ */
+public final class ItemDescriptions {
+
+	private ItemDescriptions() {
+		// no instances
+	}
+
+	/**
+	 * Describes a list of markdown items, one item per line
+	 *
+	 * @param pMarkdownItems
+	 * 		The items to describe
+	 * @return Returns a String describing the items
+	 */
+	public static String describe(final List<? extends MarkdownItem> pMarkdownItems) {
+		final StringBuilder sb = new StringBuilder();
+		for (MarkdownItem markdownItem : pMarkdownItems) {
+			describe(sb, markdownItem);
+			sb.append('\n');
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Describes a single markdown item
+	 *
+	 * @param pMarkdownItem
+	 * 		The item to describe
+	 * @return Returns a String describing the item
+	 */
+	public static String describe(final MarkdownItem pMarkdownItem) {
+		final StringBuilder sb = new StringBuilder();
+		describe(sb, pMarkdownItem);
+		return sb.toString();
+	}
+
+	private static void describe(final StringBuilder pBuilder, final MarkdownItem pMarkdownItem) {
+		if (pMarkdownItem instanceof Header) {
+			final Header header = (Header) pMarkdownItem;
+			pBuilder.append("Header(").append(header.getHeader()).append(", ").append(header.getContent()).append(')');
+		} else if (pMarkdownItem instanceof Paragraph) {
+			pBuilder.append("Paragraph(").append(((Paragraph) pMarkdownItem).getContent()).append(')');
+		} else if (pMarkdownItem instanceof QuoteBlock) {
+			pBuilder.append("Quote(").append(((QuoteBlock) pMarkdownItem).getContent()).append(')');
+		} else if (pMarkdownItem instanceof CodeBlock) {
+			pBuilder.append("Code(").append(((CodeBlock) pMarkdownItem).getContent()).append(')');
+		} else if (pMarkdownItem instanceof Image) {
+			final Image image = (Image) pMarkdownItem;
+			pBuilder.append("Image(").append(image.getFilename()).append(", ").append(image.getAltText()).append(')');
+		} else if (pMarkdownItem instanceof HorizontalLine) {
+			pBuilder.append("HorizontalLine");
+		} else if (pMarkdownItem instanceof MarkdownList) {
+			describeList(pBuilder, (MarkdownList) pMarkdownItem);
+		} else {
+			pBuilder.append(pMarkdownItem);
+		}
+	}
+
+	private static void describeList(final StringBuilder pBuilder, final MarkdownList pMarkdownList) {
+		pMarkdownList.accept(new MarkdownList.Visitor() {
+
+			@Override
+			public void onListStart(final MarkdownList pList, final int pDepth) {
+				if (pDepth > 0) {
+					pBuilder.append(", ");
+				}
+				pBuilder.append(pList.isOrdered() ? "OrderedList" : "List").append('(').append(pList.getNestedLevel());
+			}
+
+			@Override
+			public void onListItem(final MarkdownList pList, final ListItem pItem, final int pIndex, final int pDepth) {
+				pBuilder.append(", ").append(pItem.getText());
+			}
+
+			@Override
+			public void onListEnd(final MarkdownList pList, final int pDepth) {
+				pBuilder.append(')');
+			}
+		});
+	}
+}
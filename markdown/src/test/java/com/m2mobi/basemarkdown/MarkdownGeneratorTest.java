@@ -0,0 +1,107 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.basemarkdown;
+
+import com.m2mobi.basemarkdown.MarkdownGenerator.Dimension;
+import com.m2mobi.markymark.InlineConverter;
+import com.m2mobi.markymark.MarkyMark;
+import com.m2mobi.markymark.item.MarkdownItem;
+import com.m2mobi.markymarkcommon.markdownitems.CodeBlock;
+import com.m2mobi.markymarkcommon.markdownitems.MarkdownList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Tests for the Markdown created by the {@link MarkdownGenerator}
+ */
+public class MarkdownGeneratorTest {
+
+	private MarkyMark<MarkdownItem> mMarkyMark;
+
+	@BeforeEach
+	public void init() {
+		mMarkyMark = new MarkyMark.Builder<MarkdownItem>()
+				.addFlavor(MarkdownFlavor.INSTANCE)
+				.setConverter(new ItemConverter())
+				.setInlineConverter(new InlineConverter<>())
+				.build();
+	}
+
+	@Test
+	public void shouldCreateSameMarkdownForSameSeed() {
+		for (Dimension dimension : Dimension.values()) {
+			assertEquals(dimension.create(new MarkdownGenerator(42), 50), dimension.create(new MarkdownGenerator(42), 50));
+		}
+		assertNotEquals(new MarkdownGenerator(1).document(50), new MarkdownGenerator(2).document(50));
+	}
+
+	@Test
+	public void shouldCreateOneItemPerBlock() {
+		for (long seed = 0; seed < 20; seed++) {
+			// The empty lines between the blocks are parsed as empty paragraphs
+			assertEquals(199, mMarkyMark.parseMarkdown(new MarkdownGenerator(seed).document(100)).size());
+		}
+	}
+
+	@Test
+	public void shouldNestListToDepth() {
+		final List<MarkdownItem> items = mMarkyMark.parseMarkdown(new MarkdownGenerator(0).nestedList(20));
+
+		assertEquals(1, items.size());
+		MarkdownList list = (MarkdownList) items.get(0);
+		int depth = 1;
+		while (list.getLastListItem().hasChild()) {
+			list = list.getLastListItem().getChild().get(0);
+			depth++;
+		}
+		assertEquals(20, depth);
+	}
+
+	@Test
+	public void shouldCreateCodeFenceWithLines() {
+		final List<MarkdownItem> items = mMarkyMark.parseMarkdown(new MarkdownGenerator(0).codeFence(30));
+
+		assertEquals(1, items.size());
+		assertEquals(30, ((CodeBlock) items.get(0)).getContent().split("\n").length);
+	}
+
+	@Test
+	public void shouldCreateSpansOnSingleLine() {
+		final String markdown = new MarkdownGenerator(0).inlineSpans(40);
+		final InlineConverter<Object> inlineConverter = new InlineConverter<>();
+		inlineConverter.setInlineRules(MarkdownFlavor.INSTANCE.getInlineRules());
+
+		assertEquals(1, markdown.split("\n").length);
+		// Every span is surrounded by a text string containing a single word
+		assertEquals(81, inlineConverter.parseContent(markdown.trim()).size());
+		assertEquals(1, new MarkdownGenerator(0).unterminatedDelimiters(40).split("\n").length);
+	}
+}
@@ -0,0 +1,243 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.basemarkdown;
+
+import com.m2mobi.markymark.Flavor;
+import com.m2mobi.markymark.InlineConverter;
+import com.m2mobi.markymark.InlineParser;
+import com.m2mobi.markymark.MarkdownListener;
+import com.m2mobi.markymark.MarkyMark;
+import com.m2mobi.markymark.item.MarkdownItem;
+import com.m2mobi.markymark.item.inline.MarkdownString;
+import com.m2mobi.markymark.rules.InlineRule;
+import com.m2mobi.markymark.rules.Rule;
+import com.m2mobi.markymarkcommon.markdownitems.inline.LinkString;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for parsing markdown with a {@link MarkdownListener}
+ */
+public class MarkdownListenerTest {
+
+	private static final String MARKDOWN = "# Header with [a link](https://m2mobi.com)\n"
+			+ "Paragraph with **bold and *italic* text**\n"
+			+ "- Item <https://github.com>\n"
+			+ "    - Nested ~~item~~\n"
+			+ "```\n"
+			+ "[not a link](https://m2mobi.com)\n"
+			+ "```\n"
+			+ "---";
+
+	private MarkyMark<MarkdownItem> mMarkyMark;
+
+	@BeforeEach
+	public void init() {
+		mMarkyMark = new MarkyMark.Builder<MarkdownItem>()
+				.addFlavor(MarkdownFlavor.INSTANCE)
+				.setConverter(new ItemConverter())
+				.setInlineConverter(new InlineConverter<>())
+				.build();
+	}
+
+	@Test
+	public void shouldSendBlockEvents() {
+		final RecordingListener listener = new RecordingListener();
+		mMarkyMark.parseMarkdown(MARKDOWN, listener);
+
+		assertEquals(ItemDescriptions.describe(mMarkyMark.parseMarkdown(MARKDOWN)), ItemDescriptions.describe(listener.mBlocks));
+		assertEquals(0, listener.mDepth);
+	}
+
+	@Test
+	public void shouldSendInlineEvents() {
+		final RecordingListener listener = new RecordingListener();
+		mMarkyMark.parseMarkdown(MARKDOWN, listener);
+
+		assertEquals(asList("https://m2mobi.com", "https://github.com"), listener.mLinks);
+		assertEquals("Header with a link"
+				+ "Paragraph with bold and italic text"
+				+ "Item https://github.com"
+				+ "Nested item", listener.mText.toString());
+	}
+
+	@Test
+	public void shouldSendListEvents() {
+		final RecordingListener listener = new RecordingListener();
+		mMarkyMark.parseMarkdown("- Item 1\n"
+				+ "    1. Nested 1\n"
+				+ "    2. Nested 2\n"
+				+ "- Item 2\n", listener);
+
+		assertEquals(asList("list 0", "item 0/0", "Item 1", "list 1", "item 0/1", "Nested 1", "end item 0/1",
+				"item 1/1", "Nested 2", "end item 1/1", "end list 1", "end item 0/0", "item 1/0", "Item 2",
+				"end item 1/0", "end list 0"), listener.mListEvents);
+		assertEquals(0, listener.mDepth);
+	}
+
+	@Test
+	public void shouldNotKeepParsedChildren() {
+		final CountingFlavor flavor = new CountingFlavor();
+		final InlineConverter<Object> inlineConverter = new InlineConverter<>();
+		final MarkyMark<MarkdownItem> markyMark = new MarkyMark.Builder<MarkdownItem>()
+				.addFlavor(flavor)
+				.setConverter(new ItemConverter())
+				.setInlineConverter(inlineConverter)
+				.build();
+		final RecordingListener listener = new RecordingListener();
+		markyMark.parseMarkdown(MARKDOWN, listener);
+
+		final int parsed = flavor.mParseCount;
+		for (MarkdownString markdownString : listener.mParents) {
+			inlineConverter.getChildren(markdownString);
+		}
+		assertEquals(parsed + listener.mParents.size(), flavor.mParseCount);
+	}
+
+	@Test
+	public void shouldSendEventsWhileReading() throws IOException {
+		final RecordingListener stringListener = new RecordingListener();
+		final RecordingListener readerListener = new RecordingListener();
+		mMarkyMark.parseMarkdown(MARKDOWN, stringListener);
+		mMarkyMark.parseMarkdown(new StringReader(MARKDOWN), readerListener);
+
+		assertEquals(ItemDescriptions.describe(stringListener.mBlocks), ItemDescriptions.describe(readerListener.mBlocks));
+		assertEquals(stringListener.mLinks, readerListener.mLinks);
+		assertEquals(stringListener.mText.toString(), readerListener.mText.toString());
+	}
+
+	/**
+	 * Listener that records blocks, links and the plain text of the markdown
+	 */
+	private static class RecordingListener implements MarkdownListener {
+
+		private final List<MarkdownItem> mBlocks = new ArrayList<>();
+
+		private final List<String> mLinks = new ArrayList<>();
+
+		private final StringBuilder mText = new StringBuilder();
+
+		private final List<String> mListEvents = new ArrayList<>();
+
+		private final List<MarkdownString> mParents = new ArrayList<>();
+
+		private int mDepth = 0;
+
+		@Override
+		public void onBlockStart(final MarkdownItem pMarkdownItem) {
+			mBlocks.add(pMarkdownItem);
+			mDepth++;
+		}
+
+		@Override
+		public void onInlineStart(final MarkdownString pMarkdownString) {
+			if (pMarkdownString instanceof LinkString) {
+				mLinks.add(((LinkString) pMarkdownString).getUrl());
+			}
+			if (pMarkdownString.isChildrenEnabled()) {
+				mParents.add(pMarkdownString);
+			} else {
+				mText.append(pMarkdownString.getContent());
+				mListEvents.add(pMarkdownString.getContent());
+			}
+			mDepth++;
+		}
+
+		@Override
+		public void onListStart(final MarkdownItem pList, final int pDepth) {
+			mListEvents.add("list " + pDepth);
+			mDepth++;
+		}
+
+		@Override
+		public void onListItemStart(final int pIndex, final int pDepth) {
+			mListEvents.add("item " + pIndex + "/" + pDepth);
+			mDepth++;
+		}
+
+		@Override
+		public void onListItemEnd(final int pIndex, final int pDepth) {
+			mListEvents.add("end item " + pIndex + "/" + pDepth);
+			mDepth--;
+		}
+
+		@Override
+		public void onListEnd(final MarkdownItem pList, final int pDepth) {
+			mListEvents.add("end list " + pDepth);
+			mDepth--;
+		}
+
+		@Override
+		public void onInlineEnd(final MarkdownString pMarkdownString) {
+			mDepth--;
+		}
+
+		@Override
+		public void onBlockEnd(final MarkdownItem pMarkdownItem) {
+			mDepth--;
+		}
+	}
+
+	/**
+	 * Flavor that counts how often its inline parser is called
+	 */
+	private static final class CountingFlavor implements Flavor {
+
+		private int mParseCount = 0;
+
+		@Override
+		public List<Rule> getRules() {
+			return MarkdownFlavor.INSTANCE.getRules();
+		}
+
+		@Override
+		public List<InlineRule> getInlineRules() {
+			return MarkdownFlavor.INSTANCE.getInlineRules();
+		}
+
+		@Override
+		public InlineParser getInlineParser() {
+			final InlineParser inlineParser = MarkdownFlavor.INSTANCE.getInlineParser();
+			return pContent -> {
+				mParseCount++;
+				return inlineParser.parseContent(pContent);
+			};
+		}
+
+		@Override
+		public Rule getDefaultRule() {
+			return MarkdownFlavor.INSTANCE.getDefaultRule();
+		}
+	}
+}
@@ -0,0 +1,137 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.basemarkdown;
+
+import com.m2mobi.markymark.Converter;
+import com.m2mobi.markymark.InlineConverter;
+import com.m2mobi.markymark.MarkyMark;
+import com.m2mobi.markymark.item.InlineContainer;
+import com.m2mobi.markymark.item.MarkdownItem;
+import com.m2mobi.markymark.item.inline.MarkdownString;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for converting items in parallel with an {@link Executor}
+ */
+public class ParallelConvertTest {
+
+	private static final String MARKDOWN;
+
+	static {
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 100; i++) {
+			sb.append("# Header ").append(i).append('\n');
+			sb.append("Paragraph with **bold**, *italic* and `code` number ").append(i).append('\n');
+			sb.append("- Item with ~~strike~~\n");
+			sb.append("    1. Nested [link](https://m2mobi.com)\n");
+			sb.append("> Quote ").append(i).append('\n');
+			sb.append('\n');
+		}
+		MARKDOWN = sb.toString();
+	}
+
+	@Test
+	public void shouldConvertSameAsSequential() {
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			assertEquals(build(null).parseMarkdown(MARKDOWN), build(pool).parseMarkdown(MARKDOWN));
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	public void shouldConvertWithSingleThreadExecutor() {
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			assertEquals(build(null).parseMarkdown(MARKDOWN), build(executor).parseMarkdown(MARKDOWN));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void shouldConvertWhenExecutorDoesNotRunTasks() {
+		final Executor executor = pCommand -> {
+			// Never runs the command, the calling thread has to convert everything
+		};
+		assertEquals(build(null).parseMarkdown(MARKDOWN), build(executor).parseMarkdown(MARKDOWN));
+	}
+
+	@Test
+	public void shouldRethrowConversionErrors() {
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			final MarkyMark<MarkdownItem> markyMark = new MarkyMark.Builder<MarkdownItem>()
+					.addFlavor(MarkdownFlavor.INSTANCE)
+					.setConverter(new Converter<>())
+					.setInlineConverter(new InlineConverter<>())
+					.setExecutor(pool)
+					.build();
+			assertThrows(IllegalStateException.class, () -> markyMark.parseMarkdown(MARKDOWN));
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private static MarkyMark<String> build(final Executor pExecutor) {
+		return new MarkyMark.Builder<String>()
+				.addFlavor(MarkdownFlavor.INSTANCE)
+				.setConverter(new DescribingConverter())
+				.setInlineConverter(new InlineConverter<>())
+				.setExecutor(pExecutor)
+				.build();
+	}
+
+	/**
+	 * Converter that describes items and their parsed inline content
+	 */
+	private static class DescribingConverter extends Converter<String> {
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public String convert(final MarkdownItem pMarkdownItem, final InlineConverter pInlineConverter) {
+			final StringBuilder sb = new StringBuilder(ItemDescriptions.describe(pMarkdownItem));
+			if (pMarkdownItem instanceof InlineContainer) {
+				for (MarkdownString content : ((InlineContainer) pMarkdownItem).getInlineContent()) {
+					for (MarkdownString child : (List<MarkdownString>) pInlineConverter.parseContent(content.getContent())) {
+						sb.append(' ').append(child.getClass().getSimpleName()).append('(').append(child.getContent()).append(')');
+					}
+				}
+			}
+			return sb.toString();
+		}
+	}
+}
@@ -0,0 +1,169 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.basemarkdown;
+
+import com.m2mobi.markymark.InlineConverter;
+import com.m2mobi.markymark.MarkyMark;
+import com.m2mobi.markymark.item.MarkdownItem;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Differential tests for parsing the blocks of long documents in parallel
+ */
+public class ParallelParseTest {
+
+	private ForkJoinPool mPool;
+
+	private MarkyMark<MarkdownItem> mSequential;
+
+	private MarkyMark<MarkdownItem> mParallel;
+
+	@BeforeEach
+	public void init() {
+		mPool = new ForkJoinPool(4);
+		mSequential = build(null);
+		mParallel = build(mPool);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		mPool.shutdownNow();
+	}
+
+	@Test
+	public void shouldParseGeneratedCorpusSameAsSequential() {
+		for (long seed = 0; seed < 20; seed++) {
+			final String markdown = generate(new Random(seed), 2_000 + (int) seed * 500);
+			assertEquals(describe(mSequential, markdown), describe(mParallel, markdown), "seed " + seed);
+		}
+	}
+
+	@Test
+	public void shouldParseCodeBlockSpanningChunks() {
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 1_500; i++) {
+			sb.append("Paragraph ").append(i).append('\n');
+		}
+		sb.append("```\n");
+		for (int i = 0; i < 5_000; i++) {
+			sb.append(i % 10 == 0 ? "" : "code " + i).append('\n');
+		}
+		sb.append("```\n");
+		for (int i = 0; i < 1_500; i++) {
+			sb.append(i % 7 == 0 ? "" : "Paragraph " + i).append('\n');
+		}
+		final String markdown = sb.toString();
+
+		assertEquals(describe(mSequential, markdown), describe(mParallel, markdown));
+	}
+
+	@Test
+	public void shouldParseUnclosedCodeBlock() {
+		final StringBuilder sb = new StringBuilder("# Header\n```\n");
+		for (int i = 0; i < 5_000; i++) {
+			sb.append(i % 3 == 0 ? "" : "code " + i).append('\n');
+		}
+		final String markdown = sb.toString();
+
+		assertEquals(describe(mSequential, markdown), describe(mParallel, markdown));
+	}
+
+	private static String describe(final MarkyMark<MarkdownItem> pMarkyMark, final String pMarkdown) {
+		return ItemDescriptions.describe(pMarkyMark.parseMarkdown(pMarkdown));
+	}
+
+	private static MarkyMark<MarkdownItem> build(final ForkJoinPool pPool) {
+		return new MarkyMark.Builder<MarkdownItem>()
+				.addFlavor(MarkdownFlavor.INSTANCE)
+				.setConverter(new ItemConverter())
+				.setInlineConverter(new InlineConverter<>())
+				.setExecutor(pPool)
+				.build();
+	}
+
+	/**
+	 * Generates a document with a random mix of blocks, including code blocks and lists with empty lines around them
+	 */
+	private static String generate(final Random pRandom, final int pLines) {
+		final StringBuilder sb = new StringBuilder();
+		int lines = 0;
+		while (lines < pLines) {
+			switch (pRandom.nextInt(8)) {
+				case 0:
+					sb.append("# Header ").append(lines).append('\n');
+					lines++;
+					break;
+				case 1:
+					sb.append("```\n");
+					final int codeLines = pRandom.nextInt(40);
+					for (int i = 0; i < codeLines; i++) {
+						sb.append(pRandom.nextInt(4) == 0 ? "" : "code " + i).append('\n');
+					}
+					sb.append("```\n");
+					lines += codeLines + 2;
+					break;
+				case 2:
+					final int items = 1 + pRandom.nextInt(20);
+					for (int i = 0; i < items; i++) {
+						final int level = pRandom.nextInt(3);
+						for (int l = 0; l < level && i > 0; l++) {
+							sb.append("    ");
+						}
+						sb.append(pRandom.nextBoolean() ? "- Item " : (i + 1) + ". Item ").append(i).append('\n');
+					}
+					lines += items;
+					break;
+				case 3:
+					sb.append("> Quote ").append(lines).append('\n');
+					lines++;
+					break;
+				case 4:
+					sb.append("---\n");
+					lines++;
+					break;
+				case 5:
+					final int empty = 1 + pRandom.nextInt(3);
+					for (int i = 0; i < empty; i++) {
+						sb.append('\n');
+					}
+					lines += empty;
+					break;
+				default:
+					sb.append("Paragraph with **bold** text ").append(lines).append('\n');
+					lines++;
+					break;
+			}
+		}
+		return sb.toString();
+	}
+}
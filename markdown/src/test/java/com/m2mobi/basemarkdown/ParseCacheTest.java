@@ -0,0 +1,169 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.basemarkdown;
+
+import com.m2mobi.basemarkdown.rule.ParagraphRule;
+import com.m2mobi.markymark.InlineConverter;
+import com.m2mobi.markymark.MarkyMark;
+import com.m2mobi.markymark.ParseCache;
+import com.m2mobi.markymark.item.MarkdownItem;
+import com.m2mobi.markymark.rules.RuleMatch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for caching parsed Markdown with a {@link ParseCache}
+ */
+public class ParseCacheTest {
+
+	private static final String MARKDOWN = "# Header\nParagraph with **bold** text\n- Item 1\n- Item 2\n";
+
+	private final AtomicInteger mParagraphs = new AtomicInteger();
+
+	@Test
+	public void shouldSkipParsingCachedMarkdown() {
+		final ParseCache cache = new ParseCache(10_000);
+		final MarkyMark<MarkdownItem> markyMark = build(cache);
+
+		final String first = ItemDescriptions.describe(markyMark.parseMarkdown(MARKDOWN));
+		final int parsedParagraphs = mParagraphs.get();
+		final String second = ItemDescriptions.describe(markyMark.parseMarkdown(MARKDOWN));
+
+		assertEquals(first, second);
+		assertEquals(parsedParagraphs, mParagraphs.get());
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+		assertEquals(MARKDOWN.length(), cache.getWeight());
+	}
+
+	@Test
+	public void shouldEvictLeastRecentlyUsed() {
+		final ParseCache cache = new ParseCache(100, 1);
+		final MarkyMark<MarkdownItem> markyMark = build(cache);
+		final String a = repeat('a', 40);
+		final String b = repeat('b', 40);
+		final String c = repeat('c', 40);
+
+		markyMark.parseMarkdown(a);
+		markyMark.parseMarkdown(b);
+		markyMark.parseMarkdown(a);
+		markyMark.parseMarkdown(c);
+
+		assertEquals(1, cache.getEvictionCount());
+		assertEquals(80, cache.getWeight());
+
+		markyMark.parseMarkdown(a);
+		markyMark.parseMarkdown(b);
+		assertEquals(2, cache.getHitCount());
+		assertEquals(4, cache.getMissCount());
+	}
+
+	@Test
+	public void shouldNotCacheMarkdownLargerThanSegment() {
+		final ParseCache cache = new ParseCache(100, 1);
+		final MarkyMark<MarkdownItem> markyMark = build(cache);
+
+		markyMark.parseMarkdown(repeat('a', 101));
+
+		assertEquals(0, cache.getWeight());
+		assertEquals(0, cache.getEvictionCount());
+	}
+
+	@Test
+	public void shouldShareCacheBetweenThreads() throws Exception {
+		final ParseCache cache = new ParseCache(1_000_000);
+		final MarkyMark<MarkdownItem> markyMark = build(cache);
+		final List<String> documents = new ArrayList<>();
+		final List<String> expected = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			documents.add(MARKDOWN + "Paragraph " + i);
+			expected.add(ItemDescriptions.describe(build(null).parseMarkdown(documents.get(i))));
+		}
+
+		final ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			final List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				final int offset = t;
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < 500; i++) {
+						final int document = (offset * 7 + i) % documents.size();
+						assertEquals(expected.get(document), ItemDescriptions.describe(markyMark.parseMarkdown(documents.get(document))));
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertEquals(4_000, cache.getHitCount() + cache.getMissCount());
+		assertTrue(cache.getHitCount() >= 4_000 - 8 * documents.size());
+	}
+
+	@Test
+	public void shouldRejectInvalidCapacity() {
+		assertThrows(IllegalArgumentException.class, () -> new ParseCache(0));
+		assertThrows(IllegalArgumentException.class, () -> new ParseCache(100, 0));
+	}
+
+	private MarkyMark<MarkdownItem> build(final ParseCache pCache) {
+		return new MarkyMark.Builder<MarkdownItem>()
+				.addFlavor(MarkdownFlavor.INSTANCE)
+				.setDefaultRule(new ParagraphRule() {
+
+					@Override
+					public RuleMatch conforms(final List<? extends CharSequence> pMarkdownLines) {
+						mParagraphs.incrementAndGet();
+						return super.conforms(pMarkdownLines);
+					}
+				})
+				.setConverter(new ItemConverter())
+				.setInlineConverter(new InlineConverter<>())
+				.setParseCache(pCache)
+				.build();
+	}
+
+	private static String repeat(final char pCharacter, final int pCount) {
+		final StringBuilder sb = new StringBuilder(pCount);
+		for (int i = 0; i < pCount; i++) {
+			sb.append(pCharacter);
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,339 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.basemarkdown;
+
+import com.m2mobi.basemarkdown.rule.inline.DelimiterInlineParser;
+import com.m2mobi.markymark.Flavor;
+import com.m2mobi.markymark.InlineConverter;
+import com.m2mobi.markymark.InlineParser;
+import com.m2mobi.markymark.MarkdownListener;
+import com.m2mobi.markymark.MarkyMark;
+import com.m2mobi.markymark.ParseCache;
+import com.m2mobi.markymark.ParseLimits;
+import com.m2mobi.markymark.RegexInlineParser;
+import com.m2mobi.markymark.item.MarkdownItem;
+import com.m2mobi.markymark.item.inline.MarkdownString;
+import com.m2mobi.markymark.rules.InlineRule;
+import com.m2mobi.markymark.rules.Rule;
+import com.m2mobi.markymark.rules.RuleMatch;
+import com.m2mobi.markymarkcommon.markdownitems.Paragraph;
+import com.m2mobi.markymarkcommon.markdownitems.inline.InlineString;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for parsing with {@link ParseLimits}, Markdown exceeding a limit is parsed as plain text
+ */
+public class ParseLimitsTest {
+
+	private static final String MARKDOWN = "# Header\nSome **bold** text\n- Item 1\n- Item 2\n";
+
+	@Test
+	public void shouldParseWithinLimitsAsWithoutLimits() {
+		final ParseLimits limits = new ParseLimits.Builder()
+				.setMaxInputLength(MARKDOWN.length())
+				.setMaxLineLength(20)
+				.setMaxListNesting(1)
+				.setMaxInlineSpans(3)
+				.setTimeout(60_000)
+				.build();
+
+		assertEquals(ItemDescriptions.describe(build(null).parseMarkdown(MARKDOWN)),
+				ItemDescriptions.describe(build(limits).parseMarkdown(MARKDOWN)));
+	}
+
+	@Test
+	public void shouldParseTooLongInputAsPlainText() {
+		final MarkyMark<MarkdownItem> markyMark = build(new ParseLimits.Builder().setMaxInputLength(MARKDOWN.length() - 1).build());
+		final List<String> inline = new ArrayList<>();
+
+		final List<MarkdownItem> items = markyMark.parseMarkdown(MARKDOWN);
+		markyMark.parseMarkdown(MARKDOWN, new InlineRecorder(inline));
+
+		assertEquals(paragraph("# Header") + "\n" + paragraph("Some **bold** text") + "\n" + paragraph("- Item 1") + "\n"
+				+ paragraph("- Item 2") + "\n", ItemDescriptions.describe(items));
+		assertTrue(inline.contains("TextString(Some **bold** text)"), inline.toString());
+		assertFalse(inline.contains("BoldString(bold)"), inline.toString());
+	}
+
+	@Test
+	public void shouldParseTooLongLineAsPlainText() {
+		final MarkyMark<MarkdownItem> markyMark = build(new ParseLimits.Builder().setMaxLineLength(17).build());
+		final List<String> inline = new ArrayList<>();
+
+		final List<MarkdownItem> items = markyMark.parseMarkdown("# Short header\n# A header that is too long\n");
+		markyMark.parseMarkdown("Some **bold** text\nSome **bold** txt\n", new InlineRecorder(inline));
+
+		assertEquals("Header(1, " + inline("Short header") + ")\n" + paragraph("# A header that is too long") + "\n",
+				ItemDescriptions.describe(items));
+		assertEquals("[InlineString(Some **bold** text), TextString(Some **bold** text), "
+				+ "InlineString(Some **bold** txt), TextString(Some ), BoldString(bold), TextString(bold), TextString( txt)]",
+				inline.toString());
+	}
+
+	@Test
+	public void shouldAddDeeperListItemsToDeepestAllowedList() {
+		final String list = "- a\n    - b\n        - c\n            - d\n    - e\n";
+
+		assertEquals("List(0, a, List(2, b, List(4, c, List(6, d)), e))", describeList(build(null).parseMarkdown(list)));
+		assertEquals("List(0, a, List(2, b, List(3, c, d), e))",
+				describeList(build(new ParseLimits.Builder().setMaxListNesting(3).build()).parseMarkdown(list)));
+		assertEquals("List(0, a, b, c, d, e)",
+				describeList(build(new ParseLimits.Builder().setMaxListNesting(0).build()).parseMarkdown(list)));
+	}
+
+	@Test
+	public void shouldParseInlineSpansUpToMaximum() {
+		final ParseLimits limits = new ParseLimits.Builder().setMaxInlineSpans(3).build();
+		final String content = "a **b** c *d* e";
+		final String expected = "[TextString(content=a , isChildrenEnabled=false), BoldString(content=b, isChildrenEnabled=true), "
+				+ "TextString(content= c *d* e, isChildrenEnabled=false)]";
+
+		final InlineConverter<Object> regexConverter = new InlineConverter<>();
+		build(limits, MarkdownFlavor.INSTANCE, regexConverter);
+		final InlineConverter<Object> delimiterConverter = new InlineConverter<>();
+		build(limits, new DelimiterFlavor(), delimiterConverter);
+
+		assertEquals(5, new RegexInlineParser(MarkdownFlavor.INSTANCE.getInlineRules()).parseContent(content).size());
+		assertEquals(expected, regexConverter.parseContent(content).toString());
+		assertEquals(expected, delimiterConverter.parseContent(content).toString());
+	}
+
+	@Test
+	public void shouldParseRemainingBlocksAsPlainTextAfterTimeout() {
+		final MarkyMark<MarkdownItem> markyMark = new MarkyMark.Builder<MarkdownItem>()
+				.addFlavor(MarkdownFlavor.INSTANCE)
+				.addRule(new BacktrackingRule())
+				.setConverter(new ItemConverter())
+				.setInlineConverter(new InlineConverter<>())
+				.setParseLimits(new ParseLimits.Builder().setTimeout(100).build())
+				.build();
+		final String markdown = "**before**\n" + repeat('a', 40) + "\n**after**\n# Header\n";
+		final List<String> inline = new ArrayList<>();
+
+		assertTimeoutPreemptively(Duration.ofSeconds(10), () -> markyMark.parseMarkdown(markdown, new InlineRecorder(inline)));
+
+		assertTrue(inline.contains("BoldString(before)"), inline.toString());
+		assertTrue(inline.contains("TextString(**after**)"), inline.toString());
+		assertTrue(inline.contains("TextString(# Header)"), inline.toString());
+	}
+
+	@Test
+	public void shouldNotCacheMarkdownParsedAfterTimeout() {
+		final ParseCache cache = new ParseCache(10_000);
+		final MarkyMark<MarkdownItem> markyMark = new MarkyMark.Builder<MarkdownItem>()
+				.addFlavor(MarkdownFlavor.INSTANCE)
+				.addRule(new BacktrackingRule())
+				.setConverter(new ItemConverter())
+				.setInlineConverter(new InlineConverter<>())
+				.setParseCache(cache)
+				.setParseLimits(new ParseLimits.Builder().setTimeout(100).build())
+				.build();
+
+		final List<MarkdownItem> items = assertTimeoutPreemptively(Duration.ofSeconds(10),
+				() -> markyMark.parseMarkdown(repeat('a', 40) + "\n# Header\n"));
+
+		assertTrue(items.get(0) instanceof Paragraph);
+		assertEquals(paragraph("# Header"), ItemDescriptions.describe(items.get(1)));
+		assertEquals(0, cache.getWeight());
+	}
+
+	@Test
+	public void shouldNotKeepChildrenParsedAsPlainTextAfterTimeout() {
+		final InlineConverter<Object> inlineConverter = new InlineConverter<>();
+		build(new ParseLimits.Builder().setTimeout(10).build(), new SlowFlavor(), inlineConverter);
+		final MarkdownString bold = new InlineString("bold *it* x", true);
+
+		// Children are parsed outside of a parse, the first parse is slow and times out
+		assertEquals("[TextString(content=bold *it* x, isChildrenEnabled=false)]",
+				inlineConverter.getChildren(bold).toString());
+		assertEquals(inlineConverter.parseContent("bold *it* x").toString(), inlineConverter.getChildren(bold).toString());
+		assertEquals(3, inlineConverter.getChildren(bold).size());
+	}
+
+	@Test
+	public void shouldRejectNegativeLimits() {
+		assertThrows(IllegalArgumentException.class, () -> new ParseLimits.Builder().setMaxInputLength(-1));
+		assertThrows(IllegalArgumentException.class, () -> new ParseLimits.Builder().setMaxInlineSpans(-1));
+		assertThrows(IllegalArgumentException.class, () -> new ParseLimits.Builder().setTimeout(-1));
+	}
+
+	private static MarkyMark<MarkdownItem> build(final ParseLimits pLimits) {
+		return build(pLimits, MarkdownFlavor.INSTANCE, new InlineConverter<>());
+	}
+
+	private static MarkyMark<MarkdownItem> build(final ParseLimits pLimits, final Flavor pFlavor,
+			final InlineConverter<Object> pInlineConverter) {
+		return new MarkyMark.Builder<MarkdownItem>()
+				.addFlavor(pFlavor)
+				.setConverter(new ItemConverter())
+				.setInlineConverter(pInlineConverter)
+				.setParseLimits(pLimits)
+				.build();
+	}
+
+	private static String paragraph(final String pContent) {
+		return "Paragraph(" + inline(pContent) + ")";
+	}
+
+	private static String inline(final String pContent) {
+		return "InlineString(content=" + pContent + ", isChildrenEnabled=true)";
+	}
+
+	private static String describeList(final List<MarkdownItem> pItems) {
+		return ItemDescriptions.describe(pItems).replaceAll("InlineString\\(content=(\\w), isChildrenEnabled=true\\)", "$1").trim();
+	}
+
+	private static String repeat(final char pCharacter, final int pCount) {
+		final StringBuilder sb = new StringBuilder(pCount);
+		for (int i = 0; i < pCount; i++) {
+			sb.append(pCharacter);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Rule with a regular expression that backtracks exponentially on a line of a's, the back reference keeps the
+	 * regular expression engine from remembering the positions it has tried
+	 */
+	private static final class BacktrackingRule implements Rule {
+
+		private static final Pattern PATTERN = Pattern.compile("^(a+)+\\1b$");
+
+		@Override
+		public char[] getLeadingCharacters() {
+			return new char[] { 'a' };
+		}
+
+		@Override
+		public RuleMatch conforms(final List<? extends CharSequence> pMarkdownLines) {
+			return PATTERN.matcher(pMarkdownLines.get(0)).matches() ? new RuleMatch(1) : null;
+		}
+
+		@Override
+		public MarkdownItem toMarkdownItem(final List<? extends CharSequence> pMarkdownLines) {
+			return new Paragraph(new InlineString(pMarkdownLines.get(0).toString(), true));
+		}
+	}
+
+	/**
+	 * The Markdown flavor with the {@link DelimiterInlineParser}
+	 */
+	private static final class DelimiterFlavor implements Flavor {
+
+		@Override
+		public List<Rule> getRules() {
+			return MarkdownFlavor.INSTANCE.getRules();
+		}
+
+		@Override
+		public List<InlineRule> getInlineRules() {
+			return MarkdownFlavor.INSTANCE.getInlineRules();
+		}
+
+		@Override
+		public InlineParser getInlineParser() {
+			return new DelimiterInlineParser();
+		}
+
+		@Override
+		public Rule getDefaultRule() {
+			return MarkdownFlavor.INSTANCE.getDefaultRule();
+		}
+	}
+
+	/**
+	 * The Markdown flavor with an inline parser that is slow the first time it parses, it then checks the timeout like
+	 * a slow rule would
+	 */
+	private static final class SlowFlavor implements Flavor {
+
+		@Override
+		public List<Rule> getRules() {
+			return MarkdownFlavor.INSTANCE.getRules();
+		}
+
+		@Override
+		public List<InlineRule> getInlineRules() {
+			return MarkdownFlavor.INSTANCE.getInlineRules();
+		}
+
+		@Override
+		public InlineParser getInlineParser() {
+			final InlineParser inlineParser = new RegexInlineParser(getInlineRules());
+			return new InlineParser() {
+
+				private boolean mSlow = true;
+
+				@Override
+				public List<MarkdownString> parseContent(final String pContent) {
+					if (mSlow) {
+						mSlow = false;
+						try {
+							Thread.sleep(50);
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+						}
+						ParseLimits.checkDeadline();
+					}
+					return inlineParser.parseContent(pContent);
+				}
+			};
+		}
+
+		@Override
+		public Rule getDefaultRule() {
+			return MarkdownFlavor.INSTANCE.getDefaultRule();
+		}
+	}
+
+	/**
+	 * Records the class and content of the inline MarkdownStrings of the parsed blocks
+	 */
+	private static final class InlineRecorder implements MarkdownListener {
+
+		private final List<String> mInline;
+
+		private InlineRecorder(final List<String> pInline) {
+			mInline = pInline;
+		}
+
+		@Override
+		public void onInlineStart(final MarkdownString pMarkdownString) {
+			mInline.add(pMarkdownString.getClass().getSimpleName() + "(" + pMarkdownString.getContent() + ")");
+		}
+	}
+}
@@ -0,0 +1,138 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.basemarkdown;
+
+import com.m2mobi.basemarkdown.rule.HorizontalLineRule;
+import com.m2mobi.basemarkdown.rule.ParagraphRule;
+import com.m2mobi.markymark.InlineConverter;
+import com.m2mobi.markymark.MarkyMark;
+import com.m2mobi.markymark.item.MarkdownItem;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that parsing markdown scales linearly with the amount of lines
+ */
+public class ParseScalingTest {
+
+	/** Lines of a single repeated section, every section results in {@link #ITEMS_PER_SECTION} markdown items */
+	private static final String[] SECTION = {
+			"",
+			"# Release notes",
+			"Some text with **bold** and a [link](https://m2mobi.com)",
+			"- Item 1",
+			"- Item 2",
+			"    - Nested item",
+			"```",
+			"code",
+			"```",
+			"> Quote"
+	};
+
+	/** Amount of markdown items created from a single section */
+	private static final int ITEMS_PER_SECTION = 6;
+
+	/** Allowed factor on top of linear growth before the parser is considered to scale badly */
+	private static final int LINEAR_TOLERANCE = 5;
+
+	private MarkyMark<MarkdownItem> mMarkyMark;
+
+	@BeforeEach
+	public void init() {
+		mMarkyMark = new MarkyMark.Builder<MarkdownItem>()
+				.addFlavor(MarkdownFlavor.INSTANCE)
+				.setConverter(new ItemConverter())
+				.setInlineConverter(new InlineConverter<>())
+				.build();
+	}
+
+	@Test
+	public void shouldParseAllLines() {
+		for (int lines : new int[] { 1_000, 10_000, 100_000 }) {
+			assertEquals(lines / SECTION.length * ITEMS_PER_SECTION, mMarkyMark.parseMarkdown(createDocument(lines)).size());
+		}
+	}
+
+	@Test
+	@Tag("performance")
+	public void shouldScaleLinearly() {
+		// Only use cheap rules so the time spent on consuming lines is not hidden by the time spent matching rules
+		final MarkyMark<MarkdownItem> markyMark = new MarkyMark.Builder<MarkdownItem>()
+				.addRule(new HorizontalLineRule())
+				.setDefaultRule(new ParagraphRule())
+				.setConverter(new ItemConverter())
+				.setInlineConverter(new InlineConverter<>())
+				.build();
+		final String small = createParagraphs(10_000);
+		final String large = createParagraphs(100_000);
+
+		final ParseTimer.Parse parse = markyMark::parseMarkdown;
+
+		// Warm up so the measurements are not dominated by class loading and compilation
+		ParseTimer.measure(parse, createParagraphs(1_000));
+		ParseTimer.measure(parse, small);
+		ParseTimer.measure(parse, large);
+
+		final long smallTime = ParseTimer.measure(parse, small);
+		final long largeTime = ParseTimer.measure(parse, large);
+		assertTrue(largeTime < smallTime * 10 * LINEAR_TOLERANCE,
+				"Parsing 10x more lines took " + largeTime + "ns compared to " + smallTime + "ns");
+	}
+
+	/**
+	 * Creates a markdown document by repeating {@link #SECTION}
+	 *
+	 * @param pLines
+	 * 		The amount of lines of the document, should be a multiple of the section length
+	 * @return Returns the markdown document
+	 */
+	private static String createDocument(final int pLines) {
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < pLines; i++) {
+			sb.append(SECTION[i % SECTION.length]).append('\n');
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Creates a markdown document containing a single line paragraph on every line
+	 *
+	 * @param pLines
+	 * 		The amount of lines of the document
+	 * @return Returns the markdown document
+	 */
+	private static String createParagraphs(final int pLines) {
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < pLines; i++) {
+			sb.append("Paragraph ").append(i).append('\n');
+		}
+		return sb.toString();
+	}
+}
\ No newline at end of file
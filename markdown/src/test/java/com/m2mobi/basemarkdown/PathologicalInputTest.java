@@ -0,0 +1,217 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.basemarkdown;
+
+import com.m2mobi.basemarkdown.MarkdownGenerator.Dimension;
+import com.m2mobi.basemarkdown.ParseTimer.Parse;
+import com.m2mobi.basemarkdown.rule.CodeBlockRule;
+import com.m2mobi.basemarkdown.rule.HeaderRule;
+import com.m2mobi.basemarkdown.rule.HorizontalLineRule;
+import com.m2mobi.basemarkdown.rule.ImageRule;
+import com.m2mobi.basemarkdown.rule.ListRule;
+import com.m2mobi.basemarkdown.rule.QuoteRule;
+import com.m2mobi.basemarkdown.rule.inline.BoldRule;
+import com.m2mobi.basemarkdown.rule.inline.DelimiterInlineParser;
+import com.m2mobi.basemarkdown.rule.inline.InlineCodeRule;
+import com.m2mobi.basemarkdown.rule.inline.ItalicRule;
+import com.m2mobi.basemarkdown.rule.inline.LinkRule;
+import com.m2mobi.basemarkdown.rule.inline.ShortLinkRule;
+import com.m2mobi.basemarkdown.rule.inline.StrikeRule;
+import com.m2mobi.markymark.InlineConverter;
+import com.m2mobi.markymark.InlineParser;
+import com.m2mobi.markymark.MarkyMark;
+import com.m2mobi.markymark.RegexInlineParser;
+import com.m2mobi.markymark.item.InlineContainer;
+import com.m2mobi.markymark.item.MarkdownItem;
+import com.m2mobi.markymark.item.inline.MarkdownString;
+import com.m2mobi.markymark.rules.InlineRule;
+import com.m2mobi.markymark.rules.Rule;
+import com.m2mobi.markymark.rules.RuleMatch;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that the parse time of pathological input grows no faster than the bound declared for it. Regex based rules
+ * restart their search at every opening delimiter, so unclosed links and short links are allowed to grow
+ * quadratically, everything else has to grow linearly.
+ */
+@Tag("performance")
+public class PathologicalInputTest {
+
+	/** Factor between the size of the small and the large input */
+	private static final int GROWTH = 10;
+
+	/** Allowed factor on top of the declared growth before the input is considered to scale badly */
+	private static final int TOLERANCE = 4;
+
+	/**
+	 * The growth of the parse time declared for an input
+	 */
+	private enum Bound {
+
+		LINEAR(GROWTH),
+		QUADRATIC(GROWTH * GROWTH);
+
+		private final long mMaxRatio;
+
+		Bound(final int pGrowth) {
+			mMaxRatio = (long) pGrowth * TOLERANCE;
+		}
+	}
+
+	static Stream<Arguments> inlineInputs() {
+		return Stream.of(
+				Arguments.of("unclosed bold", new BoldRule(BoldRule.PATTERN_ASTERISK), "**", "a ", 1000, Bound.LINEAR),
+				Arguments.of("asterisk run", new BoldRule(BoldRule.PATTERN_ASTERISK), "", "*", 1000, Bound.LINEAR),
+				Arguments.of("underscore run", new BoldRule(BoldRule.PATTERN_UNDERSCORE), "", "_", 1000, Bound.LINEAR),
+				Arguments.of("italic between bold", new ItalicRule(), "*", "a **b ", 500, Bound.LINEAR),
+				Arguments.of("unclosed strike", new StrikeRule(), "~~", "a~", 1000, Bound.LINEAR),
+				Arguments.of("unclosed code", new InlineCodeRule(), "`", "a ", 1000, Bound.LINEAR),
+				Arguments.of("link text without url", LinkRule.INSTANCE, "[", "a](", 300, Bound.LINEAR),
+				Arguments.of("unclosed links", LinkRule.INSTANCE, "", "[a](b ", 30, Bound.QUADRATIC),
+				Arguments.of("unclosed link texts", LinkRule.INSTANCE, "", "[a ", 30, Bound.QUADRATIC),
+				Arguments.of("unclosed link titles", LinkRule.INSTANCE, "", "[a](b \"c ", 30, Bound.QUADRATIC),
+				Arguments.of("unclosed short links", new ShortLinkRule(), "", "<a://bb", 30, Bound.QUADRATIC),
+				Arguments.of("unclosed simple short links", new ShortLinkRule(false), "", "<a ", 30, Bound.QUADRATIC)
+		);
+	}
+
+	static Stream<Arguments> blockInputs() {
+		return Stream.of(
+				Arguments.of("unclosed image", new ImageRule(), "!", "[a](b", "", Bound.LINEAR),
+				Arguments.of("image alt text without url", new ImageRule(), "![", "a](b", "", Bound.LINEAR),
+				Arguments.of("long header", new HeaderRule(), "# ", "a ", "", Bound.LINEAR),
+				Arguments.of("hash run", new HeaderRule(), "", "#", "", Bound.LINEAR),
+				Arguments.of("quote run", new QuoteRule(), "", ">", "a", Bound.LINEAR),
+				Arguments.of("list indentation", new ListRule(), "", "    ", "- ", Bound.LINEAR),
+				Arguments.of("horizontal line with text", new HorizontalLineRule(), "", "-", "a", Bound.LINEAR),
+				Arguments.of("backtick run", new CodeBlockRule(), "", "`", "", Bound.LINEAR)
+		);
+	}
+
+	static Stream<Arguments> documents() {
+		return Stream.of(
+				Arguments.of(Dimension.DOCUMENT_LENGTH, 200, Bound.LINEAR),
+				Arguments.of(Dimension.PARAGRAPH_LENGTH, 1000, Bound.LINEAR),
+				// The indentation makes the size of the Markdown grow quadratically with the depth of the list
+				Arguments.of(Dimension.LIST_DEPTH, 10, Bound.QUADRATIC),
+				Arguments.of(Dimension.INLINE_SPANS, 100, Bound.LINEAR),
+				Arguments.of(Dimension.CODE_FENCE_SIZE, 200, Bound.LINEAR),
+				Arguments.of(Dimension.UNTERMINATED_DELIMITERS, 30, Bound.QUADRATIC)
+		);
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("inlineInputs")
+	public void inlineRuleShouldStayWithinBound(final String pName, final InlineRule pRule, final String pPrefix,
+			final String pUnit, final int pCount, final Bound pBound) {
+		final InlineParser parser = new RegexInlineParser(Collections.singletonList(pRule));
+
+		assertWithinBound(pName, pBound, parser::parseContent, pPrefix + repeat(pUnit, pCount),
+				pPrefix + repeat(pUnit, pCount * GROWTH));
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("inlineInputs")
+	public void delimiterParserShouldScaleLinearly(final String pName, final InlineRule pRule, final String pPrefix,
+			final String pUnit, final int pCount, final Bound pBound) {
+		final InlineParser parser = new DelimiterInlineParser();
+
+		// Repeat the input to make the small input large enough to be measured reliably
+		assertWithinBound(pName, Bound.LINEAR, parser::parseContent, pPrefix + repeat(pUnit, pCount * GROWTH),
+				pPrefix + repeat(pUnit, pCount * GROWTH * GROWTH));
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("blockInputs")
+	public void blockRuleShouldStayWithinBound(final String pName, final Rule pRule, final String pPrefix,
+			final String pUnit, final String pSuffix, final Bound pBound) {
+		final Parse parse = pMarkdown -> {
+			final List<String> lines = Collections.singletonList(pMarkdown);
+			final RuleMatch match = pRule.conforms(lines);
+			if (match != null) {
+				pRule.toMarkdownItem(lines, match);
+			}
+		};
+
+		assertWithinBound(pName, pBound, parse, pPrefix + repeat(pUnit, 1000) + pSuffix,
+				pPrefix + repeat(pUnit, 1000 * GROWTH) + pSuffix);
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("documents")
+	public void documentShouldStayWithinBound(final Dimension pDimension, final int pSize, final Bound pBound) {
+		final InlineConverter<Object> inlineConverter = new InlineConverter<>();
+		final MarkyMark<MarkdownItem> markyMark = new MarkyMark.Builder<MarkdownItem>()
+				.addFlavor(MarkdownFlavor.INSTANCE)
+				.setConverter(new ItemConverter())
+				.setInlineConverter(inlineConverter)
+				.build();
+		final Parse parse = pMarkdown -> {
+			for (MarkdownItem markdownItem : markyMark.parseMarkdown(pMarkdown)) {
+				if (markdownItem instanceof InlineContainer) {
+					for (MarkdownString markdownString : ((InlineContainer) markdownItem).getInlineContent()) {
+						inlineConverter.getChildren(markdownString);
+					}
+				}
+			}
+		};
+
+		assertWithinBound(pDimension.toString(), pBound, parse, pDimension.create(new MarkdownGenerator(0), pSize),
+				pDimension.create(new MarkdownGenerator(0), pSize * GROWTH));
+	}
+
+	/**
+	 * Asserts that parsing the large input takes no more than the bound allows compared to parsing the small input
+	 */
+	private static void assertWithinBound(final String pName, final Bound pBound, final Parse pParse, final String pSmall,
+			final String pLarge) {
+		// Warm up so the measurements are not dominated by class loading and compilation
+		ParseTimer.measure(pParse, pSmall);
+		ParseTimer.measure(pParse, pLarge);
+
+		final long smallTime = ParseTimer.measure(pParse, pSmall);
+		final long largeTime = ParseTimer.measure(pParse, pLarge);
+		assertTrue(largeTime < smallTime * pBound.mMaxRatio, "Parsing " + GROWTH + "x more " + pName + " took "
+				+ largeTime + "ns compared to " + smallTime + "ns, more than allowed for " + pBound);
+	}
+
+	private static String repeat(final String pUnit, final int pCount) {
+		final StringBuilder sb = new StringBuilder(pUnit.length() * pCount);
+		for (int i = 0; i < pCount; i++) {
+			sb.append(pUnit);
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,163 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.basemarkdown;
+
+import com.m2mobi.basemarkdown.rule.HeaderRule;
+import com.m2mobi.markymark.InlineConverter;
+import com.m2mobi.markymark.MarkyMark;
+import com.m2mobi.markymark.item.MarkdownItem;
+import com.m2mobi.markymark.rules.Rule;
+import com.m2mobi.markymark.rules.RuleMatch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests that selecting rules by their leading characters gives the same result as checking every rule
+ */
+public class RuleDispatchTest {
+
+	private static final String MARKDOWN = "# Header\n"
+			+ "####### Seven hashes\n"
+			+ "Paragraph with **bold** text\n"
+			+ "- Item 1\n"
+			+ "* Item 2\n"
+			+ "+ Item 3\n"
+			+ "    1. Nested\n"
+			+ "\t2. Tab nested\n"
+			+ "10. Ordered\n"
+			+ "---\n"
+			+ "--\n"
+			+ "-not a list\n"
+			+ "\n"
+			+ "```\n"
+			+ "code\n"
+			+ "```\n"
+			+ "```single line```\n"
+			+ "> Quote\n"
+			+ ">> Nested quote\n"
+			+ "![alt](image.png)\n"
+			+ "!not an image\n"
+			+ "    indented paragraph\n"
+			+ "\u00e9l\u00e8ve\n"
+			+ "`inline` code\n";
+
+	@Test
+	public void shouldParseSameAsFullScan() {
+		final List<Rule> undeclaredRules = new ArrayList<>();
+		for (Rule rule : MarkdownFlavor.INSTANCE.getRules()) {
+			undeclaredRules.add(new UndeclaredRule(rule));
+		}
+
+		assertEquals(
+				ItemDescriptions.describe(build(MarkdownFlavor.INSTANCE.getRules()).parseMarkdown(MARKDOWN)),
+				ItemDescriptions.describe(build(undeclaredRules).parseMarkdown(MARKDOWN))
+		);
+	}
+
+	@Test
+	public void shouldOnlyCheckRulesThatCanMatch() {
+		final CountingRule header = new CountingRule(new HeaderRule());
+		build(singletonRules(header)).parseMarkdown("# Header\nParagraph\n\n- Item\n## Header");
+
+		assertEquals(2, header.mChecks);
+	}
+
+	@Test
+	public void shouldCheckUndeclaredRulesForEveryLine() {
+		final CountingRule undeclared = new CountingRule(new UndeclaredRule(new HeaderRule()));
+		build(singletonRules(undeclared)).parseMarkdown("# Header\nParagraph\n\n\u00e9\n## Header");
+
+		assertEquals(5, undeclared.mChecks);
+	}
+
+	private static List<Rule> singletonRules(final Rule pRule) {
+		final List<Rule> rules = new ArrayList<>();
+		rules.add(pRule);
+		return rules;
+	}
+
+	private static MarkyMark<MarkdownItem> build(final List<Rule> pRules) {
+		final MarkyMark.Builder<MarkdownItem> builder = new MarkyMark.Builder<MarkdownItem>()
+				.setConverter(new ItemConverter())
+				.setInlineConverter(new InlineConverter<>());
+		for (Rule rule : pRules) {
+			builder.addRule(rule);
+		}
+		return builder.setDefaultRule(MarkdownFlavor.INSTANCE.getDefaultRule()).build();
+	}
+
+	/**
+	 * Rule that delegates to another rule without declaring leading characters, so it is checked for every line
+	 */
+	private static class UndeclaredRule implements Rule {
+
+		private final Rule mRule;
+
+		UndeclaredRule(final Rule pRule) {
+			mRule = pRule;
+		}
+
+		@Override
+		public RuleMatch conforms(final List<? extends CharSequence> pMarkdownLines) {
+			return mRule.conforms(pMarkdownLines);
+		}
+
+		@Override
+		public MarkdownItem toMarkdownItem(final List<? extends CharSequence> pMarkdownLines) {
+			return mRule.toMarkdownItem(pMarkdownLines);
+		}
+	}
+
+	/**
+	 * Rule that counts how often it is checked
+	 */
+	private static class CountingRule extends UndeclaredRule {
+
+		private final Rule mRule;
+
+		private int mChecks = 0;
+
+		CountingRule(final Rule pRule) {
+			super(pRule);
+			mRule = pRule;
+		}
+
+		@Override
+		public char[] getLeadingCharacters() {
+			return mRule.getLeadingCharacters();
+		}
+
+		@Override
+		public RuleMatch conforms(final List<? extends CharSequence> pMarkdownLines) {
+			mChecks++;
+			return super.conforms(pMarkdownLines);
+		}
+	}
+}
@@ -0,0 +1,150 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.basemarkdown;
+
+import com.m2mobi.markymark.InlineConverter;
+import com.m2mobi.markymark.MarkyMark;
+import com.m2mobi.markymark.item.MarkdownItem;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for parsing markdown from a {@link Reader}
+ */
+public class StreamingParseTest {
+
+	private static final String MARKDOWN = "# Header\n"
+			+ "Paragraph with **bold** text\r\n"
+			+ "- Item 1\n"
+			+ "- Item 2\n"
+			+ "    1. Nested\n"
+			+ "\n"
+			+ "```\n"
+			+ "code\n"
+			+ "\n"
+			+ "```\n"
+			+ "> Quote\n"
+			+ "---\n"
+			+ "![alt](image.png)\n"
+			+ "\n"
+			+ "\n";
+
+	private MarkyMark<MarkdownItem> mMarkyMark;
+
+	@BeforeEach
+	public void init() {
+		mMarkyMark = new MarkyMark.Builder<MarkdownItem>()
+				.addFlavor(MarkdownFlavor.INSTANCE)
+				.setConverter(new ItemConverter())
+				.setInlineConverter(new InlineConverter<>())
+				.build();
+	}
+
+	@Test
+	public void shouldCreateSameItemsAsStringParsing() throws IOException {
+		final List<MarkdownItem> items = new ArrayList<>();
+		mMarkyMark.parseMarkdown(new StringReader(MARKDOWN), items::add);
+
+		assertEquals(ItemDescriptions.describe(mMarkyMark.parseMarkdown(MARKDOWN)), ItemDescriptions.describe(items));
+	}
+
+	@Test
+	public void shouldParseInputStream() throws IOException {
+		final List<MarkdownItem> items = new ArrayList<>();
+		mMarkyMark.parseMarkdown(new ByteArrayInputStream("# H\u00e9ader".getBytes("UTF-8")), items::add);
+
+		assertEquals(ItemDescriptions.describe(mMarkyMark.parseMarkdown("# H\u00e9ader")), ItemDescriptions.describe(items));
+	}
+
+	@Test
+	public void shouldParseEmptyMarkdown() throws IOException {
+		final List<MarkdownItem> items = new ArrayList<>();
+		mMarkyMark.parseMarkdown(new StringReader(""), items::add);
+
+		assertEquals(ItemDescriptions.describe(mMarkyMark.parseMarkdown("")), ItemDescriptions.describe(items));
+	}
+
+	@Test
+	public void shouldEmitItemsBeforeReadingEverything() throws IOException {
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 10_000; i++) {
+			sb.append("Paragraph ").append(i).append('\n');
+		}
+		final TrackingReader reader = new TrackingReader(sb.toString());
+		final List<Boolean> endReachedPerItem = new ArrayList<>();
+		mMarkyMark.parseMarkdown(reader, pItem -> endReachedPerItem.add(reader.mEndReached));
+
+		assertEquals(10_000, endReachedPerItem.size());
+		assertFalse(endReachedPerItem.get(0));
+	}
+
+	@Test
+	public void shouldPropagateReadErrors() {
+		final Reader reader = new Reader() {
+
+			@Override
+			public int read(final char[] pBuffer, final int pOffset, final int pLength) throws IOException {
+				throw new IOException("read failed");
+			}
+
+			@Override
+			public void close() {
+			}
+		};
+		assertThrows(IOException.class, () -> mMarkyMark.parseMarkdown(reader, pItem -> {
+		}));
+	}
+
+	/**
+	 * Reader that keeps track of whether the end of the input has been reached
+	 */
+	private static class TrackingReader extends StringReader {
+
+		private boolean mEndReached = false;
+
+		TrackingReader(final String pString) {
+			super(pString);
+		}
+
+		@Override
+		public int read(final char[] pBuffer, final int pOffset, final int pLength) throws IOException {
+			final int read = super.read(pBuffer, pOffset, pLength);
+			mEndReached |= read == -1;
+			return read;
+		}
+	}
+}
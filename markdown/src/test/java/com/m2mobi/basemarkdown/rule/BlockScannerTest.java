@@ -0,0 +1,207 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.basemarkdown.rule;
+
+import com.m2mobi.markymark.rules.RuleMatch;
+import com.m2mobi.markymarkcommon.markdownitems.CodeBlock;
+import com.m2mobi.markymarkcommon.markdownitems.Header;
+import com.m2mobi.markymarkcommon.markdownitems.QuoteBlock;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests that the rules that scan lines directly match the same lines and create the same items as the regular
+ * expressions they replace
+ */
+public class BlockScannerTest {
+
+	/** The header pattern {@link HeaderRule} replaces */
+	private static final Pattern HEADER_PATTERN = Pattern.compile("^(#{1,6})\\s*(.+)$");
+
+	/** The horizontal line pattern {@link HorizontalLineRule} replaces */
+	private static final Pattern HORIZONTAL_LINE_PATTERN = Pattern.compile("^-{3,}$");
+
+	/** The quote pattern {@link QuoteRule} replaces */
+	private static final Pattern QUOTE_PATTERN = Pattern.compile("(^>+)(.*?)$");
+
+	/** The code block start pattern {@link CodeBlockRule} replaces */
+	private static final Pattern CODE_PATTERN_START = Pattern.compile("^`{3}");
+
+	/** The single line code block end pattern {@link CodeBlockRule} replaces */
+	private static final Pattern CODE_PATTERN_END_SINGLE_LINE = Pattern.compile("(?<!^)(\\`{3})$");
+
+	/** The code block end pattern {@link CodeBlockRule} replaces */
+	private static final Pattern CODE_PATTERN_END = Pattern.compile("(\\`{3})$");
+
+	/** Characters that affect matching a line */
+	private static final char[] ALPHABET = { '#', '-', '>', '`', ' ', '\t', '\f', '\n', '\r', 'a', '\u2028' };
+
+	/** Lines code blocks are made of */
+	private static final String[] CODE_LINES = { "```", "````", "``", "code", "", "a```", "```b", "`", "\t```" };
+
+	private final HeaderRule mHeaderRule = new HeaderRule();
+
+	private final HorizontalLineRule mHorizontalLineRule = new HorizontalLineRule();
+
+	private final QuoteRule mQuoteRule = new QuoteRule();
+
+	private final CodeBlockRule mCodeBlockRule = new CodeBlockRule();
+
+	@Test
+	public void shouldScanShortLinesLikeRegex() {
+		final char[] line = new char[5];
+		for (int length = 0; length <= line.length; length++) {
+			scanAll(line, 0, length);
+		}
+	}
+
+	@Test
+	public void shouldScanLongHeadersLikeRegex() {
+		assertHeaderLikeRegex("####### Seven");
+		assertHeaderLikeRegex("#######");
+		assertHeaderLikeRegex("##   \t ");
+		assertHeaderLikeRegex("# \n ");
+		assertHeaderLikeRegex("# Header\u0085");
+	}
+
+	@Test
+	public void shouldScanCodeBlocksLikeRegex() {
+		final Random random = new Random(25);
+		for (int i = 0; i < 20000; i++) {
+			final List<String> lines = new ArrayList<>();
+			lines.add(random.nextInt(8) == 0 ? CODE_LINES[random.nextInt(CODE_LINES.length)] : "```");
+			final int size = random.nextInt(6);
+			for (int l = 0; l < size; l++) {
+				lines.add(CODE_LINES[random.nextInt(CODE_LINES.length)]);
+			}
+			final RuleMatch match = mCodeBlockRule.conforms(lines);
+			final int expected = regexCodeBlockLines(lines);
+			if (expected == 0) {
+				assertNull(match, lines.toString());
+				continue;
+			}
+			assertNotNull(match, lines.toString());
+			assertEquals(expected, match.getLinesConsumed(), lines.toString());
+			final List<String> block = lines.subList(0, expected);
+			assertEquals(regexCodeBlockContent(block),
+					((CodeBlock) mCodeBlockRule.toMarkdownItem(block, match)).getContent(), block.toString());
+		}
+	}
+
+	/**
+	 * Checks every line of the given length that can be made from the {@link #ALPHABET}
+	 */
+	private void scanAll(final char[] pLine, final int pIndex, final int pLength) {
+		if (pIndex == pLength) {
+			final String line = new String(pLine, 0, pLength);
+			assertHeaderLikeRegex(line);
+			assertQuoteLikeRegex(line);
+			assertEquals(HORIZONTAL_LINE_PATTERN.matcher(line).matches(),
+					mHorizontalLineRule.conforms(Collections.singletonList(line)) != null, line);
+			return;
+		}
+		for (char c : ALPHABET) {
+			pLine[pIndex] = c;
+			scanAll(pLine, pIndex + 1, pLength);
+		}
+	}
+
+	private void assertHeaderLikeRegex(final String pLine) {
+		final List<String> lines = Collections.singletonList(pLine);
+		final RuleMatch match = mHeaderRule.conforms(lines);
+		final Matcher matcher = HEADER_PATTERN.matcher(pLine);
+		if (!matcher.matches()) {
+			assertNull(match, pLine);
+			return;
+		}
+		assertNotNull(match, pLine);
+		final Header header = (Header) mHeaderRule.toMarkdownItem(lines, match);
+		assertEquals(matcher.group(1).length(), header.getHeader(), pLine);
+		assertEquals(matcher.group(2), header.getContent().getContent(), pLine);
+	}
+
+	private void assertQuoteLikeRegex(final String pLine) {
+		final List<String> lines = Collections.singletonList(pLine);
+		final RuleMatch match = mQuoteRule.conforms(lines);
+		final Matcher matcher = QUOTE_PATTERN.matcher(pLine);
+		if (!matcher.matches()) {
+			assertNull(match, pLine);
+			return;
+		}
+		assertNotNull(match, pLine);
+		final QuoteBlock quote = (QuoteBlock) mQuoteRule.toMarkdownItem(lines, match);
+		assertEquals(matcher.group(2), quote.getContent().getContent(), pLine);
+	}
+
+	/**
+	 * @return the amount of lines the code block patterns matched, 0 if they did not match
+	 */
+	private int regexCodeBlockLines(final List<String> pLines) {
+		if (!CODE_PATTERN_START.matcher(pLines.get(0)).matches()) {
+			return 0;
+		}
+		int linesConsumed = 0;
+		for (String line : pLines) {
+			linesConsumed += 1;
+			if (linesConsumed == 1) {
+				if (CODE_PATTERN_END_SINGLE_LINE.matcher(line).matches()) {
+					break;
+				}
+			} else {
+				if (CODE_PATTERN_END.matcher(line).matches()) {
+					break;
+				}
+			}
+		}
+		return linesConsumed;
+	}
+
+	/**
+	 * @return the content of a code block as created with regular expressions
+	 */
+	private String regexCodeBlockContent(final List<String> pLines) {
+		StringBuilder sb = new StringBuilder();
+		for (String line : pLines) {
+			sb.append(line);
+			sb.append("\n");
+		}
+		String content = sb.toString();
+		content = content.replaceAll("\n```", "");
+		content = content.replaceAll("```\n", "");
+		content = content.replaceAll("```", "");
+		return content;
+	}
+}
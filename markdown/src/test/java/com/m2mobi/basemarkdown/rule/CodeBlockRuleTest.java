@@ -30,8 +30,9 @@ import org.junit.jupiter.api.Test;
 import java.util.ArrayList;
 import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 /**
  * Tests for {@link CodeBlockRule}
@@ -51,7 +52,17 @@ public class CodeBlockRuleTest {
 		strings.add("```");
 		strings.add("code");
 		strings.add("```");
-		assertTrue(mCodeBlockRule.conforms(strings));
+		assertNotNull(mCodeBlockRule.conforms(strings));
+	}
+
+	@Test
+	public void shouldConsumeLinesUntilEndOfCodeBlock() {
+		List<String> strings = new ArrayList<>();
+		strings.add("```");
+		strings.add("code");
+		strings.add("```");
+		strings.add("paragraph");
+		assertEquals(3, mCodeBlockRule.conforms(strings).getLinesConsumed());
 	}
 
 	@Test
@@ -60,6 +71,6 @@ public class CodeBlockRuleTest {
 		strings.add("***");
 		strings.add("code");
 		strings.add("***");
-		assertFalse(mCodeBlockRule.conforms(strings));
+		assertNull(mCodeBlockRule.conforms(strings));
 	}
 }
\ No newline at end of file
@@ -24,14 +24,18 @@
 
 package com.m2mobi.basemarkdown.rule;
 
+import com.m2mobi.markymark.rules.RuleMatch;
+import com.m2mobi.markymarkcommon.markdownitems.Header;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 /**
  * Tests for {@link HeaderRule}
@@ -49,41 +53,52 @@ public class HeaderRuleTest {
 	public void shouldBeHeader() {
 		List<String> strings = new ArrayList<>();
 		strings.add("# Header");
-		assertTrue(mHeaderRule.conforms(strings));
+		assertNotNull(mHeaderRule.conforms(strings));
 
 		strings.clear();
 		strings.add("## Header");
-		assertTrue(mHeaderRule.conforms(strings));
+		assertNotNull(mHeaderRule.conforms(strings));
 
 		strings.clear();
 		strings.add("### Header");
-		assertTrue(mHeaderRule.conforms(strings));
+		assertNotNull(mHeaderRule.conforms(strings));
 
 		strings.clear();
 		strings.add("#### Header");
-		assertTrue(mHeaderRule.conforms(strings));
+		assertNotNull(mHeaderRule.conforms(strings));
 
 		strings.clear();
 		strings.add("##### Header");
-		assertTrue(mHeaderRule.conforms(strings));
+		assertNotNull(mHeaderRule.conforms(strings));
 
 		strings.clear();
 		strings.add("###### Header");
-		assertTrue(mHeaderRule.conforms(strings));
+		assertNotNull(mHeaderRule.conforms(strings));
 	}
 
 	@Test
 	public void isNotHeader() {
 		List<String> strings = new ArrayList<>();
 		strings.add("Header#");
-		assertFalse(mHeaderRule.conforms(strings));
+		assertNull(mHeaderRule.conforms(strings));
 
 		strings.clear();
 		strings.add("Header #");
-		assertFalse(mHeaderRule.conforms(strings));
+		assertNull(mHeaderRule.conforms(strings));
 
 		strings.clear();
 		strings.add("Header # Test");
-		assertFalse(mHeaderRule.conforms(strings));
+		assertNull(mHeaderRule.conforms(strings));
+	}
+
+	@Test
+	public void shouldCreateHeaderFromMatch() {
+		List<String> strings = new ArrayList<>();
+		strings.add("### Header");
+		final RuleMatch match = mHeaderRule.conforms(strings);
+
+		final Header header = (Header) mHeaderRule.toMarkdownItem(strings, match);
+		assertEquals(3, header.getHeader());
+		assertEquals("Header", header.getContent().getContent());
 	}
 }
\ No newline at end of file
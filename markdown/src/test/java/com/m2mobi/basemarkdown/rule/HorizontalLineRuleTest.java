@@ -29,8 +29,8 @@ import org.junit.jupiter.api.Test;
 import java.util.ArrayList;
 import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 /**
  * Tests for {@link HorizontalLineRule}
@@ -41,26 +41,26 @@ public class HorizontalLineRuleTest {
 	public void shouldBeHorizontalRule() {
 		List<String> markdown = new ArrayList<>();
 		markdown.add("---");
-		assertTrue(new HorizontalLineRule().conforms(markdown));
+		assertNotNull(new HorizontalLineRule().conforms(markdown));
 
 		markdown.clear();
 		markdown.add("----");
-		assertTrue(new HorizontalLineRule().conforms(markdown));
+		assertNotNull(new HorizontalLineRule().conforms(markdown));
 	}
 
 	@Test
 	public void shouldNotBeHorizontalRule() {
 		List<String> markdown = new ArrayList<>();
 		markdown.add("--");
-		assertFalse(new HorizontalLineRule().conforms(markdown));
+		assertNull(new HorizontalLineRule().conforms(markdown));
 
 		markdown.clear();
 		markdown.add("===");
-		assertFalse(new HorizontalLineRule().conforms(markdown));
+		assertNull(new HorizontalLineRule().conforms(markdown));
 
 		markdown.clear();
 		markdown.add("===Hoi");
-		assertFalse(new HorizontalLineRule().conforms(markdown));
+		assertNull(new HorizontalLineRule().conforms(markdown));
 	}
 
 }
@@ -24,14 +24,19 @@
 
 package com.m2mobi.basemarkdown.rule;
 
+import com.m2mobi.markymark.rules.RuleMatch;
+import com.m2mobi.markymarkcommon.markdownitems.Image;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 /**
  * Tests for {@link ImageRule}
@@ -49,13 +54,37 @@ public class ImageRuleTest {
 	public void shouldBeImage() {
 		List<String> strings = new ArrayList<>();
 		strings.add("![Image](www.google.com/images/cheese)");
-		assertTrue(mImageRule.conforms(strings));
+		assertNotNull(mImageRule.conforms(strings));
 	}
 
 	@Test
 	public void shouldNotBeImage() {
 		List<String> strings = new ArrayList<>();
 		strings.add("[Image](www.google.com/images/cheese)");
-		assertFalse(mImageRule.conforms(strings));
+		assertNull(mImageRule.conforms(strings));
+	}
+
+	@Test
+	public void shouldCreateImageFromMatch() {
+		List<String> strings = new ArrayList<>();
+		strings.add("![Image](www.google.com/images/cheese)");
+		final RuleMatch match = mImageRule.conforms(strings);
+
+		// The lines are not needed anymore, the groups captured by the match are used
+		final Image image = (Image) mImageRule.toMarkdownItem(Collections.<String>emptyList(), match);
+		assertEquals("www.google.com/images/cheese", image.getFilename());
+		assertEquals("Image", image.getAltText());
+	}
+
+	@Test
+	public void shouldEndUrlAtFirstParenthesisLikeMatchingAgain() {
+		List<String> strings = new ArrayList<>();
+		strings.add("![Image](cheese) and (more)");
+
+		final Image fromMatch = (Image) mImageRule.toMarkdownItem(strings, mImageRule.conforms(strings));
+		final Image matchedAgain = (Image) mImageRule.toMarkdownItem(strings);
+		assertEquals("cheese", fromMatch.getFilename());
+		assertEquals(matchedAgain.getFilename(), fromMatch.getFilename());
+		assertEquals(matchedAgain.getAltText(), fromMatch.getAltText());
 	}
 }
\ No newline at end of file
@@ -0,0 +1,118 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.basemarkdown.rule;
+
+import com.m2mobi.basemarkdown.rule.inline.LinkRule;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests that the link and image patterns, which were rewritten to avoid backtracking on unclosed links, find the same
+ * links and images as the patterns they replace
+ */
+public class LinkPatternTest {
+
+	/** The link pattern {@link LinkRule} replaces */
+	private static final Pattern LINK_PATTERN = Pattern.compile("(?<!!)\\[(.+?)]\\((.+?)(?: \"(.+?)\")?\\)");
+
+	/** The image pattern {@link ImageRule} replaces */
+	private static final Pattern IMAGE_PATTERN = Pattern.compile("(!\\p{Z}?)\\[(.+?)\\]\\((.+?)\\)");
+
+	/** Characters that affect matching a link or image, including line breaks that {@code .} does not match */
+	private static final char[] ALPHABET = { '[', ']', '(', ')', '!', '"', ' ', 'a', '\n', '\r', '\u2028' };
+
+	/** Parts of links and images, so the random input contains complete links more often */
+	private static final String[] PARTS = { "[a](b)", "[a](b \"c\")", "![a](b)", "](", " \"", "\")", "[", ")" };
+
+	@Test
+	public void shouldFindShortLinksLikeOldPattern() {
+		final char[] input = new char[5];
+		for (int length = 0; length <= input.length; length++) {
+			findAll(input, 0, length);
+		}
+	}
+
+	@Test
+	public void shouldFindRandomLinksLikeOldPattern() {
+		final Random random = new Random(19);
+		for (int i = 0; i < 50000; i++) {
+			final StringBuilder sb = new StringBuilder();
+			final int length = random.nextInt(12);
+			for (int c = 0; c < length; c++) {
+				if (random.nextInt(3) == 0) {
+					sb.append(PARTS[random.nextInt(PARTS.length)]);
+				} else {
+					sb.append(ALPHABET[random.nextInt(ALPHABET.length)]);
+				}
+			}
+			assertFindsLikeOldPatterns(sb.toString());
+		}
+	}
+
+	/**
+	 * Checks every input of the given length that can be made from the {@link #ALPHABET}
+	 */
+	private void findAll(final char[] pInput, final int pIndex, final int pLength) {
+		if (pIndex == pLength) {
+			assertFindsLikeOldPatterns(new String(pInput, 0, pLength));
+			return;
+		}
+		for (char c : ALPHABET) {
+			pInput[pIndex] = c;
+			findAll(pInput, pIndex + 1, pLength);
+		}
+	}
+
+	private void assertFindsLikeOldPatterns(final String pInput) {
+		assertEquals(describeMatches(LINK_PATTERN, pInput), describeMatches(LinkRule.INSTANCE.getRegex(), pInput),
+				pInput);
+		assertEquals(describeMatches(IMAGE_PATTERN, pInput), describeMatches(ImageRule.IMAGE_PATTERN, pInput), pInput);
+	}
+
+	/**
+	 * @return the bounds and groups of the match found from every offset of the input
+	 */
+	private static String describeMatches(final Pattern pPattern, final String pInput) {
+		final StringBuilder sb = new StringBuilder();
+		final Matcher matcher = pPattern.matcher(pInput);
+		for (int start = 0; start <= pInput.length(); start++) {
+			if (!matcher.find(start)) {
+				break;
+			}
+			sb.append(start).append(": ").append(matcher.start()).append('-').append(matcher.end());
+			for (int group = 1; group <= matcher.groupCount(); group++) {
+				sb.append(" [").append(matcher.group(group)).append(']');
+			}
+			sb.append('\n');
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,151 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.basemarkdown.rule;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link ListLineClassifier}, comparing it with the regular expressions {@link ListRule} used before
+ */
+public class ListLineClassifierTest {
+
+	/** The ordered list pattern the classifier replaces */
+	private static final Pattern ORDERED_LIST_PATTERN = Pattern.compile("^((?:\\t| {4})*+)\\d+\\. {1,4}([a-zA-Z0-9].*)$");
+
+	/** The unordered list pattern the classifier replaces */
+	private static final Pattern UNORDERED_LIST_PATTERN = Pattern.compile("^((?:\\t| {4})*+)[+*\\-] {1,4}([a-zA-Z0-9].*)$");
+
+	/** Characters that affect the classification of a line */
+	private static final char[] ALPHABET = { ' ', '\t', '-', '+', '*', '1', '0', '.', 'a', 'Z', '_', '\n', '\u2028' };
+
+	@Test
+	public void shouldClassifyOrderedItem() {
+		final String line = "\t    12.  Item ";
+		final ListLineClassifier.ListLine listLine = ListLineClassifier.classify(line);
+		assertNotNull(listLine);
+		assertTrue(listLine.isOrdered());
+		assertEquals(5, listLine.getIndent());
+		assertEquals(12, listLine.getOrdinal());
+		assertEquals(10, listLine.getTextOffset());
+		assertEquals("Item", listLine.getText(line));
+	}
+
+	@Test
+	public void shouldClassifyBulletItem() {
+		final ListLineClassifier.ListLine listLine = ListLineClassifier.classify("- Item");
+		assertNotNull(listLine);
+		assertFalse(listLine.isOrdered());
+		assertEquals(0, listLine.getIndent());
+		assertEquals(-1, listLine.getOrdinal());
+	}
+
+	@Test
+	public void shouldNotClassifyOtherLines() {
+		assertNull(ListLineClassifier.classify(""));
+		assertNull(ListLineClassifier.classify("  - Two spaces of indentation"));
+		assertNull(ListLineClassifier.classify("-     Five spaces after the marker"));
+		assertNull(ListLineClassifier.classify("1) Wrong marker"));
+		assertNull(ListLineClassifier.classify("- _Text that starts with punctuation_"));
+		assertNull(ListLineClassifier.classify("- Line\nterminator"));
+	}
+
+	@Test
+	public void shouldCapOrdinal() {
+		assertEquals(Integer.MAX_VALUE, ListLineClassifier.classify("99999999999999999999. Item").getOrdinal());
+	}
+
+	@Test
+	public void shouldClassifyShortLinesLikeRegex() {
+		final char[] line = new char[5];
+		for (int length = 0; length <= line.length; length++) {
+			classifyAll(line, 0, length);
+		}
+	}
+
+	@Test
+	public void shouldClassifyRandomLinesLikeRegex() {
+		final Random random = new Random(24);
+		final String[] indents = { "", "\t", "    ", "   ", "  \t", "\t    \t", "        " };
+		final String[] markers = { "-", "+", "*", "1.", "42.", "007.", "1", ".", "#", "" };
+		final String[] texts = { "Item", "item  ", "9 lives", " Item", "_item_", "Item\r", "It\u0085em", "", "a\tb" };
+		for (int i = 0; i < 100000; i++) {
+			final StringBuilder line = new StringBuilder();
+			line.append(indents[random.nextInt(indents.length)]);
+			line.append(markers[random.nextInt(markers.length)]);
+			final int spaces = random.nextInt(7);
+			for (int s = 0; s < spaces; s++) {
+				line.append(' ');
+			}
+			line.append(texts[random.nextInt(texts.length)]);
+			if (random.nextInt(4) == 0) {
+				line.insert(random.nextInt(line.length() + 1), ALPHABET[random.nextInt(ALPHABET.length)]);
+			}
+			assertClassifiedLikeRegex(line.toString());
+		}
+	}
+
+	/**
+	 * Checks every line of the given length that can be made from the {@link #ALPHABET}
+	 */
+	private void classifyAll(final char[] pLine, final int pIndex, final int pLength) {
+		if (pIndex == pLength) {
+			assertClassifiedLikeRegex(new String(pLine, 0, pLength));
+			return;
+		}
+		for (char c : ALPHABET) {
+			pLine[pIndex] = c;
+			classifyAll(pLine, pIndex + 1, pLength);
+		}
+	}
+
+	private void assertClassifiedLikeRegex(final String pLine) {
+		final ListLineClassifier.ListLine listLine = ListLineClassifier.classify(pLine);
+		Matcher matcher = ORDERED_LIST_PATTERN.matcher(pLine);
+		boolean ordered = true;
+		if (!matcher.matches()) {
+			matcher = UNORDERED_LIST_PATTERN.matcher(pLine);
+			ordered = false;
+			if (!matcher.matches()) {
+				assertNull(listLine, "Classified \"" + pLine + "\"");
+				return;
+			}
+		}
+		assertNotNull(listLine, "Did not classify \"" + pLine + "\"");
+		assertEquals(ordered, listLine.isOrdered(), pLine);
+		assertEquals(matcher.group(1).length(), listLine.getIndent(), pLine);
+		assertEquals(matcher.start(2), listLine.getTextOffset(), pLine);
+		assertEquals(matcher.group(2).trim(), listLine.getText(pLine), pLine);
+	}
+}
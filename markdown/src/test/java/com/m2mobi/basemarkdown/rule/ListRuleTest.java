@@ -24,16 +24,21 @@
 
 package com.m2mobi.basemarkdown.rule;
 
+import com.m2mobi.markymark.rules.RuleMatch;
+import com.m2mobi.markymarkcommon.markdownitems.ListItem;
 import com.m2mobi.markymarkcommon.markdownitems.MarkdownList;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -52,11 +57,11 @@ public class ListRuleTest {
 	public void shouldConformToList() {
 		List<String> strings = new ArrayList<>();
 		strings.add("1. Number 1");
-		assertTrue(mListRule.conforms(strings));
+		assertNotNull(mListRule.conforms(strings));
 
 		strings.clear();
 		strings.add("- Number 1");
-		assertTrue(mListRule.conforms(strings));
+		assertNotNull(mListRule.conforms(strings));
 	}
 
 	@Test
@@ -65,7 +70,7 @@ public class ListRuleTest {
 		strings.add("1. Number 1");
 		strings.add("2. Number 2");
 		strings.add("3. Number 3");
-		assertTrue(mListRule.conforms(strings));
+		assertNotNull(mListRule.conforms(strings));
 
 		assertTrue(((MarkdownList) mListRule.toMarkdownItem(strings)).isOrdered());
 	}
@@ -76,7 +81,7 @@ public class ListRuleTest {
 		strings.add("- Number 1");
 		strings.add("- Number 2");
 		strings.add("- Number 3");
-		assertTrue(mListRule.conforms(strings));
+		assertNotNull(mListRule.conforms(strings));
 
 		assertFalse(((MarkdownList) mListRule.toMarkdownItem(strings)).isOrdered());
 	}
@@ -87,7 +92,7 @@ public class ListRuleTest {
 		strings.add("- Number 1");
 		strings.add("- Number 2");
 		strings.add("- Number 3");
-		assertTrue(mListRule.conforms(strings));
+		assertNotNull(mListRule.conforms(strings));
 
 		assertEquals(3, ((MarkdownList) mListRule.toMarkdownItem(strings)).getListItems().size());
 	}
@@ -99,7 +104,7 @@ public class ListRuleTest {
 		strings.add("- Number 2");
 		strings.add("    - Nest 1");
 		strings.add("    - Nest 2");
-		assertTrue(mListRule.conforms(strings));
+		assertNotNull(mListRule.conforms(strings));
 
 		assertTrue(((MarkdownList) mListRule.toMarkdownItem(strings)).getLastListItem().hasChild());
 	}
@@ -109,7 +114,7 @@ public class ListRuleTest {
 		List<String> strings = new ArrayList<>();
 		strings.add("- Number 1");
 		strings.add("- Number 2");
-		assertTrue(mListRule.conforms(strings));
+		assertNotNull(mListRule.conforms(strings));
 
 		assertFalse(((MarkdownList) mListRule.toMarkdownItem(strings)).getLastListItem().hasChild());
 	}
@@ -121,7 +126,7 @@ public class ListRuleTest {
 		strings.add("- Number 2");
 		strings.add("    1. Nest 1");
 		strings.add("    2. Nest 2");
-		assertTrue(mListRule.conforms(strings));
+		assertNotNull(mListRule.conforms(strings));
 
 		assertTrue(((MarkdownList) mListRule.toMarkdownItem(strings)).getLastListItem().getChild().get(0).isOrdered());
 	}
@@ -133,7 +138,7 @@ public class ListRuleTest {
 		strings.add("- Number 2");
 		strings.add("    - Nest 1");
 		strings.add("    - Nest 2");
-		assertTrue(mListRule.conforms(strings));
+		assertNotNull(mListRule.conforms(strings));
 
 		assertFalse(((MarkdownList) mListRule.toMarkdownItem(strings)).getLastListItem().getChild().get(0).isOrdered());
 	}
@@ -142,6 +147,87 @@ public class ListRuleTest {
 	public void shouldNotConformToList() {
 		List<String> strings = new ArrayList<>();
 		strings.add("#. Number 1");
-		assertFalse(mListRule.conforms(strings));
+		assertNull(mListRule.conforms(strings));
+	}
+
+	@Test
+	public void shouldVisitItemsBeforeTheirNestedLists() {
+		List<String> strings = new ArrayList<>();
+		strings.add("- a");
+		strings.add("    1. b");
+		strings.add("        - c");
+		strings.add("    1. d");
+		strings.add("- e");
+		strings.add("    - f");
+		final StringBuilder events = new StringBuilder();
+
+		((MarkdownList) mListRule.toMarkdownItem(strings)).accept(new MarkdownList.Visitor() {
+
+			@Override
+			public void onListStart(final MarkdownList pList, final int pDepth) {
+				events.append('[').append(pDepth);
+			}
+
+			@Override
+			public void onListItem(final MarkdownList pList, final ListItem pItem, final int pIndex, final int pDepth) {
+				events.append(' ').append(pItem).append(pIndex);
+			}
+
+			@Override
+			public void onListEnd(final MarkdownList pList, final int pDepth) {
+				events.append(']');
+			}
+		});
+
+		assertEquals("[0 a0[1 b0[2 c0] d1] e1[1 f0]]", events.toString());
+	}
+
+	@Test
+	public void shouldParseAndVisitDeepListsWithoutRecursion() throws Exception {
+		final int depth = 2_000;
+		final List<String> strings = new ArrayList<>();
+		final StringBuilder indentation = new StringBuilder();
+		for (int i = 0; i < depth; i++) {
+			strings.add(indentation + "- Item " + i);
+			indentation.append("\t\t");
+		}
+		final int[] visited = new int[2];
+
+		// A stack this small overflows when parsing or visiting recurses per nesting level
+		final Thread thread = new Thread(null, () -> {
+			final MarkdownList list = (MarkdownList) mListRule.toMarkdownItem(strings);
+			list.accept((pList, pItem, pIndex, pDepth) -> {
+				visited[0]++;
+				visited[1] = Math.max(visited[1], pDepth);
+			});
+		}, "ListRuleTest", 128 * 1024);
+		final Throwable[] failure = new Throwable[1];
+		thread.setUncaughtExceptionHandler((pThread, pThrowable) -> failure[0] = pThrowable);
+		thread.start();
+		thread.join();
+
+		assertNull(failure[0]);
+		assertEquals(depth, visited[0]);
+		assertEquals(depth - 1, visited[1]);
+	}
+
+	@Test
+	public void shouldCreateListFromMatch() {
+		List<String> strings = new ArrayList<>();
+		strings.add("1. Item");
+		strings.add("    - Nested");
+		strings.add("2. Item");
+		strings.add("Paragraph");
+		final RuleMatch match = mListRule.conforms(strings);
+		assertEquals(3, match.getLinesConsumed());
+
+		// The lines are not needed anymore, the classification captured by the match is used
+		final MarkdownList list = (MarkdownList) mListRule.toMarkdownItem(Collections.<String>emptyList(), match);
+		assertTrue(list.isOrdered());
+		assertEquals(2, list.getListItems().size());
+		assertEquals("Item", list.getListItems().get(0).getText().getContent());
+		final MarkdownList nested = list.getListItems().get(0).getChild().get(0);
+		assertFalse(nested.isOrdered());
+		assertEquals("Nested", nested.getListItems().get(0).getText().getContent());
 	}
 }
@@ -25,6 +25,8 @@
 package com.m2mobi.basemarkdown.rule;
 
 import com.m2mobi.basemarkdown.rule.QuoteRule;
+import com.m2mobi.markymark.rules.RuleMatch;
+import com.m2mobi.markymarkcommon.markdownitems.QuoteBlock;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -32,8 +34,9 @@ import org.junit.jupiter.api.Test;
 import java.util.ArrayList;
 import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 /**
  * Tests for {@link QuoteRule}
@@ -51,13 +54,23 @@ public class QuoteRuleTest {
 	public void shouldBeQuote() {
 		List<String> strings = new ArrayList<>();
 		strings.add("> Quote");
-		assertTrue(mQuoteRule.conforms(strings));
+		assertNotNull(mQuoteRule.conforms(strings));
 	}
 
 	@Test
 	public void shouldNotBeQuote() {
 		List<String> strings = new ArrayList<>();
 		strings.add("< Quote");
-		assertFalse(mQuoteRule.conforms(strings));
+		assertNull(mQuoteRule.conforms(strings));
+	}
+
+	@Test
+	public void shouldCreateQuoteFromMatch() {
+		List<String> strings = new ArrayList<>();
+		strings.add(">> Quote");
+		final RuleMatch match = mQuoteRule.conforms(strings);
+
+		final QuoteBlock quote = (QuoteBlock) mQuoteRule.toMarkdownItem(strings, match);
+		assertEquals(" Quote", quote.getContent().getContent());
 	}
 }
\ No newline at end of file
@@ -0,0 +1,321 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.basemarkdown;
+
+import java.util.Random;
+
+/**
+ * Creates synthetic Markdown for tests and benchmarks. Every method varies a single dimension of the input so that the
+ * effect of that dimension on the parser can be measured on its own, the same seed always results in the same
+ * Markdown.
+ */
+public final class MarkdownGenerator {
+
+	/**
+	 * The dimensions in which the generated Markdown can grow
+	 */
+	public enum Dimension {
+
+		/** Number of blocks in a document mixing all block types */
+		DOCUMENT_LENGTH {
+			@Override
+			public String create(final MarkdownGenerator pGenerator, final int pSize) {
+				return pGenerator.document(pSize);
+			}
+		},
+
+		/** Number of words in a paragraph without inline Markdown */
+		PARAGRAPH_LENGTH {
+			@Override
+			public String create(final MarkdownGenerator pGenerator, final int pSize) {
+				return pGenerator.paragraph(pSize);
+			}
+		},
+
+		/** Number of levels of a nested list */
+		LIST_DEPTH {
+			@Override
+			public String create(final MarkdownGenerator pGenerator, final int pSize) {
+				return pGenerator.nestedList(pSize);
+			}
+		},
+
+		/** Number of inline spans on a single line */
+		INLINE_SPANS {
+			@Override
+			public String create(final MarkdownGenerator pGenerator, final int pSize) {
+				return pGenerator.inlineSpans(pSize);
+			}
+		},
+
+		/** Number of lines in a fenced code block */
+		CODE_FENCE_SIZE {
+			@Override
+			public String create(final MarkdownGenerator pGenerator, final int pSize) {
+				return pGenerator.codeFence(pSize);
+			}
+		},
+
+		/** Number of opening delimiters on a single line that are never closed */
+		UNTERMINATED_DELIMITERS {
+			@Override
+			public String create(final MarkdownGenerator pGenerator, final int pSize) {
+				return pGenerator.unterminatedDelimiters(pSize);
+			}
+		};
+
+		/**
+		 * Creates Markdown of the given size in this dimension
+		 *
+		 * @param pGenerator
+		 * 		The generator used to create the Markdown
+		 * @param pSize
+		 * 		The size of the Markdown in this dimension
+		 * @return The generated Markdown
+		 */
+		public abstract String create(MarkdownGenerator pGenerator, int pSize);
+	}
+
+	private static final String[] WORDS = {
+			"lorem", "ipsum", "dolor", "sit", "amet", "consectetur", "adipiscing", "elit", "sed", "do", "eiusmod",
+			"tempor", "incididunt", "ut", "labore", "et", "dolore", "magna", "aliqua", "enim", "minim", "veniam"
+	};
+
+	/** Openers that never close each other, so every one of them is left unterminated */
+	private static final String[] UNTERMINATED = { "[", "](", "<" };
+
+	private final Random mRandom;
+
+	/**
+	 * @param pSeed
+	 * 		The seed of the random generator, the same seed results in the same Markdown
+	 */
+	public MarkdownGenerator(final long pSeed) {
+		mRandom = new Random(pSeed);
+	}
+
+	/**
+	 * Creates a document that mixes headers, paragraphs with inline Markdown, lists, code blocks, quotes, horizontal
+	 * lines and images. Blocks are separated by an empty line so that consecutive blocks are never merged, every
+	 * block and every separating line results in a single MarkdownItem.
+	 *
+	 * @param pBlocks
+	 * 		The number of blocks in the document
+	 * @return The generated document
+	 */
+	public String document(final int pBlocks) {
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < pBlocks; i++) {
+			switch (mRandom.nextInt(7)) {
+				case 0:
+					sb.append(repeat('#', 1 + mRandom.nextInt(6))).append(' ');
+					appendWords(sb, 1 + mRandom.nextInt(5));
+					sb.append('\n');
+					break;
+				case 1:
+					appendList(sb, 1 + mRandom.nextInt(3), 2 + mRandom.nextInt(4));
+					break;
+				case 2:
+					appendCodeFence(sb, 2 + mRandom.nextInt(7));
+					break;
+				case 3:
+					sb.append("> ");
+					appendWords(sb, 3 + mRandom.nextInt(20));
+					sb.append('\n');
+					break;
+				case 4:
+					sb.append("---\n");
+					break;
+				case 5:
+					sb.append("![");
+					appendWords(sb, 1 + mRandom.nextInt(3));
+					sb.append("](https://m2mobi.com/image").append(i).append(".png)\n");
+					break;
+				default:
+					appendWords(sb, 1 + mRandom.nextInt(5));
+					for (int span = mRandom.nextInt(4); span > 0; span--) {
+						sb.append(' ');
+						appendSpan(sb);
+						sb.append(' ');
+						appendWords(sb, 1 + mRandom.nextInt(8));
+					}
+					sb.append('\n');
+					break;
+			}
+			sb.append('\n');
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * @param pWords
+	 * 		The number of words in the paragraph
+	 * @return A single line paragraph without inline Markdown
+	 */
+	public String paragraph(final int pWords) {
+		final StringBuilder sb = new StringBuilder();
+		appendWords(sb, pWords);
+		return sb.append('\n').toString();
+	}
+
+	/**
+	 * @param pDepth
+	 * 		The number of levels of the list
+	 * @return A list in which every item is nested in the previous item
+	 */
+	public String nestedList(final int pDepth) {
+		final StringBuilder sb = new StringBuilder();
+		for (int level = 0; level < pDepth; level++) {
+			appendListItem(sb, level);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * @param pSpans
+	 * 		The number of spans on the line
+	 * @return A single line paragraph containing randomly chosen bold, italic, strike through, code and link spans
+	 * separated by a word
+	 */
+	public String inlineSpans(final int pSpans) {
+		final StringBuilder sb = new StringBuilder();
+		appendWords(sb, 1);
+		for (int i = 0; i < pSpans; i++) {
+			sb.append(' ');
+			appendSpan(sb);
+			sb.append(' ');
+			appendWords(sb, 1);
+		}
+		return sb.append('\n').toString();
+	}
+
+	/**
+	 * @param pLines
+	 * 		The number of lines between the fences
+	 * @return A fenced code block
+	 */
+	public String codeFence(final int pLines) {
+		final StringBuilder sb = new StringBuilder();
+		appendCodeFence(sb, pLines);
+		return sb.toString();
+	}
+
+	/**
+	 * @param pDelimiters
+	 * 		The number of unterminated opening delimiters
+	 * @return A single line paragraph in which link and short link openers are never closed, every opener makes a
+	 * regex based inline rule search the remainder of the line
+	 */
+	public String unterminatedDelimiters(final int pDelimiters) {
+		final StringBuilder sb = new StringBuilder();
+		appendWords(sb, 1);
+		for (int i = 0; i < pDelimiters; i++) {
+			sb.append(' ').append(UNTERMINATED[mRandom.nextInt(UNTERMINATED.length)]);
+			appendWords(sb, 1);
+		}
+		return sb.append('\n').toString();
+	}
+
+	private void appendList(final StringBuilder pBuilder, final int pDepth, final int pItems) {
+		int level = 0;
+		appendListItem(pBuilder, level);
+		for (int i = 1; i < pItems; i++) {
+			// An item is nested at most one level deeper than the previous item
+			level = mRandom.nextInt(Math.min(level + 2, pDepth));
+			appendListItem(pBuilder, level);
+		}
+	}
+
+	private void appendListItem(final StringBuilder pBuilder, final int pLevel) {
+		pBuilder.append(repeat(' ', pLevel * 4));
+		switch (mRandom.nextInt(3)) {
+			case 0:
+				pBuilder.append("- ");
+				break;
+			case 1:
+				pBuilder.append("* ");
+				break;
+			default:
+				pBuilder.append(1 + mRandom.nextInt(9)).append(". ");
+				break;
+		}
+		appendWords(pBuilder, 1 + mRandom.nextInt(6));
+		pBuilder.append('\n');
+	}
+
+	private void appendCodeFence(final StringBuilder pBuilder, final int pLines) {
+		pBuilder.append("```\n");
+		for (int i = 0; i < pLines; i++) {
+			pBuilder.append(repeat(' ', 4 * mRandom.nextInt(3)));
+			appendWords(pBuilder, 1 + mRandom.nextInt(6));
+			pBuilder.append('\n');
+		}
+		pBuilder.append("```\n");
+	}
+
+	private void appendSpan(final StringBuilder pBuilder) {
+		switch (mRandom.nextInt(6)) {
+			case 0:
+				pBuilder.append("**").append(word()).append("**");
+				break;
+			case 1:
+				pBuilder.append('*').append(word()).append('*');
+				break;
+			case 2:
+				pBuilder.append("~~").append(word()).append("~~");
+				break;
+			case 3:
+				pBuilder.append('`').append(word()).append('`');
+				break;
+			case 4:
+				pBuilder.append('[').append(word()).append("](https://m2mobi.com/").append(word()).append(')');
+				break;
+			default:
+				pBuilder.append("<https://m2mobi.com/").append(word()).append('>');
+				break;
+		}
+	}
+
+	private void appendWords(final StringBuilder pBuilder, final int pWords) {
+		for (int i = 0; i < pWords; i++) {
+			if (i > 0) {
+				pBuilder.append(' ');
+			}
+			pBuilder.append(word());
+		}
+	}
+
+	private String word() {
+		return WORDS[mRandom.nextInt(WORDS.length)];
+	}
+
+	private static String repeat(final char pCharacter, final int pCount) {
+		final char[] characters = new char[pCount];
+		for (int i = 0; i < pCount; i++) {
+			characters[i] = pCharacter;
+		}
+		return new String(characters);
+	}
+}
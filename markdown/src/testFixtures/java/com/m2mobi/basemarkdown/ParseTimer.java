@@ -0,0 +1,64 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 M2mobi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.m2mobi.basemarkdown;
+
+/**
+ * Times parsing Markdown for tests that compare how the parse time grows with the input
+ */
+public final class ParseTimer {
+
+	/** Number of times the markdown is parsed per measurement */
+	private static final int RUNS = 5;
+
+	/**
+	 * Parses the Markdown in a way that is measured
+	 */
+	public interface Parse {
+
+		void parse(String pMarkdown);
+	}
+
+	private ParseTimer() {
+	}
+
+	/**
+	 * Parses the markdown a few times
+	 *
+	 * @param pParse
+	 * 		The way the markdown is parsed
+	 * @param pMarkdown
+	 * 		The markdown to parse
+	 * @return Returns the fastest parse time in nanoseconds
+	 */
+	public static long measure(final Parse pParse, final String pMarkdown) {
+		long best = Long.MAX_VALUE;
+		for (int i = 0; i < RUNS; i++) {
+			final long start = System.nanoTime();
+			pParse.parse(pMarkdown);
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		return best;
+	}
+}